@@ -0,0 +1,67 @@
+package com.xhhao.redisconnector.api;
+
+import java.time.Duration;
+
+/**
+ * {@link RedisClient#getOrLoad} 的加载选项
+ * <p>
+ * 同一进程内对同一键的并发加载总是合并为一次；此外可选：
+ * <ul>
+ *   <li>分布式锁：多个 Halo 节点同时未命中时，只有拿到锁的节点执行加载，其余节点等待其写入结果</li>
+ *   <li>提前刷新（XFetch）：临近过期时按概率提前在后台重新加载，加载越慢、越接近过期，提前刷新的概率越高，
+ *   热点键不会在过期瞬间集中未命中</li>
+ * </ul>
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * Redis.getOrLoad("post:1:rendered", 600, renderPost(1),
+ *     CacheLoadOptions.defaults().withLock(Duration.ofSeconds(5)));
+ * }</pre>
+ *
+ * @param lockTimeout 分布式锁的持有时间，同时也是其他节点等待的上限；为 null 表示不加锁
+ * @param beta        XFetch 系数，越大越倾向提前刷新，1.0 为论文推荐值；不大于 0 表示关闭提前刷新
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record CacheLoadOptions(Duration lockTimeout, double beta) {
+
+    private static final CacheLoadOptions DEFAULTS = new CacheLoadOptions(null, 1.0);
+
+    /**
+     * 默认选项：进程内合并加载，开启提前刷新，不加分布式锁
+     */
+    public static CacheLoadOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 开启分布式锁
+     *
+     * @param timeout 锁的持有时间，应大于加载耗时
+     */
+    public CacheLoadOptions withLock(Duration timeout) {
+        return new CacheLoadOptions(timeout, beta);
+    }
+
+    /**
+     * 设置 XFetch 系数
+     */
+    public CacheLoadOptions withBeta(double beta) {
+        return new CacheLoadOptions(lockTimeout, beta);
+    }
+
+    /**
+     * 关闭提前刷新
+     */
+    public CacheLoadOptions withoutEarlyRefresh() {
+        return new CacheLoadOptions(lockTimeout, 0);
+    }
+
+    /**
+     * 是否加分布式锁
+     */
+    public boolean locking() {
+        return lockTimeout != null && !lockTimeout.isZero() && !lockTimeout.isNegative();
+    }
+}
@@ -0,0 +1,54 @@
+package com.xhhao.redisconnector.api;
+
+import java.time.Duration;
+
+/**
+ * 限流规则
+ *
+ * @param algorithm 限流算法
+ * @param limit     窗口内允许的次数；令牌桶为桶容量
+ * @param window    窗口长度；令牌桶为填满整个桶所需的时间
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record RateLimit(Algorithm algorithm, long limit, Duration window) {
+
+    public RateLimit {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 必须大于 0");
+        }
+        if (window == null || window.toMillis() <= 0) {
+            throw new IllegalArgumentException("window 必须至少 1 毫秒");
+        }
+    }
+
+    /**
+     * 固定窗口：每个窗口最多 limit 次，实现最简单，窗口交界处可能短时放过 2 倍请求
+     */
+    public static RateLimit fixedWindow(long limit, Duration window) {
+        return new RateLimit(Algorithm.FIXED_WINDOW, limit, window);
+    }
+
+    /**
+     * 滑动窗口日志：任意 window 时长内最多 limit 次，精确但每次请求占用一条记录，适合 limit 较小的场景
+     */
+    public static RateLimit slidingWindow(long limit, Duration window) {
+        return new RateLimit(Algorithm.SLIDING_WINDOW, limit, window);
+    }
+
+    /**
+     * 令牌桶：允许不超过 capacity 的突发，长期速率为每 refillTime 补满 capacity 个令牌
+     */
+    public static RateLimit tokenBucket(long capacity, Duration refillTime) {
+        return new RateLimit(Algorithm.TOKEN_BUCKET, capacity, refillTime);
+    }
+
+    /**
+     * 限流算法
+     */
+    public enum Algorithm {
+        FIXED_WINDOW,
+        SLIDING_WINDOW,
+        TOKEN_BUCKET
+    }
+}
@@ -0,0 +1,22 @@
+package com.xhhao.redisconnector.api;
+
+import java.time.Duration;
+
+/**
+ * 限流检查结果
+ *
+ * @param allowed    是否放行
+ * @param remaining  剩余额度，Redis 不可用时为 -1
+ * @param retryAfter 被拒绝时建议的重试等待时间，放行时为 0
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record RateLimitResult(boolean allowed, long remaining, Duration retryAfter) {
+
+    /**
+     * 无法判断时的放行结果
+     */
+    public static RateLimitResult unknown() {
+        return new RateLimitResult(true, -1, Duration.ZERO);
+    }
+}
@@ -1,9 +1,13 @@
 package com.xhhao.redisconnector.api;
 
 import com.xhhao.redisconnector.api.internal.RedisClientHolder;
+import com.xhhao.redisconnector.api.codec.RedisCodec;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.resps.Tuple;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +25,13 @@ import java.util.Set;
  * Redis.get("key").subscribe(System.out::println);
  * Redis.setEx("session:123", "data", 3600).subscribe();
  *
+ * // 对象（默认 JSON，可传入 RedisCodecs.smile() 等编解码器）
+ * Redis.setObject("user:1:profile", profile, 3600).subscribe();
+ * Redis.getObject("user:1:profile", Profile.class).subscribe(System.out::println);
+ *
+ * // 旁路缓存：未命中时加载并写回，并发未命中只加载一次
+ * Redis.getOrLoad("post:1:rendered", 600, renderPost(1)).subscribe();
+ *
  * // 计数器
  * Redis.incr("page:views").subscribe();
  *
@@ -33,6 +44,16 @@ import java.util.Set;
  * Redis.zrevrange("rank:score", 0, 9).subscribe(top10 -> {
  *     top10.forEach(System.out::println);
  * });
+ *
+ * // 批量操作（一次往返）
+ * Redis.mget("post:1:views", "post:2:views").subscribe(System.out::println);
+ * Redis.del("cache:a", "cache:b").subscribe();
+ *
+ * // 遍历大集合（按需分批拉取）
+ * Redis.hscan("user:1:likes").subscribe(entry -> handle(entry.getKey()));
+ *
+ * // 插件专属客户端（键自动加上插件前缀）
+ * Redis.forPlugin("my-plugin").set("config", "{}").subscribe();
  * }</pre>
  *
  * @author Handsome
@@ -74,6 +95,7 @@ public final class Redis {
      * 获取原始 JedisPool 连接池
      * <p>
      * 当封装的 API 无法满足需求时，可以直接获取 JedisPool 进行操作。
+     * 仅需批量执行命令时，优先使用 {@link #pipeline()}。
      * </p>
      *
      * <h3>使用示例</h3>
@@ -98,6 +120,100 @@ public final class Redis {
         return client != null ? client.getJedisPool() : null;
     }
 
+    /**
+     * 创建流水线构建器
+     *
+     * <h3>使用示例</h3>
+     * <pre>{@code
+     * Redis.pipeline()
+     *     .set("key1", "value1")
+     *     .incr("counter")
+     *     .hget("user:1", "name")
+     *     .execute()
+     *     .subscribe(results -> System.out.println(results));
+     * }</pre>
+     *
+     * @return 新的流水线构建器
+     */
+    public static RedisPipeline pipeline() {
+        checkAvailable();
+        return getClient().pipeline();
+    }
+
+    /**
+     * 发布消息
+     */
+    public static Mono<Long> publish(String channel, String message) {
+        checkAvailable();
+        return getClient().publish(channel, message);
+    }
+
+    /**
+     * 订阅频道，所有订阅共享一条连接
+     */
+    public static Flux<RedisMessage> subscribe(String... channels) {
+        checkAvailable();
+        return getClient().subscribe(channels);
+    }
+
+    /**
+     * 按模式订阅频道
+     */
+    public static Flux<RedisMessage> psubscribe(String... patterns) {
+        checkAvailable();
+        return getClient().psubscribe(patterns);
+    }
+
+    /**
+     * 订阅键空间通知
+     */
+    public static Flux<RedisMessage> keyspaceEvents(String keyPattern) {
+        checkAvailable();
+        return getClient().keyspaceEvents(keyPattern);
+    }
+
+    /**
+     * 获取 Lua 脚本，以 EVALSHA 执行
+     */
+    public static RedisScript script(String lua) {
+        checkAvailable();
+        return getClient().script(lua);
+    }
+
+    /**
+     * 获取插件专属客户端，键自动加上插件前缀，详见 {@link RedisPluginClient}
+     *
+     * @param pluginId 插件 ID（plugin.yaml 中的 metadata.name）
+     */
+    public static RedisPluginClient forPlugin(String pluginId) {
+        checkAvailable();
+        return getClient().forPlugin(pluginId);
+    }
+
+    /**
+     * 获取分布式锁
+     */
+    public static RedisLock lock() {
+        checkAvailable();
+        return getClient().lock();
+    }
+
+    /**
+     * 获取限流器
+     */
+    public static RedisRateLimiter rateLimiter() {
+        checkAvailable();
+        return getClient().rateLimiter();
+    }
+
+    /**
+     * 获取 Streams 队列
+     */
+    public static RedisStreams streams() {
+        checkAvailable();
+        return getClient().streams();
+    }
+
     /**
      * 设置字符串值
      */
@@ -122,6 +238,88 @@ public final class Redis {
         return getClient().get(key);
     }
 
+    /**
+     * 读取缓存，未命中时加载并写回
+     */
+    public static Mono<String> getOrLoad(String key, long seconds, Mono<String> loader) {
+        checkAvailable();
+        return getClient().getOrLoad(key, seconds, loader);
+    }
+
+    /**
+     * 读取缓存，未命中时按选项加载并写回
+     */
+    public static Mono<String> getOrLoad(String key, long seconds, Mono<String> loader,
+                                         CacheLoadOptions options) {
+        checkAvailable();
+        return getClient().getOrLoad(key, seconds, loader, options);
+    }
+
+    /**
+     * 设置二进制值
+     */
+    public static Mono<String> setBytes(String key, byte[] value) {
+        checkAvailable();
+        return getClient().setBytes(key, value);
+    }
+
+    /**
+     * 设置二进制值并指定过期时间
+     */
+    public static Mono<String> setBytes(String key, byte[] value, long seconds) {
+        checkAvailable();
+        return getClient().setBytes(key, value, seconds);
+    }
+
+    /**
+     * 获取二进制值
+     */
+    public static Mono<byte[]> getBytes(String key) {
+        checkAvailable();
+        return getClient().getBytes(key);
+    }
+
+    /**
+     * 以只读 ByteBuffer 获取二进制值
+     */
+    public static Mono<ByteBuffer> getBuffer(String key) {
+        checkAvailable();
+        return getClient().getBuffer(key);
+    }
+
+    /**
+     * 以默认编解码器保存对象
+     */
+    public static <T> Mono<String> setObject(String key, T value, long seconds) {
+        checkAvailable();
+        return getClient().setObject(key, value, seconds);
+    }
+
+    /**
+     * 以指定编解码器保存对象
+     */
+    public static <T> Mono<String> setObject(String key, T value, long seconds,
+                                             RedisCodec codec) {
+        checkAvailable();
+        return getClient().setObject(key, value, seconds, codec);
+    }
+
+    /**
+     * 以默认编解码器读取对象
+     */
+    public static <T> Mono<T> getObject(String key, Class<T> type) {
+        checkAvailable();
+        return getClient().getObject(key, type);
+    }
+
+    /**
+     * 以指定编解码器读取对象
+     */
+    public static <T> Mono<T> getObject(String key, Class<T> type, RedisCodec codec) {
+        checkAvailable();
+        return getClient().getObject(key, type, codec);
+    }
+
     /**
      * 删除键
      */
@@ -130,6 +328,30 @@ public final class Redis {
         return getClient().del(key);
     }
 
+    /**
+     * 批量删除键
+     */
+    public static Mono<Long> del(String... keys) {
+        checkAvailable();
+        return getClient().del(keys);
+    }
+
+    /**
+     * 批量获取字符串值
+     */
+    public static Mono<List<String>> mget(String... keys) {
+        checkAvailable();
+        return getClient().mget(keys);
+    }
+
+    /**
+     * 批量设置字符串值
+     */
+    public static Mono<String> mset(Map<String, String> keyValues) {
+        checkAvailable();
+        return getClient().mset(keyValues);
+    }
+
     /**
      * 将键的值自增 1
      */
@@ -162,6 +384,30 @@ public final class Redis {
         return getClient().hget(key, field);
     }
 
+    /**
+     * 设置 Hash 字段的二进制值
+     */
+    public static Mono<Long> hsetBytes(String key, String field, byte[] value) {
+        checkAvailable();
+        return getClient().hsetBytes(key, field, value);
+    }
+
+    /**
+     * 获取 Hash 字段的二进制值
+     */
+    public static Mono<byte[]> hgetBytes(String key, String field) {
+        checkAvailable();
+        return getClient().hgetBytes(key, field);
+    }
+
+    /**
+     * 批量获取 Hash 字段值
+     */
+    public static Mono<List<String>> hmget(String key, String... fields) {
+        checkAvailable();
+        return getClient().hmget(key, fields);
+    }
+
     /**
      * 获取 Hash 所有字段和值
      */
@@ -210,6 +456,22 @@ public final class Redis {
         return getClient().zrevrange(key, start, stop);
     }
 
+    /**
+     * 获取 Sorted Set 成员的分数
+     */
+    public static Mono<Double> zscore(String key, String member) {
+        checkAvailable();
+        return getClient().zscore(key, member);
+    }
+
+    /**
+     * 批量获取 Sorted Set 成员的分数
+     */
+    public static Mono<List<Double>> zmscore(String key, String... members) {
+        checkAvailable();
+        return getClient().zmscore(key, members);
+    }
+
     /**
      * 增加 Sorted Set 成员的分数
      */
@@ -226,6 +488,14 @@ public final class Redis {
         return getClient().exists(key);
     }
 
+    /**
+     * 统计存在的键数量
+     */
+    public static Mono<Long> exists(String... keys) {
+        checkAvailable();
+        return getClient().exists(keys);
+    }
+
     /**
      * 设置键的过期时间
      */
@@ -241,4 +511,36 @@ public final class Redis {
         checkAvailable();
         return getClient().ttl(key);
     }
+
+    /**
+     * 遍历匹配的键（SCAN）
+     */
+    public static Flux<String> scan(String pattern) {
+        checkAvailable();
+        return getClient().scan(pattern);
+    }
+
+    /**
+     * 遍历 Hash 的字段和值（HSCAN）
+     */
+    public static Flux<Map.Entry<String, String>> hscan(String key) {
+        checkAvailable();
+        return getClient().hscan(key);
+    }
+
+    /**
+     * 遍历 Set 的成员（SSCAN）
+     */
+    public static Flux<String> sscan(String key) {
+        checkAvailable();
+        return getClient().sscan(key);
+    }
+
+    /**
+     * 遍历 Sorted Set 的成员和分数（ZSCAN）
+     */
+    public static Flux<Tuple> zscan(String key) {
+        checkAvailable();
+        return getClient().zscan(key);
+    }
 }
@@ -0,0 +1,50 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 调用方插件
+ * <p>
+ * 连接器按插件统计命令数、流量与耗时，并按插件限制并发与每秒命令数。
+ * 默认从组装命令时的调用栈识别插件（由插件类加载器中的 {@code plugin.yaml} 确定），
+ * 命令在订阅时才组装、或调用发生在公共线程池的回调中时无法识别，可通过 Reactor Context 显式声明。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * Redis.get("moments:latest")
+ *     .contextWrite(RedisCaller.plugin("plugin-moments"))
+ *     .subscribe(System.out::println);
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class RedisCaller {
+
+    /**
+     * Context 中的键
+     */
+    public static final String CONTEXT_KEY = RedisCaller.class.getName() + ".plugin";
+
+    private RedisCaller() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 声明调用方插件的 Context
+     *
+     * @param pluginId 插件 ID（plugin.yaml 中的 metadata.name）
+     */
+    public static Context plugin(String pluginId) {
+        return Context.of(CONTEXT_KEY, pluginId);
+    }
+
+    /**
+     * Context 中声明的调用方插件，未声明时返回 null
+     */
+    public static String pluginOf(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+}
@@ -1,8 +1,13 @@
 package com.xhhao.redisconnector.api;
 
+import com.xhhao.redisconnector.api.codec.RedisCodec;
+import com.xhhao.redisconnector.api.codec.RedisCodecs;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.resps.Tuple;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,8 +15,13 @@ import java.util.Set;
 /**
  * Redis 客户端接口
  * <p>
- * 提供 Redis 基本操作能力，所有方法返回 Mono 响应式类型，
- * 在 boundedElastic 调度器上执行，避免阻塞事件循环。
+ * 提供 Redis 基本操作能力，所有方法返回 Mono 响应式类型，避免阻塞事件循环。
+ * 默认在 boundedElastic 调度器上执行，启用 Netty 引擎时直接在 I/O 线程上完成。
+ * </p>
+ * <p>
+ * Redis Cluster 模式下，多键批量方法（mget / mset / 多键 del、exists）会按哈希槽拆分后
+ * 并行发往各分片，拆分后的 mset 不再具备原子性；需要原子性时可用 {@code {tag}} 哈希标签
+ * 让相关键落在同一槽。
  * </p>
  *
  * @author Handsome
@@ -53,6 +63,104 @@ public interface RedisClient {
      */
     JedisPool getJedisPool();
 
+    /**
+     * 创建流水线构建器
+     * <p>
+     * 登记的命令在 {@link RedisPipeline#execute()} 时于同一连接上一次性发送。
+     * </p>
+     *
+     * @return 新的流水线构建器
+     */
+    RedisPipeline pipeline();
+
+    /**
+     * 获取插件专属客户端，键自动加上插件前缀
+     *
+     * @param pluginId 插件 ID（plugin.yaml 中的 metadata.name）
+     * @return 插件专属客户端，同一插件返回同一实例
+     */
+    RedisPluginClient forPlugin(String pluginId);
+
+    /**
+     * 发布消息
+     *
+     * @param channel 频道
+     * @param message 消息
+     * @return 收到消息的订阅者数量（Cluster 模式下为本节点的订阅者数量）
+     */
+    Mono<Long> publish(String channel, String message);
+
+    /**
+     * 订阅频道
+     * <p>
+     * 进程内所有订阅共享一条订阅连接，不占用连接池和线程。取消订阅（dispose）后，
+     * 频道不再有订阅者时自动退订。连接断开或插件重新连接后自动重新订阅，期间的消息会丢失；
+     * Redis 尚未连接时订阅会保留，连接后生效。
+     * 每个订阅者缓冲 1024 条消息，处理过慢时丢弃新消息。
+     * </p>
+     *
+     * <h3>使用示例</h3>
+     * <pre>{@code
+     * // 跨 Halo 节点广播缓存失效
+     * Disposable subscription = Redis.subscribe("my-plugin:invalidate")
+     *     .subscribe(message -> localCache.remove(message.message()));
+     * Redis.publish("my-plugin:invalidate", "post:1").subscribe();
+     * }</pre>
+     *
+     * @param channels 频道
+     * @return 消息流，不会主动结束
+     */
+    Flux<RedisMessage> subscribe(String... channels);
+
+    /**
+     * 按模式订阅频道（PSUBSCRIBE），语义同 {@link #subscribe(String...)}
+     *
+     * @param patterns 模式，如 {@code news.*}
+     * @return 消息流，{@link RedisMessage#pattern()} 为匹配的模式
+     */
+    Flux<RedisMessage> psubscribe(String... patterns);
+
+    /**
+     * 订阅键空间通知
+     * <p>
+     * 需要在 Redis 服务端开启 {@code notify-keyspace-events}（如 {@code Kg$x}）。
+     * Cluster 模式下键空间通知只在键所在节点产生，只能收到订阅连接所在节点的事件。
+     * </p>
+     *
+     * @param keyPattern 键模式，如 {@code session:*}
+     * @return 通知流，{@link RedisMessage#key()} 为键，{@link RedisMessage#message()} 为事件名
+     */
+    Flux<RedisMessage> keyspaceEvents(String keyPattern);
+
+    /**
+     * 获取 Lua 脚本，以 EVALSHA 执行
+     *
+     * @param lua 脚本文本，应为常量，参数通过 ARGV 传入
+     * @return 脚本
+     */
+    RedisScript script(String lua);
+
+    /**
+     * 获取分布式锁
+     *
+     * @return 分布式锁入口
+     */
+    RedisLock lock();
+
+    /**
+     * 获取限流器
+     *
+     * @return 限流器
+     */
+    RedisRateLimiter rateLimiter();
+
+    /**
+     * 获取 Streams 队列
+     *
+     * @return Streams 队列入口
+     */
+    RedisStreams streams();
+
     /**
      * 设置字符串值
      *
@@ -80,6 +188,125 @@ public interface RedisClient {
      */
     Mono<String> get(String key);
 
+    /**
+     * 读取缓存，未命中时执行 loader 并以指定过期时间写回（cache-aside）
+     * <p>
+     * 同一进程内对同一键的并发未命中只执行一次 loader，并按 {@link CacheLoadOptions#defaults()}
+     * 开启提前刷新。Redis 不可用时直接返回 loader 的结果。
+     * </p>
+     *
+     * <h3>使用示例</h3>
+     * <pre>{@code
+     * Redis.getOrLoad("post:1:views", 300, countViews(1))
+     *     .subscribe(System.out::println);
+     * }</pre>
+     *
+     * @param key     键
+     * @param seconds 写回的过期时间（秒）
+     * @param loader  加载逻辑，结果为空时不写回
+     * @return 缓存值或加载结果
+     */
+    Mono<String> getOrLoad(String key, long seconds, Mono<String> loader);
+
+    /**
+     * 读取缓存，未命中时按选项加载并写回
+     *
+     * @param key     键
+     * @param seconds 写回的过期时间（秒）
+     * @param loader  加载逻辑，结果为空时不写回
+     * @param options 加载选项，可开启分布式锁、调整或关闭提前刷新
+     * @return 缓存值或加载结果
+     */
+    Mono<String> getOrLoad(String key, long seconds, Mono<String> loader,
+                           CacheLoadOptions options);
+
+    /**
+     * 设置二进制值，无需 Base64 或字符串转换
+     *
+     * @param key   键
+     * @param value 值
+     * @return "OK" 表示成功
+     */
+    Mono<String> setBytes(String key, byte[] value);
+
+    /**
+     * 设置二进制值并指定过期时间
+     *
+     * @param key     键
+     * @param value   值
+     * @param seconds 过期时间（秒）
+     * @return "OK" 表示成功
+     */
+    Mono<String> setBytes(String key, byte[] value, long seconds);
+
+    /**
+     * 获取二进制值
+     * <p>
+     * 返回的数组归调用方所有，可以修改；只读场景请使用 {@link #getBuffer(String)}。
+     * </p>
+     *
+     * @param key 键
+     * @return 值，不存在返回空
+     */
+    Mono<byte[]> getBytes(String key);
+
+    /**
+     * 以只读 {@link ByteBuffer} 获取二进制值
+     * <p>
+     * 直接包装解析回复时得到的字节，不再复制；开启近端缓存时多次读取共享同一份数据。
+     * </p>
+     *
+     * @param key 键
+     * @return 只读缓冲区，不存在返回空
+     */
+    Mono<ByteBuffer> getBuffer(String key);
+
+    /**
+     * 以默认编解码器（{@link RedisCodecs#json()}）保存对象
+     *
+     * @param key     键
+     * @param value   对象
+     * @param seconds 过期时间（秒），不大于 0 表示永不过期
+     * @return "OK" 表示成功
+     */
+    <T> Mono<String> setObject(String key, T value, long seconds);
+
+    /**
+     * 以指定编解码器保存对象
+     * <p>
+     * 编码失败（如对象无法序列化）时返回错误。
+     * </p>
+     *
+     * @param key     键
+     * @param value   对象
+     * @param seconds 过期时间（秒），不大于 0 表示永不过期
+     * @param codec   编解码器，读取时须使用相同的编解码器
+     * @return "OK" 表示成功
+     */
+    <T> Mono<String> setObject(String key, T value, long seconds, RedisCodec codec);
+
+    /**
+     * 以默认编解码器（{@link RedisCodecs#json()}）读取对象
+     *
+     * @param key  键
+     * @param type 对象类型
+     * @return 对象，不存在返回空
+     */
+    <T> Mono<T> getObject(String key, Class<T> type);
+
+    /**
+     * 以指定编解码器读取对象
+     * <p>
+     * 解码失败（如数据由其他编解码器写入或类型不兼容）时记录日志并按不存在处理。
+     * </p>
+     *
+     * @param key   键
+     * @param type  对象类型
+     * @param codec 编解码器
+     * @return 对象，不存在或无法解码时返回空
+     */
+    <T> Mono<T> getObject(String key, Class<T> type, RedisCodec codec);
+
     /**
      * 删除键
      *
@@ -88,6 +315,34 @@ public interface RedisClient {
      */
     Mono<Long> del(String key);
 
+    /**
+     * 批量删除键
+     * <p>
+     * 单机、Sentinel 模式下为单条 DEL 命令；Cluster 模式下按哈希槽拆分为多条 DEL 并行发往各分片，
+     * 结果为各分片删除数之和，跨槽的删除不具备原子性，部分分片失败时其他分片的删除已经生效。
+     * </p>
+     *
+     * @param keys 键
+     * @return 删除的键数量
+     */
+    Mono<Long> del(String... keys);
+
+    /**
+     * 批量获取字符串值（单条 MGET 命令）
+     *
+     * @param keys 键
+     * @return 与键顺序一致的值列表，不存在的键对应位置为 null
+     */
+    Mono<List<String>> mget(String... keys);
+
+    /**
+     * 批量设置字符串值（单条 MSET 命令）
+     *
+     * @param keyValues 键值映射
+     * @return "OK" 表示成功
+     */
+    Mono<String> mset(Map<String, String> keyValues);
+
     /**
      * 将键的值自增 1
      *
@@ -124,8 +379,39 @@ public interface RedisClient {
      */
     Mono<String> hget(String key, String field);
 
+    /**
+     * 设置 Hash 字段的二进制值
+     *
+     * @param key   键
+     * @param field 字段名
+     * @param value 字段值
+     * @return 1 表示新增字段，0 表示更新已有字段
+     */
+    Mono<Long> hsetBytes(String key, String field, byte[] value);
+
+    /**
+     * 获取 Hash 字段的二进制值
+     *
+     * @param key   键
+     * @param field 字段名
+     * @return 字段值，不存在返回空
+     */
+    Mono<byte[]> hgetBytes(String key, String field);
+
+    /**
+     * 批量获取 Hash 字段值（单条 HMGET 命令）
+     *
+     * @param key    键
+     * @param fields 字段名
+     * @return 与字段顺序一致的值列表，不存在的字段对应位置为 null
+     */
+    Mono<List<String>> hmget(String key, String... fields);
+
     /**
      * 获取 Hash 所有字段和值
+     * <p>
+     * 一次性读入内存，字段较多时请使用 {@link #hscan(String)}。
+     * </p>
      *
      * @param key 键
      * @return 字段-值映射
@@ -143,6 +429,9 @@ public interface RedisClient {
 
     /**
      * 获取 Set 所有成员
+     * <p>
+     * 一次性读入内存，成员较多时请使用 {@link #sscan(String)}。
+     * </p>
      *
      * @param key 键
      * @return 成员集合
@@ -178,6 +467,24 @@ public interface RedisClient {
      */
     Mono<List<String>> zrevrange(String key, long start, long stop);
 
+    /**
+     * 获取 Sorted Set 成员的分数
+     *
+     * @param key    键
+     * @param member 成员
+     * @return 分数，成员不存在返回 null
+     */
+    Mono<Double> zscore(String key, String member);
+
+    /**
+     * 批量获取 Sorted Set 成员的分数（流水线执行，一次往返）
+     *
+     * @param key     键
+     * @param members 成员
+     * @return 与成员顺序一致的分数列表，不存在的成员对应位置为 null
+     */
+    Mono<List<Double>> zmscore(String key, String... members);
+
     /**
      * 增加 Sorted Set 成员的分数
      *
@@ -196,6 +503,18 @@ public interface RedisClient {
      */
     Mono<Boolean> exists(String key);
 
+    /**
+     * 统计存在的键数量
+     * <p>
+     * 单机、Sentinel 模式下为单条 EXISTS 命令；Cluster 模式下按哈希槽拆分为多条 EXISTS
+     * 并行执行后求和，各分片的结果不是同一时刻的快照。
+     * </p>
+     *
+     * @param keys 键
+     * @return 存在的键数量，重复的键会重复计数
+     */
+    Mono<Long> exists(String... keys);
+
     /**
      * 设置键的过期时间
      *
@@ -212,4 +531,49 @@ public interface RedisClient {
      * @return 剩余秒数，-1 表示永不过期，-2 表示键不存在
      */
     Mono<Long> ttl(String key);
+
+    /**
+     * 遍历匹配的键（SCAN）
+     * <p>
+     * 按下游请求量逐批拉取，同一时刻最多在内存中保留一批结果，适合遍历大键空间。
+     * 遍历期间发生变化的键可能被遗漏或重复返回；Cluster 模式下依次遍历各主节点。
+     * 遍历中途出错时以错误结束，不会静默截断。
+     * </p>
+     *
+     * <h3>使用示例</h3>
+     * <pre>{@code
+     * Redis.scan("session:*")
+     *     .buffer(500)
+     *     .concatMap(keys -> Redis.del(keys.toArray(String[]::new)))
+     *     .subscribe();
+     * }</pre>
+     *
+     * @param pattern 匹配模式，如 {@code user:*}
+     * @return 键流
+     */
+    Flux<String> scan(String pattern);
+
+    /**
+     * 遍历 Hash 的字段和值（HSCAN），遍历语义同 {@link #scan(String)}
+     *
+     * @param key 键
+     * @return 字段-值流
+     */
+    Flux<Map.Entry<String, String>> hscan(String key);
+
+    /**
+     * 遍历 Set 的成员（SSCAN），遍历语义同 {@link #scan(String)}
+     *
+     * @param key 键
+     * @return 成员流
+     */
+    Flux<String> sscan(String key);
+
+    /**
+     * 遍历 Sorted Set 的成员和分数（ZSCAN），遍历语义同 {@link #scan(String)}，不保证按分数排序
+     *
+     * @param key 键
+     * @return 成员-分数流
+     */
+    Flux<Tuple> zscan(String key);
 }
@@ -0,0 +1,127 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 分布式锁
+ * <p>
+ * 锁以 Hash 保存在 Redis 中（持有者 → 重入次数），加锁、续期、释放均为 Lua 脚本原子执行，
+ * 只有持有者本人能释放，不会误删他人的锁。未指定租期时启用看门狗：默认租期 30 秒，
+ * 持有期间每 10 秒自动续期，进程崩溃后锁在租期到期时自动释放。
+ * </p>
+ * <p>
+ * Redis 不可用时加锁返回错误，不会当作加锁成功。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * // 定时任务只在集群中的一个 Halo 节点上执行
+ * Redis.lock().withLock("job:sitemap", rebuildSitemap()).subscribe();
+ *
+ * // 手动控制
+ * Redis.lock().tryLock("order:42", Duration.ofSeconds(10))
+ *     .flatMap(lock -> process().then(lock.unlock()))
+ *     .switchIfEmpty(Mono.fromRunnable(() -> log.info("正在被其他节点处理")))
+ *     .subscribe();
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisLock {
+
+    /**
+     * 尝试加锁一次，启用看门狗自动续期
+     *
+     * @param name 锁名称
+     * @return 锁，已被他人持有时为空
+     */
+    Mono<Lock> tryLock(String name);
+
+    /**
+     * 尝试加锁一次，使用固定租期，到期自动释放
+     *
+     * @param name  锁名称
+     * @param lease 租期
+     * @return 锁，已被他人持有时为空
+     */
+    Mono<Lock> tryLock(String name, Duration lease);
+
+    /**
+     * 以指定持有者尝试加锁，同一持有者可重入，每次加锁都需要对应一次释放
+     *
+     * @param name  锁名称
+     * @param lease 租期，为 null 时启用看门狗
+     * @param owner 持有者标识，如任务 ID
+     * @return 锁，已被其他持有者持有时为空
+     */
+    Mono<Lock> tryLock(String name, Duration lease, String owner);
+
+    /**
+     * 加锁，锁被占用时轮询等待，启用看门狗
+     *
+     * @param name     锁名称
+     * @param waitTime 最长等待时间
+     * @return 锁，等待超时为空
+     */
+    Mono<Lock> lock(String name, Duration waitTime);
+
+    /**
+     * 公平加锁：等待者按到达顺序获得锁，启用看门狗
+     * <p>
+     * 等待者在 Redis 中排队，停止等待（超时、取消或进程退出）的等待者会被移出队列。
+     * 只能与同名的公平锁互斥使用。
+     * </p>
+     *
+     * @param name     锁名称
+     * @param waitTime 最长等待时间
+     * @return 锁，等待超时为空
+     */
+    Mono<Lock> fairLock(String name, Duration waitTime);
+
+    /**
+     * 持有锁执行任务，结束后释放；锁被占用时不执行并返回空
+     *
+     * @param name 锁名称
+     * @param task 任务
+     * @return 任务结果
+     */
+    <T> Mono<T> withLock(String name, Mono<T> task);
+
+    /**
+     * 已获得的锁
+     */
+    interface Lock {
+
+        /**
+         * 锁名称
+         */
+        String name();
+
+        /**
+         * 持有者标识
+         */
+        String owner();
+
+        /**
+         * 本地视角下是否仍持有：释放后或看门狗发现锁已丢失时为 false
+         */
+        boolean isHeld();
+
+        /**
+         * 将租期延长为指定时间
+         *
+         * @return true 表示续期成功，false 表示锁已不属于自己
+         */
+        Mono<Boolean> extend(Duration lease);
+
+        /**
+         * 释放锁，同时停止看门狗
+         *
+         * @return true 表示释放成功，false 表示锁已过期或不属于自己
+         */
+        Mono<Boolean> unlock();
+    }
+}
@@ -0,0 +1,26 @@
+package com.xhhao.redisconnector.api;
+
+/**
+ * Pub/Sub 消息
+ *
+ * @param channel 消息所在频道；键空间通知为 {@code __keyspace@<db>__:<key>}
+ * @param message 消息内容；键空间通知为事件名，如 {@code set}、{@code expired}
+ * @param pattern 按模式订阅时匹配的模式，按频道订阅时为 null
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record RedisMessage(String channel, String message, String pattern) {
+
+    private static final String KEYSPACE_PREFIX = "__keyspace@";
+
+    /**
+     * 键空间通知对应的键，普通消息返回 null
+     */
+    public String key() {
+        if (!channel.startsWith(KEYSPACE_PREFIX)) {
+            return null;
+        }
+        int separator = channel.indexOf("__:");
+        return separator < 0 ? null : channel.substring(separator + 3);
+    }
+}
@@ -0,0 +1,126 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Redis 流水线构建器
+ * <p>
+ * 先登记命令，调用 {@link #execute()} 时在同一个连接上一次性发送、一次 flush，
+ * 适合单次请求内批量写入或读取多个键。构建器不是线程安全的，也不可重复执行。
+ * Redis Cluster 模式下命令按所在节点分组，各节点并行发送。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * Redis.pipeline()
+ *     .set("post:1:title", "Hello")
+ *     .incr("post:1:views")
+ *     .hget("post:1:meta", "author")
+ *     .execute()
+ *     .subscribe(results -> {
+ *         String ok = (String) results.get(0);
+ *         Long views = (Long) results.get(1);
+ *         String author = (String) results.get(2);
+ *     });
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisPipeline {
+
+    /**
+     * 设置字符串值，结果为 "OK"
+     */
+    RedisPipeline set(String key, String value);
+
+    /**
+     * 设置字符串值并指定过期时间（秒），结果为 "OK"
+     */
+    RedisPipeline setEx(String key, String value, long seconds);
+
+    /**
+     * 获取字符串值，结果为 {@link String}，不存在为 null
+     */
+    RedisPipeline get(String key);
+
+    /**
+     * 删除键，结果为删除数量 {@link Long}。Redis Cluster 模式下多个键须位于同一哈希槽
+     */
+    RedisPipeline del(String... keys);
+
+    /**
+     * 自增 1，结果为自增后的值 {@link Long}
+     */
+    RedisPipeline incr(String key);
+
+    /**
+     * 自增指定数值，结果为自增后的值 {@link Long}
+     */
+    RedisPipeline incrBy(String key, long increment);
+
+    /**
+     * 设置 Hash 字段值，结果为新增字段数 {@link Long}
+     */
+    RedisPipeline hset(String key, String field, String value);
+
+    /**
+     * 获取 Hash 字段值，结果为 {@link String}，不存在为 null
+     */
+    RedisPipeline hget(String key, String field);
+
+    /**
+     * 获取 Hash 所有字段和值，结果为 {@code Map<String, String>}
+     */
+    RedisPipeline hgetAll(String key);
+
+    /**
+     * 向 Set 添加成员，结果为新增成员数 {@link Long}
+     */
+    RedisPipeline sadd(String key, String... members);
+
+    /**
+     * 向 Sorted Set 添加成员，结果为新增成员数 {@link Long}
+     */
+    RedisPipeline zadd(String key, double score, String member);
+
+    /**
+     * 增加 Sorted Set 成员的分数，结果为增加后的分数 {@link Double}
+     */
+    RedisPipeline zincrby(String key, double increment, String member);
+
+    /**
+     * 设置过期时间（秒），结果为 {@link Long}
+     */
+    RedisPipeline expire(String key, long seconds);
+
+    /**
+     * 获取键的类型，结果为类型名 {@link String}，不存在为 "none"
+     */
+    RedisPipeline type(String key);
+
+    /**
+     * 获取剩余过期时间，结果为 {@link Long}
+     */
+    RedisPipeline ttl(String key);
+
+    /**
+     * 判断键是否存在，结果为 {@link Boolean}
+     */
+    RedisPipeline exists(String key);
+
+    /**
+     * 已登记的命令数量
+     */
+    int size();
+
+    /**
+     * 执行所有已登记的命令
+     *
+     * @return 与登记顺序一致的结果列表；单条命令出错时对应位置为该异常对象，
+     * Redis 不可用时所有位置均为 null
+     */
+    Mono<List<Object>> execute();
+}
@@ -0,0 +1,55 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 插件专属客户端
+ * <p>
+ * 所有键（包括 Streams、脚本的 KEYS、锁与限流器的名称）自动加上 {@code 插件ID:} 前缀，
+ * 返回的键（如 {@link #scan(String)}）去掉前缀；发布订阅的频道同样加前缀。
+ * 命令按该插件统计与限流，无需再声明 {@link RedisCaller}。
+ * </p>
+ * <p>
+ * 管理员可将插件映射到独立的数据库（单机与 Sentinel 模式），或让前缀使用哈希标签
+ * （{@code {插件ID}:}），使 Cluster 模式下同一插件的键落在同一槽。
+ * {@link #getJedisPool()} 返回共享连接池，不做任何隔离。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * RedisPluginClient redis = Redis.forPlugin("plugin-moments");
+ * redis.set("latest", "42").subscribe();       // 实际键为 plugin-moments:latest
+ * redis.scan("*").subscribe(System.out::println); // 输出 latest
+ *
+ * // 插件卸载时清理全部键
+ * redis.purge().subscribe(count -> log.info("已清理 {} 个键", count));
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisPluginClient extends RedisClient {
+
+    /**
+     * 插件 ID
+     */
+    String pluginId();
+
+    /**
+     * 当前的键前缀
+     */
+    String keyPrefix();
+
+    /**
+     * 删除该插件的全部键
+     * <p>
+     * 以 SCAN 逐批遍历前缀下的键并用 UNLINK 删除，不阻塞 Redis，内存释放在服务端后台完成。
+     * 删除期间新写入的键可能不被删除。锁与限流器的键带有过期时间，不在清理范围内。
+     * Cluster 模式下依次扫描各主节点，前缀是否使用哈希标签都可以清理；
+     * 使用哈希标签时同一批键位于同一槽，UNLINK 不需要拆分。
+     * </p>
+     *
+     * @return 删除的键数量，遍历出错时为错误
+     */
+    Mono<Long> purge();
+}
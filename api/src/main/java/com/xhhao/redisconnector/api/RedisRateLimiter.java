@@ -0,0 +1,48 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 限流器
+ * <p>
+ * 每次检查在 Redis 中以一个 Lua 脚本原子完成，一次往返，多个 Halo 节点共享额度。
+ * 被拒绝后在重试等待时间内，同一名称、不少于被拒绝数量的请求直接在本地拒绝，不再访问 Redis；
+ * 额度只会被消耗而不会被提前归还，因此本地拒绝与 Redis 的判断一致。
+ * </p>
+ * <p>
+ * Redis 不可用时放行（fail-open），结果的 remaining 为 -1，避免 Redis 故障导致站点功能不可用。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * RateLimit perMinute = RateLimit.slidingWindow(5, Duration.ofMinutes(1));
+ * Redis.rateLimiter().tryAcquire("comment:" + ip, perMinute)
+ *     .flatMap(result -> result.allowed()
+ *         ? submitComment()
+ *         : Mono.error(new TooManyRequestsException(result.retryAfter())));
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisRateLimiter {
+
+    /**
+     * 申请 1 个额度
+     *
+     * @param name  限流对象，如 {@code comment:<ip>}
+     * @param limit 限流规则，同一名称应始终使用相同规则
+     * @return 检查结果
+     */
+    Mono<RateLimitResult> tryAcquire(String name, RateLimit limit);
+
+    /**
+     * 申请指定数量的额度
+     *
+     * @param name    限流对象
+     * @param limit   限流规则
+     * @param permits 额度数量
+     * @return 检查结果
+     */
+    Mono<RateLimitResult> tryAcquire(String name, RateLimit limit, int permits);
+}
@@ -0,0 +1,48 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 读取偏好
+ * <p>
+ * 开启从节点读取后，只读命令默认发往从节点，主从复制存在延迟。
+ * 需要读到自己刚写入的数据时，可通过 Reactor Context 强制本次调用链读取主节点。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * Redis.set("post:1:title", "Hello")
+ *     .then(Redis.get("post:1:title"))
+ *     .contextWrite(RedisReadPreference.primary())
+ *     .subscribe(System.out::println);
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class RedisReadPreference {
+
+    /**
+     * Context 中的键
+     */
+    public static final String CONTEXT_KEY = RedisReadPreference.class.getName() + ".primary";
+
+    private RedisReadPreference() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 强制读取主节点的 Context
+     */
+    public static Context primary() {
+        return Context.of(CONTEXT_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * Context 是否要求读取主节点
+     */
+    public static boolean isPrimary(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, Boolean.FALSE);
+    }
+}
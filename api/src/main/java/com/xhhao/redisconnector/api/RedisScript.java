@@ -0,0 +1,59 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Lua 脚本
+ * <p>
+ * 通过 {@link RedisClient#script(String)} 获取，同一脚本文本返回同一实例。执行时只发送 SHA1
+ * （{@code EVALSHA}），服务端未缓存该脚本（首次执行、重启、故障切换、{@code SCRIPT FLUSH}）时
+ * 自动 {@code SCRIPT LOAD} 后重试，调用方无需关心。
+ * </p>
+ * <p>
+ * 脚本总是在主节点执行。Cluster 模式下脚本访问的键必须全部通过 keys 传入且位于同一槽。
+ * 结果类型与 Redis 回复对应：整数为 {@link Long}，字符串为 {@link String}，数组为 {@link List}，
+ * nil 为空。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * // 只在分数更高时更新排行榜
+ * RedisScript zaddIfHigher = Redis.script("""
+ *     local current = redis.call('zscore', KEYS[1], ARGV[2])
+ *     if current and tonumber(current) >= tonumber(ARGV[1]) then return 0 end
+ *     return redis.call('zadd', KEYS[1], ARGV[1], ARGV[2])
+ *     """);
+ * zaddIfHigher.eval(List.of("rank:score"), List.of("100", "player1"), Long.class).subscribe();
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisScript {
+
+    /**
+     * 脚本的 SHA1
+     */
+    String sha1();
+
+    /**
+     * 执行脚本
+     *
+     * @param keys 脚本访问的键（KEYS）
+     * @param args 参数（ARGV）
+     * @return 脚本返回值，脚本出错或 Redis 不可用时为错误
+     */
+    Mono<Object> eval(List<String> keys, List<String> args);
+
+    /**
+     * 执行脚本并转换为指定类型
+     *
+     * @param keys       脚本访问的键（KEYS）
+     * @param args       参数（ARGV）
+     * @param resultType 返回值类型
+     * @return 脚本返回值，类型不符时为 {@link ClassCastException}
+     */
+    <T> Mono<T> eval(List<String> keys, List<String> args, Class<T> resultType);
+}
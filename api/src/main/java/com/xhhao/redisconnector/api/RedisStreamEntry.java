@@ -0,0 +1,14 @@
+package com.xhhao.redisconnector.api;
+
+import java.util.Map;
+
+/**
+ * Stream 消息
+ *
+ * @param id     消息 ID，如 {@code 1700000000000-0}，确认消息时使用
+ * @param fields 消息字段
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record RedisStreamEntry(String id, Map<String, String> fields) {
+}
@@ -0,0 +1,131 @@
+package com.xhhao.redisconnector.api;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Redis Streams 队列
+ * <p>
+ * 适合搜索索引、邮件发送等需要持久化的后台任务：生产者以 {@link #xadd} 写入，
+ * 多个 Halo 节点以同一消费组消费，每条消息只投递给组内一个消费者，处理完成后确认（XACK）。
+ * 消费者崩溃后未确认的消息留在待处理列表中，可由其他消费者通过 {@link #xautoclaim} 接管。
+ * </p>
+ * <p>
+ * 与其他缓存命令不同，Redis 不可用或命令出错时返回错误而不是默认值，调用方可据此重试。
+ * </p>
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * RedisStreams streams = Redis.streams();
+ * streams.xadd("my-plugin:jobs", Map.of("postName", name), 10_000).subscribe();
+ *
+ * // 处理完成后批量确认
+ * streams.xackAll("my-plugin:jobs", "indexer",
+ *         streams.xreadGroup("my-plugin:jobs", "indexer", hostName)
+ *             .concatMap(entry -> index(entry.fields()).thenReturn(entry.id())))
+ *     .subscribe();
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisStreams {
+
+    /**
+     * 追加消息
+     *
+     * @param key    Stream 键
+     * @param fields 消息字段
+     * @return 消息 ID
+     */
+    Mono<String> xadd(String key, Map<String, String> fields);
+
+    /**
+     * 追加消息并裁剪 Stream 长度（{@code MAXLEN ~}）
+     * <p>
+     * 近似裁剪只删除整个宏节点，实际长度可能略大于上限，但裁剪开销远小于精确裁剪。
+     * </p>
+     *
+     * @param key    Stream 键
+     * @param fields 消息字段
+     * @param maxLen 保留的大致消息数
+     * @return 消息 ID
+     */
+    Mono<String> xadd(String key, Map<String, String> fields, long maxLen);
+
+    /**
+     * Stream 中的消息数
+     */
+    Mono<Long> xlen(String key);
+
+    /**
+     * 创建消费组，从 Stream 开头消费；Stream 不存在时一并创建
+     *
+     * @param key   Stream 键
+     * @param group 消费组
+     * @return 是否新建，消费组已存在时为 false
+     */
+    Mono<Boolean> xgroupCreate(String key, String group);
+
+    /**
+     * 以消费组持续读取消息，每批 100 条，语义同 {@link #xreadGroup(String, String, String, int)}
+     */
+    Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer);
+
+    /**
+     * 以消费组持续读取消息
+     * <p>
+     * 消费组不存在时自动创建。先重新投递本消费者上次未确认的消息，再读取新消息。
+     * 按下游需求分批读取（XREADGROUP COUNT），下游处理完一批前不会读取下一批之后的消息；
+     * 没有新消息时以逐渐增大的间隔（最长 1 秒）轮询，不占用连接阻塞等待。
+     * Redis 暂时不可用时等待后重试，返回的 Flux 不会因此结束。
+     * </p>
+     *
+     * @param key       Stream 键
+     * @param group     消费组
+     * @param consumer  消费者名称，同一组内各节点应不同且重启后保持不变
+     * @param batchSize 每批读取的消息数
+     * @return 消息流，取消订阅后停止读取
+     */
+    Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer,
+                                      int batchSize);
+
+    /**
+     * 确认消息，多个 ID 在一条 XACK 中发送
+     *
+     * @param key   Stream 键
+     * @param group 消费组
+     * @param ids   消息 ID
+     * @return 确认成功的消息数
+     */
+    Mono<Long> xack(String key, String group, String... ids);
+
+    /**
+     * 批量确认：收集 ID 后每 100 条或每 50 毫秒合并为一条 XACK
+     *
+     * @param key   Stream 键
+     * @param group 消费组
+     * @param ids   处理完成的消息 ID
+     * @return ID 流结束后完成，值为确认成功的消息总数
+     */
+    Mono<Long> xackAll(String key, String group, Flux<String> ids);
+
+    /**
+     * 接管其他消费者长时间未确认的消息（XAUTOCLAIM，Redis 6.2+）
+     * <p>
+     * 遍历整个待处理列表，空闲时间超过 minIdle 的消息转移给 consumer 并返回，
+     * 处理后同样需要确认。可定时调用以恢复崩溃节点遗留的任务。
+     * </p>
+     *
+     * @param key      Stream 键
+     * @param group    消费组
+     * @param consumer 接管的消费者
+     * @param minIdle  最小空闲时间
+     * @return 接管的消息
+     */
+    Flux<RedisStreamEntry> xautoclaim(String key, String group, String consumer,
+                                      Duration minIdle);
+}
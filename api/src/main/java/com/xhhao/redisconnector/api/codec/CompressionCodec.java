@@ -0,0 +1,113 @@
+package com.xhhao.redisconnector.api.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩编解码器
+ * <p>
+ * 包装另一个编解码器，编码结果超过阈值时以 Deflate（最快级别）压缩，并写入
+ * {@code 0x00 'D' <原始长度>} 头部；未超过阈值的值原样保存。解码时按头部识别，
+ * 因此压缩前写入的旧值与阈值调整前后的值都能正常读取。
+ * </p>
+ * <p>
+ * JSON 与 Smile 编码结果不会以 {@code 0x00} 开头，可安全包装；自定义编解码器需保证同样的前提。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class CompressionCodec implements RedisCodec {
+
+    private static final byte MAGIC = 0x00;
+
+    private static final byte DEFLATE = 'D';
+
+    private static final int HEADER_LENGTH = 6;
+
+    /**
+     * Deflate 的最大压缩比约为 1032:1，头部声明的长度超过压缩数据的该倍数说明数据已损坏
+     */
+    private static final long MAX_RATIO = 1032;
+
+    /**
+     * 解压后长度上限，与 Redis 单个字符串值的上限（512 MB）一致
+     */
+    private static final int MAX_LENGTH = 512 * 1024 * 1024;
+
+    private final RedisCodec delegate;
+
+    private final int threshold;
+
+    /**
+     * @param delegate  实际的编解码器
+     * @param threshold 压缩阈值（字节），编码结果不小于该值时压缩
+     */
+    public CompressionCodec(RedisCodec delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        byte[] data = delegate.encode(value);
+        if (data.length < threshold) {
+            return data;
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + HEADER_LENGTH);
+            out.write(MAGIC);
+            out.write(DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(data.length).array());
+            byte[] buffer = new byte[Math.min(data.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            // 压缩无收益时保存原值
+            return out.size() < data.length ? out.toByteArray() : data;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) {
+        if (data.length < HEADER_LENGTH || data[0] != MAGIC || data[1] != DEFLATE) {
+            return delegate.decode(data, type);
+        }
+        int length = ByteBuffer.wrap(data, 2, Integer.BYTES).getInt();
+        // 长度来自存储的数据，外部写入或损坏的值不能用于分配任意大小的数组
+        if (length < 0 || length > MAX_LENGTH
+            || length > (data.length - HEADER_LENGTH) * MAX_RATIO) {
+            throw new RedisCodecException("压缩数据头部的长度无效: " + length);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(result, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != length) {
+                throw new RedisCodecException("压缩数据不完整",
+                    new DataFormatException("expected " + length + " bytes, got " + read));
+            }
+            return delegate.decode(result, type);
+        } catch (DataFormatException e) {
+            throw new RedisCodecException("无法解压数据", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.xhhao.redisconnector.api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * 基于 Jackson 的编解码器
+ * <p>
+ * 传入普通 {@link ObjectMapper} 时为 JSON；传入基于 Smile 工厂的 ObjectMapper 时为紧凑的二进制格式。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class JacksonCodec implements RedisCodec {
+
+    private final ObjectMapper mapper;
+
+    public JacksonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RedisCodecException("无法编码 " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) {
+        try {
+            return mapper.readValue(data, type);
+        } catch (IOException e) {
+            throw new RedisCodecException("无法解码为 " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.xhhao.redisconnector.api.codec;
+
+/**
+ * 对象编解码器
+ * <p>
+ * 负责对象与 Redis 中字节值之间的转换，供 {@code getObject} / {@code setObject} 使用。
+ * 实现必须线程安全；内置实现见 {@link RedisCodecs}。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisCodec {
+
+    /**
+     * 将对象编码为字节
+     *
+     * @param value 对象
+     * @return 编码结果
+     * @throws RedisCodecException 编码失败
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 将字节解码为对象
+     *
+     * @param data 编码结果
+     * @param type 目标类型
+     * @return 对象
+     * @throws RedisCodecException 解码失败
+     */
+    <T> T decode(byte[] data, Class<T> type);
+}
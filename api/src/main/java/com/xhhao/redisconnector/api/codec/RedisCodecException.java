@@ -0,0 +1,18 @@
+package com.xhhao.redisconnector.api.codec;
+
+/**
+ * 编解码失败
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class RedisCodecException extends RuntimeException {
+
+    public RedisCodecException(String message) {
+        super(message);
+    }
+
+    public RedisCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
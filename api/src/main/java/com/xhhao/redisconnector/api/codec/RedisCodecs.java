@@ -0,0 +1,88 @@
+package com.xhhao.redisconnector.api.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * 内置编解码器
+ *
+ * <h3>使用示例</h3>
+ * <pre>{@code
+ * // 渲染结果体积较大：Smile 二进制 + 超过 1KB 压缩
+ * RedisCodec codec = RedisCodecs.compressed(RedisCodecs.smile());
+ * Redis.setObject("post:1:rendered", rendered, 3600, codec).subscribe();
+ * Redis.getObject("post:1:rendered", Rendered.class, codec).subscribe(this::write);
+ * }</pre>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class RedisCodecs {
+
+    /**
+     * 默认压缩阈值（字节）
+     */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    private static final RedisCodec JSON = new JacksonCodec(configure(JsonMapper.builder()
+        .findAndAddModules()
+        .build()));
+
+    private static final RedisCodec SMILE = new JacksonCodec(configure(SmileMapper.builder()
+        .findAndAddModules()
+        .build()));
+
+    private RedisCodecs() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * JSON 编解码器，可读性好，数据浏览器中可直接查看；{@code getObject} / {@code setObject} 默认使用
+     */
+    public static RedisCodec json() {
+        return JSON;
+    }
+
+    /**
+     * 使用自定义 ObjectMapper 的 JSON 编解码器
+     */
+    public static RedisCodec json(ObjectMapper mapper) {
+        return new JacksonCodec(mapper);
+    }
+
+    /**
+     * Smile 二进制编解码器，与 JSON 数据模型一致，体积更小、解析更快
+     */
+    public static RedisCodec smile() {
+        return SMILE;
+    }
+
+    /**
+     * 超过 {@link #DEFAULT_COMPRESSION_THRESHOLD} 字节时压缩
+     */
+    public static RedisCodec compressed(RedisCodec codec) {
+        return compressed(codec, DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * 编码结果不小于阈值时压缩
+     *
+     * @param codec     实际的编解码器
+     * @param threshold 压缩阈值（字节）
+     */
+    public static RedisCodec compressed(RedisCodec codec, int threshold) {
+        return new CompressionCodec(codec, threshold);
+    }
+
+    /**
+     * 缓存中的对象常随版本增减字段，忽略未知字段以便新旧版本共存
+     */
+    private static <M extends ObjectMapper> M configure(M mapper) {
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
@@ -0,0 +1,93 @@
+package com.xhhao.redisconnector.api.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 压缩编解码器的往返与损坏数据处理
+ */
+class CompressionCodecTest {
+
+    private static final RedisCodec STRINGS = new RedisCodec() {
+        @Override
+        public byte[] encode(Object value) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public <T> T decode(byte[] data, Class<T> type) {
+            return type.cast(new String(data, StandardCharsets.UTF_8));
+        }
+    };
+
+    private final CompressionCodec codec = new CompressionCodec(STRINGS, 64);
+
+    @Test
+    void roundTripsCompressedValue() {
+        String value = "redis-connector ".repeat(200);
+
+        byte[] encoded = codec.encode(value);
+
+        assertThat(encoded.length).isLessThan(value.length());
+        assertThat(encoded[0]).isEqualTo((byte) 0x00);
+        assertThat(encoded[1]).isEqualTo((byte) 'D');
+        assertThat(codec.decode(encoded, String.class)).isEqualTo(value);
+    }
+
+    @Test
+    void keepsSmallValueUncompressed() {
+        byte[] encoded = codec.encode("small");
+
+        assertThat(encoded).isEqualTo("small".getBytes(StandardCharsets.UTF_8));
+        assertThat(codec.decode(encoded, String.class)).isEqualTo("small");
+    }
+
+    @Test
+    void decodesValueWrittenWithoutCompression() {
+        String value = "x".repeat(1000);
+
+        byte[] plain = STRINGS.encode(value);
+
+        assertThat(codec.decode(plain, String.class)).isEqualTo(value);
+    }
+
+    @Test
+    void rejectsOversizedDeclaredLength() {
+        byte[] data = header(Integer.MAX_VALUE, new byte[] {1, 2, 3, 4});
+
+        assertThatThrownBy(() -> codec.decode(data, String.class))
+            .isInstanceOf(RedisCodecException.class);
+    }
+
+    @Test
+    void rejectsNegativeDeclaredLength() {
+        byte[] data = header(-1, new byte[] {1, 2, 3, 4});
+
+        assertThatThrownBy(() -> codec.decode(data, String.class))
+            .isInstanceOf(RedisCodecException.class);
+    }
+
+    @Test
+    void rejectsTruncatedPayload() {
+        byte[] encoded = codec.encode("redis-connector ".repeat(200));
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> codec.decode(truncated, String.class))
+            .isInstanceOf(RedisCodecException.class);
+    }
+
+    private static byte[] header(int length, byte[] payload) {
+        return ByteBuffer.allocate(6 + payload.length)
+            .put((byte) 0x00)
+            .put((byte) 'D')
+            .putInt(length)
+            .put(payload)
+            .array();
+    }
+}
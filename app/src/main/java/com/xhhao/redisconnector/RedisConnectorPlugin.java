@@ -42,5 +42,6 @@ public class RedisConnectorPlugin extends BasePlugin {
     public void stop() {
         RedisClientHolder.clear();
         redisClient.shutdown();
+        redisClient.removeMetrics();
     }
 }
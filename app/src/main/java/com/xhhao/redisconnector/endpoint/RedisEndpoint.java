@@ -4,23 +4,32 @@ import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder
 import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuilder;
 import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
 
+import com.xhhao.redisconnector.api.RedisPipeline;
 import com.xhhao.redisconnector.service.RedisClientImpl;
 import com.xhhao.redisconnector.service.RedisConfigService;
+import com.xhhao.redisconnector.service.ScanPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.Tuple;
 import run.halo.app.core.extension.endpoint.CustomEndpoint;
 import run.halo.app.extension.GroupVersion;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -36,6 +45,21 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class RedisEndpoint implements CustomEndpoint {
 
+    /**
+     * 每页最多返回的键数量
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * 字符串值最多返回的字节数
+     */
+    private static final int MAX_STRING_BYTES = 512 * 1024;
+
+    /**
+     * 单次请求最多执行的 SCAN 次数
+     */
+    private static final int MAX_SCAN_ROUNDS = 10;
+
     private final RedisClientImpl redisClient;
     private final RedisConfigService redisConfigService;
 
@@ -71,15 +95,36 @@ public class RedisEndpoint implements CustomEndpoint {
                     .tag(tag)
                     .requestBody(requestBodyBuilder().implementation(Map.class))
                     .response(responseBuilder().implementation(Map.class)))
+            // 性能诊断
+            .GET("redis/diagnostics", this::getDiagnostics,
+                builder -> builder.operationId("GetRedisDiagnostics")
+                    .description("获取慢命令、热点键与大值采样结果")
+                    .tag(tag)
+                    .response(responseBuilder().implementation(Map.class)))
+            .DELETE("redis/diagnostics", this::resetDiagnostics,
+                builder -> builder.operationId("ResetRedisDiagnostics")
+                    .description("清空慢命令、热点键与大值采样结果")
+                    .tag(tag)
+                    .response(responseBuilder().implementation(Map.class)))
+            // 插件键空间
+            .DELETE("redis/plugins/{pluginId}/keys", this::purgePluginKeys,
+                builder -> builder.operationId("PurgeRedisPluginKeys")
+                    .description("删除指定插件专属客户端写入的全部键（SCAN + UNLINK）")
+                    .tag(tag)
+                    .response(responseBuilder().implementation(Map.class)))
             // 数据浏览
             .GET("redis/keys", this::listKeys,
                 builder -> builder.operationId("ListRedisKeys")
-                    .description("列出 Redis 键（支持模糊搜索）")
+                    .description("分页扫描 Redis 键（SCAN 游标，支持模糊搜索与类型过滤）")
                     .tag(tag)
-                    .response(responseBuilder().implementation(List.class)))
+                    .response(responseBuilder().implementation(Map.class)))
+            .GET("redis/data/{key}/stream", this::streamData,
+                builder -> builder.operationId("StreamRedisData")
+                    .description("流式导出指定键的全部数据（NDJSON 或 SSE）")
+                    .tag(tag))
             .GET("redis/data/{key}", this::getData,
                 builder -> builder.operationId("GetRedisData")
-                    .description("获取指定键的数据")
+                    .description("分页获取指定键的数据")
                     .tag(tag)
                     .response(responseBuilder().implementation(Map.class)))
             .POST("redis/data", this::setData,
@@ -109,6 +154,38 @@ public class RedisEndpoint implements CustomEndpoint {
             .flatMap(status -> ServerResponse.ok().bodyValue(status));
     }
 
+    /**
+     * 获取慢命令、热点键与大值采样结果
+     */
+    private Mono<ServerResponse> getDiagnostics(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(redisClient.getDiagnostics());
+    }
+
+    /**
+     * 清空采样结果
+     */
+    private Mono<ServerResponse> resetDiagnostics(ServerRequest request) {
+        redisClient.resetDiagnostics();
+        return ServerResponse.ok().bodyValue(Map.of("success", true, "message", "已清空"));
+    }
+
+    /**
+     * 删除插件的全部键，通常在插件卸载后调用
+     */
+    private Mono<ServerResponse> purgePluginKeys(ServerRequest request) {
+        String pluginId = request.pathVariable("pluginId");
+
+        return redisClient.forPlugin(pluginId).purge()
+            .flatMap(count -> ServerResponse.ok().bodyValue(Map.of(
+                "success", true,
+                "deleted", count,
+                "message", "已删除 " + count + " 个键"
+            )))
+            .onErrorResume(e -> ServerResponse.ok().bodyValue(
+                Map.of("success", false, "message", e.getMessage())
+            ));
+    }
+
     /**
      * 测试 Redis 连接（执行读写操作验证）
      */
@@ -170,92 +247,291 @@ public class RedisEndpoint implements CustomEndpoint {
     }
 
     /**
-     * 列出 Redis 键
+     * 分页扫描 Redis 键
+     * <p>
+     * 基于 SCAN 游标增量遍历，不会像 KEYS 那样阻塞 Redis；每页键的类型和 TTL 以流水线一次取回。
+     * 返回的游标传回即可继续扫描，游标为 0 表示扫描结束。
+     * </p>
      *
      * @param pattern 搜索模式，支持 * 通配符，不包含 * 时自动模糊匹配
-     * @param limit   返回数量限制，默认 100
+     * @param cursor  上一页返回的游标，首次为 0
+     * @param limit   每页期望数量，默认 100
+     * @param type    按类型过滤（string / list / set / zset / hash），需要 Redis 6+
      */
     private Mono<ServerResponse> listKeys(ServerRequest request) {
-        String pattern = request.queryParam("pattern").orElse("*");
-        int limit = Integer.parseInt(request.queryParam("limit").orElse("100"));
+        String pattern = request.queryParam("pattern").filter(p -> !p.isBlank()).orElse("*");
+        String cursor = request.queryParam("cursor").filter(c -> !c.isBlank())
+            .orElse(ScanPage.START);
+        int limit = Math.min(Math.max(parseInt(request.queryParam("limit"), 100), 1),
+            MAX_PAGE_SIZE);
+        String type = request.queryParam("type").filter(t -> !t.isBlank()).orElse(null);
 
         if (!redisClient.isAvailable()) {
-            return ServerResponse.ok().bodyValue(List.of());
+            return ServerResponse.ok().bodyValue(keyPage(List.of(), ScanPage.START));
         }
 
-        return Mono.fromCallable(() -> {
-            var pool = redisClient.getJedisPool();
-            if (pool == null) {
-                return List.of();
-            }
-
-            try (Jedis jedis = pool.getResource()) {
-                // 不包含 * 时自动加上模糊匹配
-                String searchPattern = pattern.contains("*") ? pattern : "*" + pattern + "*";
-                Set<String> keys = jedis.keys(searchPattern);
+        // 不包含 * 时自动加上模糊匹配
+        String searchPattern = pattern.contains("*") ? pattern : "*" + pattern + "*";
+        return scanKeys(cursor, searchPattern, limit, type, new LinkedHashSet<>(), 0)
+            .flatMap(page -> describeKeys(page.items(), type)
+                .map(keys -> keyPage(keys, page.cursor())))
+            .flatMap(body -> ServerResponse.ok().bodyValue(body))
+            .onErrorResume(e -> {
+                Map<String, Object> body = keyPage(List.of(), ScanPage.START);
+                body.put("error", e.getMessage());
+                return ServerResponse.ok().bodyValue(body);
+            });
+    }
 
-                List<Map<String, Object>> result = new ArrayList<>();
-                int count = 0;
-                for (String key : keys) {
-                    if (count >= limit) {
-                        break;
-                    }
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("key", key);
-                    item.put("fullKey", key);
-                    item.put("type", jedis.type(key));
-                    item.put("ttl", jedis.ttl(key));
-                    result.add(item);
-                    count++;
+    /**
+     * 连续扫描直到凑够一页、扫描结束或达到轮数上限，避免稀疏匹配时返回大量空页
+     * <p>
+     * 游标只能停在 SCAN 的页边界上，因此后续轮次只请求剩余数量，某一页放不下时整页不收，
+     * 返回该页的起始游标，下次从这里重新扫描。只有第一页本身就超过期望数量时
+     * （COUNT 只是提示，Redis 可能多返回）才会整页返回，截断会永久跳过剩下的键。
+     * </p>
+     */
+    private Mono<ScanPage<String>> scanKeys(String cursor, String pattern, int limit,
+                                            @Nullable String type, Set<String> collected,
+                                            int round) {
+        return redisClient.scanKeys(cursor, pattern, limit - collected.size(), type)
+            .flatMap(page -> {
+                List<String> fresh = page.items().stream()
+                    .filter(key -> !collected.contains(key))
+                    .distinct()
+                    .toList();
+                if (!collected.isEmpty() && collected.size() + fresh.size() > limit) {
+                    return Mono.just(new ScanPage<>(cursor, List.copyOf(collected)));
                 }
-                return result;
+                collected.addAll(fresh);
+                if (page.finished() || collected.size() >= limit
+                    || round + 1 >= MAX_SCAN_ROUNDS) {
+                    return Mono.just(new ScanPage<>(page.cursor(), List.copyOf(collected)));
+                }
+                return scanKeys(page.cursor(), pattern, limit, type, collected, round + 1);
+            });
+    }
+
+    /**
+     * 以一次流水线取回一页键的类型和 TTL
+     */
+    private Mono<List<Map<String, Object>>> describeKeys(List<String> keys,
+                                                         @Nullable String type) {
+        if (keys.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        RedisPipeline pipeline = redisClient.pipeline();
+        for (String key : keys) {
+            if (type == null) {
+                pipeline.type(key);
+            }
+            pipeline.ttl(key);
+        }
+        int step = type == null ? 2 : 1;
+        return pipeline.execute().map(results -> {
+            List<Map<String, Object>> items = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Object keyType = type == null ? results.get(i * step) : type;
+                Object ttl = results.get(i * step + step - 1);
+                Map<String, Object> item = new HashMap<>();
+                item.put("key", keys.get(i));
+                item.put("fullKey", keys.get(i));
+                item.put("type", keyType instanceof String name ? name : "unknown");
+                item.put("ttl", ttl instanceof Long seconds ? seconds : -2L);
+                items.add(item);
             }
-        }).subscribeOn(Schedulers.boundedElastic())
-            .flatMap(keys -> ServerResponse.ok().bodyValue(keys))
-            .onErrorResume(e -> ServerResponse.ok().bodyValue(List.of()));
+            return items;
+        });
+    }
+
+    private static Map<String, Object> keyPage(List<Map<String, Object>> keys, String cursor) {
+        Map<String, Object> page = new HashMap<>();
+        page.put("keys", keys);
+        page.put("cursor", cursor);
+        page.put("finished", ScanPage.START.equals(cursor));
+        return page;
+    }
+
+    private static int parseInt(Optional<String> value, int defaultValue) {
+        try {
+            return value.map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
     /**
-     * 获取指定键的数据（支持所有数据类型）
+     * 分页获取指定键的数据
+     * <p>
+     * 大集合按页读取：list / zset 按下标窗口（LRANGE / ZRANGE），set / hash 按游标（SSCAN / HSCAN），
+     * 单次最多返回 {@link #MAX_PAGE_SIZE} 个元素；字符串超过 {@link #MAX_STRING_BYTES} 时截断。
+     * </p>
+     *
+     * @param cursor 上一页返回的游标，首次为 0
+     * @param count  每页元素数量，默认 100
      */
     private Mono<ServerResponse> getData(ServerRequest request) {
         String key = request.pathVariable("key");
+        String cursor = request.queryParam("cursor").filter(c -> !c.isBlank())
+            .orElse(ScanPage.START);
+        int count = pageSize(request);
 
         if (!redisClient.isAvailable()) {
             return ServerResponse.ok().bodyValue(Map.of("error", "Redis not available"));
         }
 
-        return Mono.fromCallable(() -> {
-            var pool = redisClient.getJedisPool();
-            if (pool == null) {
-                return Map.of("error", "Pool not available");
-            }
-
-            try (Jedis jedis = pool.getResource()) {
-                String type = jedis.type(key);
-
+        return redisClient.pipeline().type(key).ttl(key).execute()
+            .flatMap(meta -> {
+                String type = meta.get(0) instanceof String name ? name : "none";
                 Map<String, Object> result = new HashMap<>();
                 result.put("key", key);
                 result.put("type", type);
-                result.put("ttl", jedis.ttl(key));
-
-                // 根据类型获取值
-                Object value = switch (type) {
-                    case "string" -> jedis.get(key);
-                    case "list" -> jedis.lrange(key, 0, -1);
-                    case "set" -> jedis.smembers(key);
-                    case "zset" -> jedis.zrangeWithScores(key, 0, -1);
-                    case "hash" -> jedis.hgetAll(key);
-                    default -> null;
-                };
-                result.put("value", value);
-                return result;
-            }
-        }).subscribeOn(Schedulers.boundedElastic())
+                result.put("ttl", meta.get(1) instanceof Long ttl ? ttl : -2L);
+                return Mono.zip(sizeOf(key, type), readPage(key, type, cursor, count))
+                    .map(tuple -> {
+                        ScanPage<Object> page = tuple.getT2();
+                        result.put("size", tuple.getT1());
+                        result.put("value", "string".equals(type)
+                            ? page.items().stream().findFirst().orElse(null)
+                            : page.items());
+                        result.put("cursor", page.cursor());
+                        result.put("finished", page.finished());
+                        if ("string".equals(type)) {
+                            result.put("truncated", tuple.getT1() > MAX_STRING_BYTES);
+                        }
+                        return result;
+                    });
+            })
             .flatMap(data -> ServerResponse.ok().bodyValue(data))
             .onErrorResume(e -> ServerResponse.ok().bodyValue(Map.of("error", e.getMessage())));
     }
 
+    /**
+     * 流式导出指定键的全部数据
+     * <p>
+     * 逐页读取并立即写出，下游消费多少才读取多少，Halo 节点内存占用与键大小无关。
+     * 默认输出 NDJSON（每行一个元素），{@code format=sse} 或请求头 Accept 为
+     * {@code text/event-stream} 时输出 Server-Sent Events。
+     * </p>
+     */
+    private Mono<ServerResponse> streamData(ServerRequest request) {
+        String key = request.pathVariable("key");
+        int count = pageSize(request);
+        boolean sse = request.queryParam("format").map("sse"::equalsIgnoreCase)
+            .orElseGet(() -> request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM));
+
+        if (!redisClient.isAvailable()) {
+            return ServerResponse.ok().bodyValue(Map.of("error", "Redis not available"));
+        }
+
+        Flux<Object> elements = redisClient.executeRead(commands -> commands.type(key))
+            .<Object>flatMapMany(type -> "string".equals(type)
+                // 导出不截断字符串
+                ? redisClient.executeRead(commands -> commands.get(key)).flux()
+                : readPage(key, type, ScanPage.START, count)
+                    .expand(page -> page.finished()
+                        ? Mono.empty()
+                        : readPage(key, type, page.cursor(), count))
+                    .concatMapIterable(ScanPage::items))
+            .map(element -> element instanceof String value ? Map.of("value", value) : element);
+
+        if (sse) {
+            Flux<ServerSentEvent<Object>> events = elements
+                .map(element -> ServerSentEvent.builder(element).build())
+                .concatWith(Flux.just(ServerSentEvent.builder().event("end").data("").build()))
+                .onErrorResume(e -> Flux.just(ServerSentEvent.builder()
+                    .event("error").data(String.valueOf(e.getMessage())).build()));
+            return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, new ParameterizedTypeReference<ServerSentEvent<Object>>() {
+                });
+        }
+        return ServerResponse.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(elements.onErrorResume(e -> Flux.just(Map.of("error",
+                String.valueOf(e.getMessage())))), Object.class);
+    }
+
+    /**
+     * 读取一页元素：string 为单个值，list / set 为字符串，
+     * zset 为 {@code {member, score}}，hash 为 {@code {field, value}}
+     */
+    private Mono<ScanPage<Object>> readPage(String key, String type, String cursor, int count) {
+        return switch (type) {
+            case "string" -> redisClient.executeRead(commands ->
+                    commands.getrange(key, 0, MAX_STRING_BYTES - 1))
+                .map(value -> new ScanPage<>(ScanPage.START, List.<Object>of(value)))
+                .defaultIfEmpty(new ScanPage<>(ScanPage.START, List.of()));
+            case "list" -> {
+                long start = parseIndex(cursor);
+                yield redisClient.executeRead(commands ->
+                        commands.lrange(key, start, start + count - 1))
+                    .map(values -> new ScanPage<>(nextIndex(start, count, values.size()),
+                        List.<Object>copyOf(values)));
+            }
+            case "zset" -> {
+                long start = parseIndex(cursor);
+                yield redisClient.executeRead(commands ->
+                        commands.zrangeWithScores(key, start, start + count - 1))
+                    .map(tuples -> {
+                        List<Object> items = new ArrayList<>(tuples.size());
+                        for (Tuple tuple : tuples) {
+                            items.add(Map.of("member", tuple.getElement(),
+                                "score", tuple.getScore()));
+                        }
+                        return new ScanPage<>(nextIndex(start, count, tuples.size()), items);
+                    });
+            }
+            case "set" -> redisClient.executeRead(commands ->
+                    commands.sscan(key, cursor, new ScanParams().count(count)))
+                .map(result -> new ScanPage<>(result.getCursor(),
+                    List.<Object>copyOf(result.getResult())));
+            case "hash" -> redisClient.executeRead(commands ->
+                    commands.hscan(key, cursor, new ScanParams().count(count)))
+                .map(result -> {
+                    List<Object> items = new ArrayList<>(result.getResult().size());
+                    for (Map.Entry<String, String> entry : result.getResult()) {
+                        items.add(Map.of("field", entry.getKey(), "value", entry.getValue()));
+                    }
+                    return new ScanPage<>(result.getCursor(), items);
+                });
+            default -> Mono.just(new ScanPage<>(ScanPage.START, List.of()));
+        };
+    }
+
+    /**
+     * 元素数量（字符串为字节长度）
+     */
+    private Mono<Long> sizeOf(String key, String type) {
+        return switch (type) {
+            case "string" -> redisClient.executeRead(commands -> commands.strlen(key));
+            case "list" -> redisClient.executeRead(commands -> commands.llen(key));
+            case "set" -> redisClient.executeRead(commands -> commands.scard(key));
+            case "zset" -> redisClient.executeRead(commands -> commands.zcard(key));
+            case "hash" -> redisClient.executeRead(commands -> commands.hlen(key));
+            default -> Mono.just(0L);
+        };
+    }
+
+    private static long parseIndex(String cursor) {
+        try {
+            return Math.max(0, Long.parseLong(cursor));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 下标窗口的下一页游标，不足一页时返回结束游标
+     */
+    private static String nextIndex(long start, int count, int returned) {
+        return returned < count ? ScanPage.START : String.valueOf(start + count);
+    }
+
+    private static int pageSize(ServerRequest request) {
+        return Math.min(Math.max(parseInt(request.queryParam("count"), 100), 1), MAX_PAGE_SIZE);
+    }
+
     /**
      * 设置键值数据（仅支持 string 类型）
      */
@@ -1,30 +1,98 @@
 package com.xhhao.redisconnector.service;
 
+import com.xhhao.redisconnector.api.CacheLoadOptions;
 import com.xhhao.redisconnector.api.RedisClient;
+import com.xhhao.redisconnector.api.RedisLock;
+import com.xhhao.redisconnector.api.RedisMessage;
+import com.xhhao.redisconnector.api.RedisPipeline;
+import com.xhhao.redisconnector.api.RedisPluginClient;
+import com.xhhao.redisconnector.api.RedisRateLimiter;
+import com.xhhao.redisconnector.api.RedisScript;
+import com.xhhao.redisconnector.api.RedisStreams;
+import com.xhhao.redisconnector.api.RedisReadPreference;
+import com.xhhao.redisconnector.api.codec.RedisCodec;
+import com.xhhao.redisconnector.api.codec.RedisCodecs;
+import com.xhhao.redisconnector.service.breaker.CircuitBreaker;
+import com.xhhao.redisconnector.service.breaker.CircuitBreakerEngine;
+import com.xhhao.redisconnector.service.breaker.CircuitOpenException;
+import com.xhhao.redisconnector.service.cache.CacheAsideLoader;
+import com.xhhao.redisconnector.service.cache.InvalidationTracker;
+import com.xhhao.redisconnector.service.cache.NearCache;
+import com.xhhao.redisconnector.service.engine.ClusterEngine;
+import com.xhhao.redisconnector.service.engine.JedisEngine;
+import com.xhhao.redisconnector.service.engine.NettyEngine;
+import com.xhhao.redisconnector.service.engine.PipelinedJedisEngine;
+import com.xhhao.redisconnector.service.engine.RedisEngine;
+import com.xhhao.redisconnector.service.lock.RedisLockImpl;
+import com.xhhao.redisconnector.service.metrics.CommandSampler;
+import com.xhhao.redisconnector.service.metrics.MeteredEngine;
+import com.xhhao.redisconnector.service.metrics.RedisMetrics;
+import com.xhhao.redisconnector.service.quota.PluginQuotas;
+import com.xhhao.redisconnector.service.pubsub.PubSubHub;
+import com.xhhao.redisconnector.service.ratelimit.RedisRateLimiterImpl;
+import com.xhhao.redisconnector.service.scope.DatabaseRoutingEngine;
+import com.xhhao.redisconnector.service.scope.PluginNamespace;
+import com.xhhao.redisconnector.service.scope.PluginScopedClient;
+import com.xhhao.redisconnector.service.replica.ReplicaRouter;
+import com.xhhao.redisconnector.service.script.ScriptRegistry;
+import com.xhhao.redisconnector.service.sentinel.SentinelMonitor;
+import com.xhhao.redisconnector.service.stream.RedisStreamsImpl;
+import io.micrometer.core.instrument.Metrics;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.lang.Nullable;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.ClusterCommandObjects;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.ConnectionPoolConfig;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.providers.ClusterConnectionProvider;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.resps.Tuple;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Redis 客户端实现
  * <p>
  * 使用 Jedis 作为底层客户端，避免 PF4J 类加载器冲突。
- * 所有操作在 boundedElastic 调度器上执行，不阻塞事件循环。
+ * 命令交由 {@link RedisEngine} 执行：默认的 Jedis 引擎在 boundedElastic 调度器上执行，
+ * 可选的 Netty 引擎直接在 I/O 事件中完成响应，连接失败时回退到 Jedis 引擎。
+ * 集群模式下使用 {@link ClusterEngine} 按哈希槽路由，多键命令按槽拆分后并行执行。
+ * Sentinel 模式下由 {@link SentinelMonitor} 跟踪主节点，切换时原子替换连接池与引擎。
+ * 开启从节点读取后，只读命令经 {@link ReplicaRouter} 发往从节点，
+ * 调用链的 Context 带有 {@link RedisReadPreference#primary()} 时仍读取主节点。
  * </p>
  *
  * @author Handsome
@@ -36,239 +104,1572 @@ public class RedisClientImpl implements RedisClient {
 
     private static final String LOG_PREFIX = "[RedisConnector]";
 
+    /**
+     * 自动流水线模式下同时发送批次的连接数
+     */
+    private static final int AUTO_PIPELINE_CONNECTIONS = 2;
+
+    /**
+     * 流式遍历时每次 SCAN 的 COUNT 提示
+     */
+    private static final int SCAN_BATCH = 100;
+
+    /**
+     * Sentinel 模式下连接主节点失败后重新查询的间隔
+     */
+    private static final Duration SENTINEL_RETRY_DELAY = Duration.ofSeconds(2);
+
+    /**
+     * 构建发往指定节点的命令。集群命令构建器要求 SCAN 的 MATCH 带哈希标签，
+     * 而按节点执行的命令本就不经过槽路由
+     */
+    private static final CommandObjects NODE_COMMANDS = new CommandObjects();
+
     private final Environment environment;
 
     @Getter
     @Nullable
     private volatile JedisPool jedisPool;
 
-    private volatile boolean available = false;
+    @Nullable
+    private volatile RedisEngine engine;
+
+    @Nullable
+    private volatile NearCache nearCache;
+
+    @Nullable
+    private volatile InvalidationTracker invalidationTracker;
+
+    @Nullable
+    private volatile ReplicaRouter replicaRouter;
+
+    @Nullable
+    private volatile SentinelMonitor sentinelMonitor;
+
+    /**
+     * Sentinel 模式下当前生效的连接选项，主节点地址随切换更新
+     */
+    @Nullable
+    private volatile RedisOptions sentinelOptions;
+
+    private volatile boolean available = false;
+
+    private volatile RedisOptions.Mode mode = RedisOptions.Mode.STANDALONE;
+
+    /**
+     * 命令构建器，集群模式下为携带哈希槽信息的 {@link ClusterCommandObjects}
+     */
+    private volatile CommandObjects commands = new CommandObjects();
+
+    private final ScriptRegistry scriptRegistry = new ScriptRegistry(this);
+
+    /**
+     * 共享订阅连接，订阅关系跨越重新初始化保留
+     */
+    private final PubSubHub pubSubHub = new PubSubHub();
+
+    /**
+     * 当前数据库编号，用于拼接键空间通知频道
+     */
+    private volatile int database;
+
+    /**
+     * 插件专属数据库映射，Cluster 模式下为空
+     */
+    private volatile Map<String, Integer> pluginDatabases = Map.of();
+
+    /**
+     * 插件键前缀是否使用哈希标签
+     */
+    private volatile boolean pluginHashTag;
+
+    private final Map<String, RedisPluginClient> pluginClients = new ConcurrentHashMap<>();
+
+    private final RedisLock redisLock = new RedisLockImpl(this);
+
+    private final RedisRateLimiter rateLimiter = new RedisRateLimiterImpl(this);
+
+    private final RedisStreams streams = new RedisStreamsImpl(this);
+
+    private final CacheAsideLoader cacheAsideLoader = new CacheAsideLoader(this);
+
+    /**
+     * 慢命令与热点键采样
+     */
+    private final CommandSampler sampler = new CommandSampler();
+
+    /**
+     * 命令与连接池指标，所有引擎（包括从节点）执行的命令都会记录
+     */
+    private final RedisMetrics metrics =
+        new RedisMetrics(Metrics.globalRegistry, () -> jedisPool, sampler);
+
+    /**
+     * 按插件统计与限制命令
+     */
+    private final PluginQuotas quotas = new PluginQuotas();
+
+    /**
+     * 主节点（集群模式下为整个集群）的熔断器，从节点出错时本就改读主节点，不经过熔断器
+     */
+    private final CircuitBreaker breaker = new CircuitBreaker();
+
+    public RedisClientImpl(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available && engine != null;
+    }
+
+    /**
+     * 获取当前部署模式
+     */
+    public RedisOptions.Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sentinel 模式下当前主节点地址，其他模式返回 null
+     */
+    @Nullable
+    public String getSentinelMaster() {
+        RedisOptions options = sentinelOptions;
+        return options != null ? options.getHost() + ":" + options.getPort() : null;
+    }
+
+    /**
+     * 从节点状态，未开启从节点读取时返回 null
+     */
+    @Nullable
+    public List<Map<String, Object>> getReplicaStats() {
+        ReplicaRouter router = replicaRouter;
+        return router != null ? router.stats() : null;
+    }
+
+    /**
+     * 集群模式下已发现的节点数，非集群模式返回 0
+     */
+    public int getClusterNodeCount() {
+        ClusterEngine cluster = clusterOf(engine);
+        return cluster != null ? cluster.nodeCount() : 0;
+    }
+
+    /**
+     * 获取当前使用的引擎名称
+     */
+    public String getEngineName() {
+        RedisEngine current = engine;
+        return current != null ? current.name() : "none";
+    }
+
+    /**
+     * 获取连接池统计，未连接时返回 null
+     */
+    @Nullable
+    public Map<String, Object> getPoolStats() {
+        JedisPool pool = jedisPool;
+        if (pool == null) {
+            return null;
+        }
+        return Map.of(
+            "active", pool.getNumActive(),
+            "idle", pool.getNumIdle(),
+            "waiters", pool.getNumWaiters(),
+            "maxTotal", pool.getMaxTotal());
+    }
+
+    /**
+     * 获取近端缓存统计，未启用时返回 null
+     */
+    @Nullable
+    public Map<String, Object> getNearCacheStats() {
+        NearCache cache = nearCache;
+        return cache != null ? cache.stats() : null;
+    }
+
+    /**
+     * 获取慢命令、热点键与大值的采样结果
+     */
+    public Map<String, Object> getDiagnostics() {
+        Map<String, Object> diagnostics = sampler.snapshot();
+        diagnostics.put("plugins", quotas.stats());
+        return diagnostics;
+    }
+
+    /**
+     * 获取熔断器状态
+     */
+    public Map<String, Object> getCircuitBreakerStats() {
+        return breaker.stats();
+    }
+
+    /**
+     * 清空采样结果
+     */
+    public void resetDiagnostics() {
+        sampler.reset();
+        quotas.reset();
+    }
+
+    /**
+     * 从 Micrometer 注册表移除本插件的指标，插件停止时调用
+     */
+    public void removeMetrics() {
+        metrics.close();
+    }
+
+    /**
+     * 当前数据库编号
+     */
+    public int getDatabase() {
+        return database;
+    }
+
+    /**
+     * 插件的键前缀与专属数据库，按当前配置确定
+     */
+    public PluginNamespace pluginNamespace(String pluginId) {
+        String prefix = pluginHashTag ? "{" + pluginId + "}:" : pluginId + ":";
+        Integer mapped = pluginDatabases.get(pluginId);
+        return new PluginNamespace(pluginId, prefix,
+            mapped != null && mapped != database ? mapped : -1);
+    }
+
+    /**
+     * 获取共享订阅连接状态
+     */
+    public Map<String, Object> getPubSubStats() {
+        return pubSubHub.stats();
+    }
+
+    /**
+     * 使用 Halo 环境配置初始化 Redis 连接
+     *
+     * @param options 插件配置中的连接选项，连接地址会被 Halo 环境配置覆盖
+     */
+    public void initialize(RedisOptions options) {
+        if (engine != null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (engine != null) {
+                return;
+            }
+
+            String haloRedisEnabled = environment.getProperty("halo.redis.enabled", "false");
+            if (!"true".equalsIgnoreCase(haloRedisEnabled)) {
+                log.info("{} Halo 未启用 Redis", LOG_PREFIX);
+                return;
+            }
+
+            options.setHost(environment.getProperty("spring.data.redis.host", "localhost"));
+            options.setPort(Integer.parseInt(
+                environment.getProperty("spring.data.redis.port", "6379")));
+            options.setPassword(environment.getProperty("spring.data.redis.password", ""));
+            options.setDatabase(Integer.parseInt(
+                environment.getProperty("spring.data.redis.database", "0")));
+
+            log.info("{} 正在连接 Redis: {}:{}/{}", LOG_PREFIX, options.getHost(),
+                options.getPort(), options.getDatabase());
+            doInitialize(options);
+        }
+    }
+
+    /**
+     * 使用自定义配置初始化 Redis 连接（插件配置）
+     *
+     * @param options 连接选项
+     */
+    public void initializeWithConfig(RedisOptions options) {
+        synchronized (this) {
+            if (engine != null || jedisPool != null) {
+                shutdown();
+            }
+            if (options.getMode() == RedisOptions.Mode.CLUSTER) {
+                log.info("{} 正在连接 Redis Cluster（插件配置）: {}", LOG_PREFIX,
+                    clusterSeeds(options));
+            } else {
+                log.info("{} 正在连接 Redis（插件配置）: {}:{}/{}", LOG_PREFIX,
+                    options.getHost(), options.getPort(), options.getDatabase());
+            }
+            doInitialize(options);
+        }
+    }
+
+    /**
+     * 关闭 Redis 连接
+     */
+    public synchronized void shutdown() {
+        pubSubHub.disconnect();
+        SentinelMonitor monitor = sentinelMonitor;
+        if (monitor != null) {
+            sentinelMonitor = null;
+            sentinelOptions = null;
+            monitor.stop();
+        }
+        InvalidationTracker tracker = invalidationTracker;
+        if (tracker != null) {
+            invalidationTracker = null;
+            nearCache = null;
+            tracker.stop();
+        }
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            replicaRouter = null;
+            router.close();
+        }
+        available = false;
+        RedisEngine current = engine;
+        if (current != null) {
+            engine = null;
+            current.close();
+        }
+        mode = RedisOptions.Mode.STANDALONE;
+        commands = new CommandObjects();
+        if (jedisPool != null) {
+            try {
+                jedisPool.close();
+                log.info("{} Redis 连接已关闭", LOG_PREFIX);
+            } catch (Exception e) {
+                log.error("{} 关闭 Redis 连接失败: {}", LOG_PREFIX, e.getMessage());
+            } finally {
+                jedisPool = null;
+                available = false;
+            }
+        }
+    }
+
+    /**
+     * 执行 Jedis 连接池初始化
+     */
+    private void doInitialize(RedisOptions options) {
+        sampler.configure(options.getSlowCommandThresholdMillis(),
+            options.getHotKeySampleRate());
+        configureQuotas(options);
+        breaker.configure(options.isCircuitBreakerEnabled(),
+            options.getCircuitBreakerFailureRate(), options.getCircuitBreakerSlowCallMillis(),
+            options.getCircuitBreakerSlowCallRate(), options.getCircuitBreakerOpenSeconds());
+        Map<String, Integer> databases =
+            RedisOptions.parsePluginDatabases(options.getPluginDatabases());
+        if (options.getMode() == RedisOptions.Mode.CLUSTER && !databases.isEmpty()) {
+            log.warn("{} Cluster 模式只有 0 号数据库，忽略插件数据库映射", LOG_PREFIX);
+            databases = Map.of();
+        }
+        pluginDatabases = databases;
+        pluginHashTag = options.isPluginHashTag();
+        database = options.getMode() == RedisOptions.Mode.CLUSTER ? 0 : options.getDatabase();
+        if (options.getMode() == RedisOptions.Mode.CLUSTER) {
+            doInitializeCluster(options);
+            return;
+        }
+        if (options.getMode() == RedisOptions.Mode.SENTINEL) {
+            doInitializeSentinel(options);
+            return;
+        }
+        try {
+            JedisPool pool = createPool(options);
+            jedisPool = pool;
+            engine = createEngine(options, pool);
+            available = true;
+            log.info("{} Redis 连接成功，引擎: {}", LOG_PREFIX, getEngineName());
+            if (options.isNearCache()) {
+                startNearCache(options);
+            }
+            startReplicas(options, RedisOptions.parseNodes(options.getReplicaNodes()));
+            startPubSub(options);
+        } catch (Exception e) {
+            log.error("{} Redis 连接失败: {}", LOG_PREFIX, e.getMessage());
+            available = false;
+        }
+    }
+
+    /**
+     * 开启从节点读取时为从节点建立连接池
+     */
+    private void startReplicas(RedisOptions options, Collection<HostAndPort> nodes) {
+        if (options.getReadFrom() != RedisOptions.ReadFrom.REPLICA) {
+            return;
+        }
+        if (nodes.isEmpty()) {
+            log.warn("{} 已开启从节点读取但没有可用的从节点，只读命令仍发往主节点", LOG_PREFIX);
+            return;
+        }
+        replicaRouter = new ReplicaRouter(nodes,
+            applyPoolOptions(new JedisPoolConfig(), options),
+            createClientConfig(options, options.getDatabase()),
+            options.getReplicaSelection(), this::instrument);
+        log.info("{} 从节点读取已开启（{}）: {}", LOG_PREFIX, options.getReplicaSelection(), nodes);
+    }
+
+    /**
+     * Sentinel 模式下从节点可以手动配置，未配置时向 Sentinel 查询
+     */
+    private static Collection<HostAndPort> sentinelReplicas(RedisOptions options,
+                                                           SentinelMonitor monitor) {
+        if (options.getReadFrom() != RedisOptions.ReadFrom.REPLICA) {
+            return List.of();
+        }
+        if (!options.getReplicaNodes().isEmpty()) {
+            return RedisOptions.parseNodes(options.getReplicaNodes());
+        }
+        return monitor.resolveReplicas();
+    }
+
+    /**
+     * 创建指向 options 中地址的连接池并测试连接
+     */
+    private JedisPool createPool(RedisOptions options) {
+        JedisPool pool = new JedisPool(applyPoolOptions(new JedisPoolConfig(), options),
+            new HostAndPort(options.getHost(), options.getPort()),
+            createClientConfig(options, options.getDatabase()));
+        try (Jedis jedis = pool.getResource()) {
+            jedis.ping();
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+        return pool;
+    }
+
+    /**
+     * 初始化 Sentinel 模式：向 Sentinel 查询主节点后按单机方式连接，并订阅主从切换事件。
+     * 首次查询或连接失败时仍保持订阅并定时重新查询，Sentinel 或主节点恢复后自动连上
+     */
+    private void doInitializeSentinel(RedisOptions options) {
+        SentinelMonitor monitor = new SentinelMonitor(options, this::onMasterSwitch);
+        try {
+            HostAndPort master = monitor.resolveMaster();
+            options.setHost(master.getHost());
+            options.setPort(master.getPort());
+            log.info("{} Sentinel 主节点 {} 位于 {}", LOG_PREFIX,
+                options.getSentinelMasterName(), master);
+            connectSentinelMaster(options, monitor);
+        } catch (Exception e) {
+            log.error("{} Sentinel 查询主节点失败，{} 秒后重新查询: {}", LOG_PREFIX,
+                SENTINEL_RETRY_DELAY.toSeconds(), e.getMessage());
+            available = false;
+        }
+        mode = RedisOptions.Mode.SENTINEL;
+        sentinelOptions = options;
+        sentinelMonitor = monitor;
+        monitor.start();
+        if (!available) {
+            Mono.delay(SENTINEL_RETRY_DELAY).subscribe(tick -> monitor.recheck());
+        }
+    }
+
+    /**
+     * 连接 Sentinel 返回的主节点，失败时只标记不可用，由调用方安排重新查询
+     */
+    private void connectSentinelMaster(RedisOptions options, SentinelMonitor monitor) {
+        try {
+            JedisPool pool = createPool(options);
+            jedisPool = pool;
+            engine = createEngine(options, pool);
+            available = true;
+            log.info("{} Redis 连接成功，引擎: {}", LOG_PREFIX, getEngineName());
+            if (options.isNearCache()) {
+                startNearCache(options);
+            }
+            startReplicas(options, sentinelReplicas(options, monitor));
+            startPubSub(options);
+        } catch (Exception e) {
+            log.error("{} Redis 主节点连接失败: {}", LOG_PREFIX, e.getMessage());
+            available = false;
+        }
+    }
+
+    /**
+     * 主从切换回调，切换涉及阻塞的连接测试，转到 boundedElastic 线程执行
+     */
+    private void onMasterSwitch(HostAndPort master) {
+        Mono.fromRunnable(() -> switchMaster(master))
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe();
+    }
+
+    /**
+     * 切换到新的主节点：先建好新的连接池和引擎，再原子替换引用。
+     * 旧引擎和连接池延迟一个命令超时后关闭，已借出连接上的在途命令可以正常结束
+     */
+    private synchronized void switchMaster(HostAndPort master) {
+        RedisOptions options = sentinelOptions;
+        SentinelMonitor monitor = sentinelMonitor;
+        if (options == null || monitor == null) {
+            return;
+        }
+        if (available && master.getHost().equals(options.getHost())
+            && master.getPort() == options.getPort()) {
+            return;
+        }
+        log.warn("{} 切换 Redis 主节点: {}:{} -> {}", LOG_PREFIX, options.getHost(),
+            options.getPort(), master);
+
+        // 新主节点的失效通知需要重新建立，先停用近端缓存
+        InvalidationTracker tracker = invalidationTracker;
+        if (tracker != null) {
+            invalidationTracker = null;
+            nearCache = null;
+            tracker.stop();
+        }
+
+        String previousHost = options.getHost();
+        int previousPort = options.getPort();
+        options.setHost(master.getHost());
+        options.setPort(master.getPort());
+        JedisPool oldPool = jedisPool;
+        RedisEngine oldEngine = engine;
+        try {
+            JedisPool pool = createPool(options);
+            RedisEngine newEngine = createEngine(options, pool);
+            jedisPool = pool;
+            engine = newEngine;
+            available = true;
+            log.info("{} 主节点切换完成，引擎: {}", LOG_PREFIX, newEngine.name());
+        } catch (Exception e) {
+            log.error("{} 连接新主节点 {} 失败，{} 秒后重新查询: {}", LOG_PREFIX, master,
+                SENTINEL_RETRY_DELAY.toSeconds(), e.getMessage());
+            options.setHost(previousHost);
+            options.setPort(previousPort);
+            // 重新向 Sentinel 查询，而不是重试这个地址，避免覆盖期间发生的新一轮切换
+            Mono.delay(SENTINEL_RETRY_DELAY).subscribe(tick -> monitor.recheck());
+            return;
+        }
+        if (options.isNearCache()) {
+            startNearCache(options);
+        }
+        // 原主节点可能已降为从节点，按新的拓扑重建从节点路由
+        ReplicaRouter oldRouter = replicaRouter;
+        replicaRouter = null;
+        startReplicas(options, sentinelReplicas(options, monitor));
+        startPubSub(options);
+        Duration grace = Duration.ofMillis(options.getSocketTimeoutMillis());
+        retire(oldEngine, oldPool, grace);
+        if (oldRouter != null) {
+            Mono.delay(grace).subscribe(tick -> oldRouter.close());
+        }
+    }
+
+    /**
+     * 延迟关闭被替换的引擎和连接池
+     */
+    private static void retire(@Nullable RedisEngine oldEngine, @Nullable JedisPool oldPool,
+                               Duration grace) {
+        Mono.delay(grace).subscribe(tick -> {
+            try {
+                if (oldEngine != null) {
+                    oldEngine.close();
+                }
+                if (oldPool != null) {
+                    oldPool.close();
+                }
+            } catch (Exception e) {
+                log.warn("{} 关闭旧连接失败: {}", LOG_PREFIX, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 初始化 Redis Cluster：由种子节点发现拓扑，每个节点各自维护一个连接池
+     */
+    private void doInitializeCluster(RedisOptions options) {
+        if (options.getDatabase() != 0) {
+            log.warn("{} Redis Cluster 只支持 0 号数据库，已忽略数据库配置 {}", LOG_PREFIX,
+                options.getDatabase());
+        }
+        if (options.getEngine() == RedisOptions.Engine.NETTY || options.isAutoPipelining()) {
+            log.warn("{} 集群模式暂不支持 Netty 引擎与自动流水线，使用集群引擎", LOG_PREFIX);
+        }
+        // 连接成功前失败时需关闭已建立的各节点连接池，否则每次重连都会泄漏
+        ClusterConnectionProvider provider = null;
+        ClusterEngine clusterEngine = null;
+        boolean installed = false;
+        try {
+            // 构造时即拉取槽位分布，种子节点全部不可达时抛出异常
+            provider = new ClusterConnectionProvider(
+                clusterSeeds(options), createClientConfig(options, 0),
+                applyPoolOptions(new ConnectionPoolConfig(), options));
+            JedisCluster cluster = new JedisCluster(provider,
+                Math.max(1, options.getClusterMaxAttempts()),
+                Duration.ofMillis((long) options.getSocketTimeoutMillis()
+                    * Math.max(1, options.getClusterMaxAttempts())));
+            clusterEngine = new ClusterEngine(provider, cluster);
+
+            CommandObjects clusterCommands = new ClusterCommandObjects();
+            clusterEngine.execute(clusterCommands.ping()).toFuture()
+                .get(options.getSocketTimeoutMillis(), TimeUnit.MILLISECONDS);
+
+            commands = clusterCommands;
+            mode = RedisOptions.Mode.CLUSTER;
+            engine = instrumentPrimary(clusterEngine);
+            available = true;
+            installed = true;
+            log.info("{} Redis Cluster 连接成功，节点数: {}", LOG_PREFIX,
+                clusterEngine.nodeCount());
+            // PUBLISH 在集群内广播，订阅任一主节点即可收到全部消息
+            List<HostAndPort> masters = clusterEngine.masters();
+            if (!masters.isEmpty()) {
+                startPubSub(nodeOptions(options, masters.get(0)));
+            }
+            if (options.isNearCache()) {
+                log.warn("{} 集群模式暂不支持近端缓存，已忽略该配置", LOG_PREFIX);
+            }
+            if (options.getReadFrom() == RedisOptions.ReadFrom.REPLICA) {
+                log.warn("{} 集群模式暂不支持从节点读取，只读命令发往各分片主节点", LOG_PREFIX);
+            }
+        } catch (Exception e) {
+            log.error("{} Redis Cluster 连接失败: {}", LOG_PREFIX, e.getMessage());
+            available = false;
+            if (installed) {
+                return;
+            }
+            if (clusterEngine != null) {
+                clusterEngine.close();
+            } else if (provider != null) {
+                provider.close();
+            }
+        }
+    }
+
+    private static Set<HostAndPort> clusterSeeds(RedisOptions options) {
+        if (options.getClusterNodes().isEmpty()) {
+            return Set.of(new HostAndPort(options.getHost(), options.getPort()));
+        }
+        return RedisOptions.parseNodes(options.getClusterNodes());
+    }
+
+    /**
+     * 按配置创建客户端参数（超时、认证、数据库）
+     */
+    private static JedisClientConfig createClientConfig(RedisOptions options, int database) {
+        DefaultJedisClientConfig.Builder configBuilder = DefaultJedisClientConfig.builder()
+            .connectionTimeoutMillis(options.getConnectTimeoutMillis())
+            .socketTimeoutMillis(options.getSocketTimeoutMillis())
+            .database(database);
+
+        // Redis 6+ ACL 需要用户名
+        String password = options.getPassword();
+        if (password != null && !password.isEmpty()) {
+            configBuilder.user("default");
+            configBuilder.password(password);
+        }
+        return configBuilder.build();
+    }
+
+    /**
+     * 按配置设置连接池参数
+     */
+    private static <P extends GenericObjectPoolConfig<?>> P applyPoolOptions(P poolConfig,
+                                                                            RedisOptions options) {
+        int maxTotal = Math.max(1, options.getPoolMaxTotal());
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(Math.min(Math.max(0, options.getPoolMaxIdle()), maxTotal));
+        poolConfig.setMinIdle(Math.min(Math.max(0, options.getPoolMinIdle()),
+            poolConfig.getMaxIdle()));
+        poolConfig.setMaxWait(Duration.ofMillis(options.getPoolMaxWaitMillis()));
+        poolConfig.setBlockWhenExhausted(true);
+
+        switch (options.getPoolValidation()) {
+            case BORROW -> {
+                poolConfig.setTestOnBorrow(true);
+                poolConfig.setTestWhileIdle(false);
+            }
+            case IDLE -> {
+                poolConfig.setTestOnBorrow(false);
+                poolConfig.setTestWhileIdle(true);
+                poolConfig.setTimeBetweenEvictionRuns(
+                    Duration.ofSeconds(Math.max(1, options.getPoolEvictionIntervalSeconds())));
+            }
+            case NONE -> {
+                poolConfig.setTestOnBorrow(false);
+                poolConfig.setTestWhileIdle(false);
+            }
+        }
+        return poolConfig;
+    }
+
+    /**
+     * 将共享订阅连接切换到当前节点并恢复已有订阅
+     */
+    private void startPubSub(RedisOptions options) {
+        database = options.getDatabase();
+        pubSubHub.connectTo(options);
+    }
+
+    /**
+     * 指向集群中某个节点的连接选项
+     */
+    private static RedisOptions nodeOptions(RedisOptions options, HostAndPort node) {
+        RedisOptions nodeOptions = new RedisOptions();
+        nodeOptions.setHost(node.getHost());
+        nodeOptions.setPort(node.getPort());
+        nodeOptions.setPassword(options.getPassword());
+        nodeOptions.setDatabase(0);
+        nodeOptions.setConnectTimeoutMillis(options.getConnectTimeoutMillis());
+        nodeOptions.setSocketTimeoutMillis(options.getSocketTimeoutMillis());
+        return nodeOptions;
+    }
+
+    /**
+     * 启用近端缓存，失效通知通道建立后缓存才开始生效
+     */
+    private void startNearCache(RedisOptions options) {
+        NearCache cache = new NearCache(options.getNearCacheMaxSize(),
+            TimeUnit.SECONDS.toMillis(options.getNearCacheTtlSeconds()),
+            options.getNearCachePrefixes());
+        InvalidationTracker tracker = new InvalidationTracker(options, cache,
+            options.getNearCachePrefixes());
+        nearCache = cache;
+        invalidationTracker = tracker;
+        tracker.start();
+    }
+
+    /**
+     * 取出被指标与熔断器包装的集群引擎，非集群模式返回 null
+     */
+    @Nullable
+    private static ClusterEngine clusterOf(@Nullable RedisEngine engine) {
+        RedisEngine target = engine;
+        while (true) {
+            if (target instanceof MeteredEngine metered) {
+                target = metered.delegate();
+            } else if (target instanceof CircuitBreakerEngine guarded) {
+                target = guarded.delegate();
+            } else {
+                break;
+            }
+        }
+        return target instanceof ClusterEngine cluster ? cluster : null;
+    }
+
+    /**
+     * 按配置创建执行引擎，Netty 引擎不可用时回退到 Jedis 引擎。
+     * 开启自动流水线时，Netty 引擎合并同一轮事件循环的写入，Jedis 引擎合并并发命令批量发送
+     */
+    private RedisEngine createEngine(RedisOptions options, JedisPool pool) {
+        return instrumentPrimary(routeDatabases(options, createBaseEngine(options, pool)));
+    }
+
+    private RedisEngine createBaseEngine(RedisOptions options, JedisPool pool) {
+        if (options.getEngine() == RedisOptions.Engine.NETTY) {
+            NettyEngine nettyEngine = new NettyEngine(options);
+            try {
+                // 使用 Future 等待，避免在 Reactor 非阻塞线程上调用 block()
+                nettyEngine.execute(commands.ping()).toFuture().get(10, TimeUnit.SECONDS);
+                return nettyEngine;
+            } catch (Exception e) {
+                log.warn("{} Netty 引擎连接失败，回退到 Jedis 引擎: {}", LOG_PREFIX, e.getMessage());
+                nettyEngine.close();
+            }
+        }
+        if (options.isAutoPipelining()) {
+            return new PipelinedJedisEngine(pool, AUTO_PIPELINE_CONNECTIONS);
+        }
+        return new JedisEngine(pool);
+    }
+
+    /**
+     * 为映射了专属数据库的插件各建一个连接池，按调用链的 Context 路由。
+     * 这些连接池不保留空闲连接，只在插件使用时建立连接
+     */
+    private RedisEngine routeDatabases(RedisOptions options, RedisEngine primary) {
+        Map<Integer, RedisEngine> engines = new HashMap<>();
+        List<JedisPool> pools = new ArrayList<>();
+        for (int db : new HashSet<>(pluginDatabases.values())) {
+            if (db == options.getDatabase()) {
+                continue;
+            }
+            JedisPoolConfig poolConfig = applyPoolOptions(new JedisPoolConfig(), options);
+            poolConfig.setMinIdle(0);
+            JedisPool pool = new JedisPool(poolConfig,
+                new HostAndPort(options.getHost(), options.getPort()),
+                createClientConfig(options, db));
+            pools.add(pool);
+            engines.put(db, new JedisEngine(pool));
+        }
+        if (engines.isEmpty()) {
+            return primary;
+        }
+        log.info("{} 插件专属数据库: {}", LOG_PREFIX, pluginDatabases);
+        return new DatabaseRoutingEngine(primary, engines, () -> pools.forEach(JedisPool::close));
+    }
+
+    /**
+     * 为引擎加上指标记录与插件配额
+     */
+    private RedisEngine instrument(RedisEngine target) {
+        return new MeteredEngine(target, metrics, quotas);
+    }
+
+    /**
+     * 为主引擎加上熔断器，再加上指标记录与插件配额
+     */
+    private RedisEngine instrumentPrimary(RedisEngine target) {
+        return instrument(new CircuitBreakerEngine(target, breaker));
+    }
 
-    public RedisClientImpl(Environment environment) {
-        this.environment = environment;
+    /**
+     * 按配置更新插件配额。只有独占连接的 Jedis 引擎需要在全部插件之间分配连接池，
+     * 此时合计并发不超过连接池大小；自动流水线、Netty 与集群引擎的并发不受连接数限制，
+     * 开启从节点读取后部分命令使用从节点的连接池，这些情况下只限制单个插件
+     */
+    private void configureQuotas(RedisOptions options) {
+        boolean pooled = options.getMode() != RedisOptions.Mode.CLUSTER
+            && options.getEngine() == RedisOptions.Engine.JEDIS
+            && !options.isAutoPipelining()
+            && options.getReadFrom() != RedisOptions.ReadFrom.REPLICA;
+        quotas.configure(pooled ? options.getPoolMaxTotal() : 0,
+            options.getPluginMaxConcurrency(), options.getPluginMaxOpsPerSecond(),
+            Duration.ofMillis(options.getPoolMaxWaitMillis()));
     }
 
-    @Override
-    public boolean isAvailable() {
-        return available && jedisPool != null;
+    /**
+     * 通过当前引擎执行 Redis 命令
+     *
+     * @param command      命令
+     * @param defaultValue 失败时的默认值
+     * @return Mono 包装的结果
+     */
+    private <T> Mono<T> execute(CommandObject<T> command, T defaultValue) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            metrics.fallback(command, null);
+            return Mono.justOrEmpty(defaultValue);
+        }
+        return current.execute(command)
+            .onErrorResume(e -> {
+                logFailure("Redis 操作失败", e);
+                metrics.fallback(command, e);
+                return Mono.justOrEmpty(defaultValue);
+            });
     }
 
     /**
-     * 使用 Halo 环境配置初始化 Redis 连接
+     * 记录降级原因。熔断期间每条命令都会快速失败，打开时已记录一次，不再逐条记录
      */
-    public void initialize() {
-        if (jedisPool != null) {
-            return;
+    private static void logFailure(String message, Throwable e) {
+        if (!(e instanceof CircuitOpenException)) {
+            log.error("{} {}: {}", LOG_PREFIX, message, e.getMessage());
         }
+    }
 
-        synchronized (this) {
-            if (jedisPool != null) {
-                return;
-            }
+    /**
+     * 执行只读命令：开启从节点读取时发往从节点，从节点出错时改读主节点
+     */
+    private <T> Mono<T> read(CommandObject<T> command, T defaultValue) {
+        return routeRead(replica -> replica.execute(command),
+            () -> execute(command, defaultValue));
+    }
 
-            String haloRedisEnabled = environment.getProperty("halo.redis.enabled", "false");
-            if (!"true".equalsIgnoreCase(haloRedisEnabled)) {
-                log.info("{} Halo 未启用 Redis", LOG_PREFIX);
-                return;
+    /**
+     * 以流水线方式执行一批只读命令，路由规则同 {@link #read}
+     */
+    private <T> Mono<List<T>> readAll(List<CommandObject<T>> batch, List<T> defaultValue) {
+        return routeRead(
+            replica -> replica.executeAll(batch).flatMap(RedisClientImpl::<T>allSucceeded),
+            () -> executeAll(batch, defaultValue));
+    }
+
+    private <T> Mono<T> routeRead(Function<RedisEngine, Mono<T>> onReplica,
+                                  Supplier<Mono<T>> onPrimary) {
+        ReplicaRouter router = replicaRouter;
+        if (router == null || !isAvailable()) {
+            return onPrimary.get();
+        }
+        return Mono.deferContextual(context -> {
+            RedisEngine replica = RedisReadPreference.isPrimary(context)
+                || DatabaseRoutingEngine.isRouted(context) ? null : router.select();
+            if (replica == null) {
+                return onPrimary.get();
             }
+            return onReplica.apply(replica)
+                .onErrorResume(e -> {
+                    log.warn("{} 从节点读取失败，改为读取主节点: {}", LOG_PREFIX, e.getMessage());
+                    return onPrimary.get();
+                });
+        });
+    }
+
+    /**
+     * 带近端缓存的读取：命中时直接返回，未命中时读取，并在期间键未被修改的前提下写入缓存。
+     * 从节点存在复制延迟，填充缓存的读取总是发往主节点，避免把旧值写入缓存
+     *
+     * @param key          Redis 键
+     * @param signature    读取操作签名，同一键的不同读取方式互不覆盖
+     * @param command      命令
+     * @param defaultValue 失败时的默认值
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cached(String key, String signature, CommandObject<T> command,
+                               T defaultValue) {
+        NearCache cache = nearCache;
+        RedisEngine current = engine;
+        if (cache == null || !cache.isActive() || !cache.accepts(key)
+            || !isAvailable() || current == null) {
+            return read(command, defaultValue);
+        }
+        Object hit = cache.get(key, signature);
+        if (hit != NearCache.MISS) {
+            return Mono.justOrEmpty((T) hit);
+        }
+        long version = cache.version(key);
+        return current.execute(command)
+            .doOnSuccess(value -> cache.put(key, signature, value, version))
+            .onErrorResume(e -> {
+                logFailure("Redis 操作失败", e);
+                metrics.fallback(command, e);
+                return Mono.justOrEmpty(defaultValue);
+            });
+    }
+
+    /**
+     * 执行写命令，执行前后都使本地近端缓存中的相关键失效，保证本节点读己之写。
+     * 其他节点的缓存由服务端失效通知清理
+     */
+    private <T> Mono<T> write(CommandObject<T> command, T defaultValue, String... keys) {
+        return invalidating(() -> execute(command, defaultValue), keys);
+    }
 
-            String host = environment.getProperty("spring.data.redis.host", "localhost");
-            int port = Integer.parseInt(environment.getProperty("spring.data.redis.port", "6379"));
-            String password = environment.getProperty("spring.data.redis.password", "");
-            int database = Integer.parseInt(environment.getProperty("spring.data.redis.database", "0"));
+    private <T> Mono<T> invalidating(Supplier<Mono<T>> operation, String... keys) {
+        NearCache cache = nearCache;
+        if (cache == null) {
+            return operation.get();
+        }
+        return Mono.defer(() -> {
+            invalidate(cache, List.of(keys));
+            return operation.get();
+        }).doOnSuccess(value -> invalidate(cache, List.of(keys)));
+    }
 
-            log.info("{} 正在连接 Redis: {}:{}/{}", LOG_PREFIX, host, port, database);
-            doInitialize(host, port, password, database);
+    private static void invalidate(NearCache cache, Collection<String> keys) {
+        for (String key : keys) {
+            cache.invalidate(key);
         }
     }
 
     /**
-     * 使用自定义配置初始化 Redis 连接（插件配置）
+     * 通过当前引擎以流水线方式批量执行同类型命令
      *
-     * @param host     主机地址
-     * @param port     端口
-     * @param password 密码
-     * @param database 数据库索引
+     * @param batch        命令列表
+     * @param defaultValue 失败时的默认值
+     * @return 与命令顺序一致的结果列表，任一命令出错时返回默认值
      */
-    public void initializeWithConfig(String host, int port, String password, int database) {
-        synchronized (this) {
-            if (jedisPool != null) {
-                shutdown();
-            }
-            log.info("{} 正在连接 Redis（插件配置）: {}:{}/{}", LOG_PREFIX, host, port, database);
-            doInitialize(host, port, password, database);
+    private <T> Mono<List<T>> executeAll(List<CommandObject<T>> batch, List<T> defaultValue) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            metrics.fallback(null, null);
+            return Mono.just(defaultValue);
         }
+        return current.executeAll(batch)
+            .flatMap(RedisClientImpl::<T>allSucceeded)
+            .onErrorResume(e -> {
+                logFailure("Redis 批量操作失败", e);
+                metrics.fallback(null, e);
+                return Mono.just(defaultValue);
+            });
     }
 
     /**
-     * 关闭 Redis 连接
+     * 批量结果中任一元素为异常时整体失败
      */
-    public void shutdown() {
-        if (jedisPool != null) {
-            try {
-                jedisPool.close();
-                log.info("{} Redis 连接已关闭", LOG_PREFIX);
-            } catch (Exception e) {
-                log.error("{} 关闭 Redis 连接失败: {}", LOG_PREFIX, e.getMessage());
-            } finally {
-                jedisPool = null;
-                available = false;
+    @SuppressWarnings("unchecked")
+    private static <T> Mono<List<T>> allSucceeded(List<Object> results) {
+        for (Object result : results) {
+            if (result instanceof Exception e) {
+                return Mono.error(e);
             }
         }
+        return Mono.just((List<T>) (List<?>) results);
     }
 
     /**
-     * 执行 Jedis 连接池初始化
+     * 按哈希槽对键分组：非集群模式下只有一组；集群模式下同一槽的键为一组，组内保持原有顺序
      */
-    private void doInitialize(String host, int port, String password, int database) {
-        try {
-            JedisPoolConfig poolConfig = new JedisPoolConfig();
-            poolConfig.setMaxTotal(10);
-            poolConfig.setMaxIdle(5);
-            poolConfig.setMinIdle(1);
-            poolConfig.setTestOnBorrow(true);
-
-            DefaultJedisClientConfig.Builder configBuilder = DefaultJedisClientConfig.builder()
-                .connectionTimeoutMillis(10000)
-                .socketTimeoutMillis(5000)
-                .database(database);
-
-            // Redis 6+ ACL 需要用户名
-            if (password != null && !password.isEmpty()) {
-                configBuilder.user("default");
-                configBuilder.password(password);
-            }
-
-            jedisPool = new JedisPool(poolConfig, new HostAndPort(host, port), configBuilder.build());
+    private List<List<String>> groupBySlot(Collection<String> keys) {
+        if (mode != RedisOptions.Mode.CLUSTER) {
+            return List.of(List.copyOf(keys));
+        }
+        Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            groups.computeIfAbsent(JedisClusterCRC16.getSlot(key), slot -> new ArrayList<>())
+                .add(key);
+        }
+        return new ArrayList<>(groups.values());
+    }
 
-            // 测试连接
-            try (Jedis jedis = jedisPool.getResource()) {
-                jedis.ping();
-                available = true;
-                log.info("{} Redis 连接成功", LOG_PREFIX);
-            }
-        } catch (Exception e) {
-            log.error("{} Redis 连接失败: {}", LOG_PREFIX, e.getMessage());
-            available = false;
+    /**
+     * 每个槽分组构建一条多键命令，交给引擎并行发往各分片
+     *
+     * @return 与分组顺序一致的结果，任一分组失败时为空列表
+     */
+    private <T> Mono<List<T>> executePerSlot(List<List<String>> groups,
+                                             Function<String[], CommandObject<T>> factory) {
+        List<CommandObject<T>> batch = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            batch.add(factory.apply(group.toArray(String[]::new)));
         }
+        return executeAll(batch, List.of());
     }
 
     /**
-     * 在 boundedElastic 调度器上执行 Redis 操作
+     * 执行流水线构建器登记的命令，单条命令的错误保留在结果列表中
      *
-     * @param callable     操作
-     * @param defaultValue 失败时的默认值
-     * @return Mono 包装的结果
+     * @param batch       命令列表
+     * @param writtenKeys 写命令涉及的键，用于使近端缓存失效
      */
-    private <T> Mono<T> execute(Callable<T> callable, T defaultValue) {
-        if (!isAvailable()) {
+    private Mono<List<Object>> executePipeline(List<CommandObject<?>> batch,
+                                               Set<String> writtenKeys) {
+        RedisEngine current = engine;
+        List<Object> defaultValue = Collections.nCopies(batch.size(), null);
+        if (!isAvailable() || current == null) {
+            metrics.fallback(null, null);
             return Mono.just(defaultValue);
         }
-        return Mono.fromCallable(callable)
-            .subscribeOn(Schedulers.boundedElastic())
+        NearCache cache = nearCache;
+        return Mono.defer(() -> {
+                if (cache != null) {
+                    invalidate(cache, writtenKeys);
+                }
+                return current.executeAll(batch);
+            })
+            .doOnSuccess(results -> {
+                if (cache != null) {
+                    invalidate(cache, writtenKeys);
+                }
+            })
             .onErrorResume(e -> {
-                log.error("{} Redis 操作失败: {}", LOG_PREFIX, e.getMessage());
+                logFailure("Redis 流水线执行失败", e);
+                metrics.fallback(null, e);
                 return Mono.just(defaultValue);
             });
     }
 
-    /**
-     * 执行 Jedis 操作的模板方法
-     */
-    private <T> T doWithJedis(java.util.function.Function<Jedis, T> action) {
-        try (Jedis jedis = jedisPool.getResource()) {
-            return action.apply(jedis);
+    @Override
+    public RedisPipeline pipeline() {
+        return new RedisPipelineImpl(commands, this::executePipeline);
+    }
+
+    @Override
+    public RedisPluginClient forPlugin(String pluginId) {
+        if (pluginId == null || pluginId.isBlank()) {
+            throw new IllegalArgumentException("插件 ID 不能为空");
         }
+        return pluginClients.computeIfAbsent(pluginId,
+            id -> new PluginScopedClient(this, id));
+    }
+
+    @Override
+    public Mono<Long> publish(String channel, String message) {
+        return execute(commands.publish(channel, message), 0L);
+    }
+
+    @Override
+    public Flux<RedisMessage> subscribe(String... channels) {
+        return pubSubHub.subscribe(Arrays.asList(channels));
+    }
+
+    @Override
+    public Flux<RedisMessage> psubscribe(String... patterns) {
+        return pubSubHub.psubscribe(Arrays.asList(patterns));
+    }
+
+    @Override
+    public Flux<RedisMessage> keyspaceEvents(String keyPattern) {
+        return Flux.defer(() -> pubSubHub.psubscribe(
+            List.of("__keyspace@" + database + "__:" + keyPattern)));
+    }
+
+    @Override
+    public RedisScript script(String lua) {
+        return scriptRegistry.get(lua);
+    }
+
+    @Override
+    public RedisLock lock() {
+        return redisLock;
+    }
+
+    @Override
+    public RedisRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public RedisStreams streams() {
+        return streams;
     }
 
     @Override
     public Mono<String> set(String key, String value) {
-        return execute(() -> doWithJedis(jedis -> jedis.set(key, value)), null);
+        return write(commands.set(key, value), null, key);
     }
 
     @Override
     public Mono<String> setEx(String key, String value, long seconds) {
-        return execute(() -> doWithJedis(jedis -> jedis.setex(key, seconds, value)), null);
+        return write(commands.setex(key, seconds, value), null, key);
     }
 
     @Override
     public Mono<String> get(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.get(key)), null);
+        return cached(key, "GET\0" + key, commands.get(key), null);
+    }
+
+    @Override
+    public <T> Mono<String> setObject(String key, T value, long seconds) {
+        return setObject(key, value, seconds, RedisCodecs.json());
+    }
+
+    @Override
+    public <T> Mono<String> setObject(String key, T value, long seconds, RedisCodec codec) {
+        return Mono.fromCallable(() -> codec.encode(value))
+            .flatMap(data -> seconds > 0 ? setBytes(key, data, seconds) : setBytes(key, data));
+    }
+
+    @Override
+    public <T> Mono<T> getObject(String key, Class<T> type) {
+        return getObject(key, type, RedisCodecs.json());
+    }
+
+    @Override
+    public <T> Mono<T> getObject(String key, Class<T> type, RedisCodec codec) {
+        return getShared(key)
+            .flatMap(data -> {
+                try {
+                    return Mono.justOrEmpty(codec.decode(data, type));
+                } catch (RuntimeException e) {
+                    log.warn("{} 键 {} 无法解码为 {}: {}", LOG_PREFIX, key, type.getSimpleName(),
+                        e.getMessage());
+                    return Mono.empty();
+                }
+            });
+    }
+
+    @Override
+    public Mono<String> getOrLoad(String key, long seconds, Mono<String> loader) {
+        return getOrLoad(key, seconds, loader, CacheLoadOptions.defaults());
+    }
+
+    @Override
+    public Mono<String> getOrLoad(String key, long seconds, Mono<String> loader,
+                                  CacheLoadOptions options) {
+        return cacheAsideLoader.getOrLoad(key, seconds, loader, options);
+    }
+
+    @Override
+    public Mono<String> setBytes(String key, byte[] value) {
+        return write(commands.set(SafeEncoder.encode(key), value), null, key);
+    }
+
+    @Override
+    public Mono<String> setBytes(String key, byte[] value, long seconds) {
+        return write(commands.setex(SafeEncoder.encode(key), seconds, value), null, key);
+    }
+
+    @Override
+    public Mono<byte[]> getBytes(String key) {
+        // 不经过近端缓存，避免调用方修改缓存中共享的数组
+        return read(commands.get(SafeEncoder.encode(key)), null);
+    }
+
+    @Override
+    public Mono<ByteBuffer> getBuffer(String key) {
+        return getShared(key).map(data -> ByteBuffer.wrap(data).asReadOnlyBuffer());
+    }
+
+    /**
+     * 读取二进制值，结果可能来自近端缓存并被多次读取共享，调用方不得修改
+     */
+    private Mono<byte[]> getShared(String key) {
+        return cached(key, "GET:BYTES\0" + key, commands.get(SafeEncoder.encode(key)), null);
     }
 
     @Override
     public Mono<Long> del(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.del(key)), 0L);
+        return write(commands.del(key), 0L, key);
+    }
+
+    @Override
+    public Mono<Long> del(String... keys) {
+        if (keys.length == 0) {
+            return Mono.just(0L);
+        }
+        List<List<String>> groups = groupBySlot(Arrays.asList(keys));
+        if (groups.size() == 1) {
+            return write(commands.del(keys), 0L, keys);
+        }
+        return invalidating(() -> executePerSlot(groups, commands::del)
+            .map(RedisClientImpl::sum), keys);
+    }
+
+    /**
+     * 批量删除键（UNLINK），内存在服务端后台释放，Cluster 模式下按哈希槽拆分
+     *
+     * @param keys 键
+     * @return 删除的键数量
+     */
+    public Mono<Long> unlink(String... keys) {
+        if (keys.length == 0) {
+            return Mono.just(0L);
+        }
+        List<List<String>> groups = groupBySlot(Arrays.asList(keys));
+        if (groups.size() == 1) {
+            return write(commands.unlink(keys), 0L, keys);
+        }
+        return invalidating(() -> executePerSlot(groups, commands::unlink)
+            .map(RedisClientImpl::sum), keys);
+    }
+
+    @Override
+    public Mono<List<String>> mget(String... keys) {
+        if (keys.length == 0) {
+            return Mono.just(List.of());
+        }
+        List<String> defaultValue = Collections.nCopies(keys.length, null);
+        List<List<String>> groups = groupBySlot(Arrays.asList(keys));
+        if (groups.size() == 1) {
+            return read(commands.mget(keys), defaultValue);
+        }
+        return executePerSlot(groups, commands::mget)
+            .map(results -> {
+                if (results.isEmpty()) {
+                    return defaultValue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < groups.size(); i++) {
+                    List<String> group = groups.get(i);
+                    List<String> groupValues = results.get(i);
+                    for (int j = 0; j < group.size(); j++) {
+                        values.put(group.get(j), groupValues.get(j));
+                    }
+                }
+                List<String> ordered = new ArrayList<>(keys.length);
+                for (String key : keys) {
+                    ordered.add(values.get(key));
+                }
+                return ordered;
+            });
+    }
+
+    @Override
+    public Mono<String> mset(Map<String, String> keyValues) {
+        if (keyValues.isEmpty()) {
+            return Mono.just("OK");
+        }
+        String[] keys = keyValues.keySet().toArray(String[]::new);
+        Function<String[], CommandObject<String>> msetOf = groupKeys -> {
+            String[] flattened = new String[groupKeys.length * 2];
+            int i = 0;
+            for (String key : groupKeys) {
+                flattened[i++] = key;
+                flattened[i++] = keyValues.get(key);
+            }
+            return commands.mset(flattened);
+        };
+        List<List<String>> groups = groupBySlot(keyValues.keySet());
+        if (groups.size() == 1) {
+            return write(msetOf.apply(keys), null, keys);
+        }
+        // 跨槽的 MSET 拆分后不再具备原子性
+        return invalidating(() -> executePerSlot(groups, msetOf)
+            .flatMap(results -> results.isEmpty() ? Mono.<String>empty() : Mono.just("OK")),
+            keys);
     }
 
     @Override
     public Mono<Long> incr(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.incr(key)), -1L);
+        return write(commands.incr(key), -1L, key);
     }
 
     @Override
     public Mono<Long> incrBy(String key, long increment) {
-        return execute(() -> doWithJedis(jedis -> jedis.incrBy(key, increment)), -1L);
+        return write(commands.incrBy(key, increment), -1L, key);
     }
 
     @Override
     public Mono<Long> hset(String key, String field, String value) {
-        return execute(() -> doWithJedis(jedis -> jedis.hset(key, field, value)), 0L);
+        return write(commands.hset(key, field, value), 0L, key);
     }
 
     @Override
     public Mono<String> hget(String key, String field) {
-        return execute(() -> doWithJedis(jedis -> jedis.hget(key, field)), null);
+        return cached(key, "HGET\0" + key + "\0" + field, commands.hget(key, field), null);
+    }
+
+    @Override
+    public Mono<Long> hsetBytes(String key, String field, byte[] value) {
+        return write(commands.hset(SafeEncoder.encode(key), SafeEncoder.encode(field), value),
+            0L, key);
+    }
+
+    @Override
+    public Mono<byte[]> hgetBytes(String key, String field) {
+        return read(commands.hget(SafeEncoder.encode(key), SafeEncoder.encode(field)), null);
+    }
+
+    @Override
+    public Mono<List<String>> hmget(String key, String... fields) {
+        if (fields.length == 0) {
+            return Mono.just(List.of());
+        }
+        return read(commands.hmget(key, fields), Collections.nCopies(fields.length, null));
     }
 
     @Override
     public Mono<Map<String, String>> hgetAll(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.hgetAll(key)), Collections.emptyMap());
+        return cached(key, "HGETALL\0" + key, commands.hgetAll(key),
+            Collections.emptyMap());
     }
 
     @Override
     public Mono<Long> sadd(String key, String... members) {
-        return execute(() -> doWithJedis(jedis -> jedis.sadd(key, members)), 0L);
+        return write(commands.sadd(key, members), 0L, key);
     }
 
     @Override
     public Mono<Set<String>> smembers(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.smembers(key)), Collections.emptySet());
+        return read(commands.smembers(key), Collections.emptySet());
     }
 
     @Override
     public Mono<Boolean> sismember(String key, String member) {
-        return execute(() -> doWithJedis(jedis -> jedis.sismember(key, member)), false);
+        return read(commands.sismember(key, member), false);
     }
 
     @Override
     public Mono<Long> zadd(String key, double score, String member) {
-        return execute(() -> doWithJedis(jedis -> jedis.zadd(key, score, member)), 0L);
+        return write(commands.zadd(key, score, member), 0L, key);
     }
 
     @Override
     public Mono<List<String>> zrevrange(String key, long start, long stop) {
-        return execute(() -> doWithJedis(jedis -> jedis.zrevrange(key, start, stop)), Collections.emptyList());
+        return cached(key, "ZREVRANGE\0" + key + "\0" + start + "\0" + stop,
+            commands.zrevrange(key, start, stop), Collections.emptyList());
+    }
+
+    @Override
+    public Mono<Double> zscore(String key, String member) {
+        return read(commands.zscore(key, member), null);
+    }
+
+    @Override
+    public Mono<List<Double>> zmscore(String key, String... members) {
+        if (members.length == 0) {
+            return Mono.just(List.of());
+        }
+        // ZMSCORE 需要 Redis 6.2+，这里以流水线 ZSCORE 兼容旧版本，同样只有一次往返
+        List<CommandObject<Double>> batch = new ArrayList<>(members.length);
+        for (String member : members) {
+            batch.add(commands.zscore(key, member));
+        }
+        return readAll(batch, Collections.nCopies(members.length, null));
     }
 
     @Override
     public Mono<Double> zincrby(String key, double increment, String member) {
-        return execute(() -> doWithJedis(jedis -> jedis.zincrby(key, increment, member)), 0.0);
+        return write(commands.zincrby(key, increment, member), 0.0, key);
     }
 
     @Override
     public Mono<Boolean> exists(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.exists(key)), false);
+        return read(commands.exists(key), false);
+    }
+
+    @Override
+    public Mono<Long> exists(String... keys) {
+        if (keys.length == 0) {
+            return Mono.just(0L);
+        }
+        List<List<String>> groups = groupBySlot(Arrays.asList(keys));
+        if (groups.size() == 1) {
+            return read(commands.exists(keys), 0L);
+        }
+        return executePerSlot(groups, commands::exists).map(RedisClientImpl::sum);
     }
 
     @Override
     public Mono<Long> expire(String key, long seconds) {
-        return execute(() -> doWithJedis(jedis -> jedis.expire(key, seconds)), 0L);
+        return write(commands.expire(key, seconds), 0L, key);
     }
 
     @Override
     public Mono<Long> ttl(String key) {
-        return execute(() -> doWithJedis(jedis -> jedis.ttl(key)), -2L);
+        return read(commands.ttl(key), -2L);
+    }
+
+    @Override
+    public Flux<String> scan(String pattern) {
+        ScanParams params = new ScanParams().match(pattern).count(SCAN_BATCH);
+        return cursorScan((target, cursor) -> {
+            ClusterEngine cluster = clusterOf(target);
+            return cluster != null
+                ? scanClusterKeys(cluster, cursor, params, null)
+                : target.execute(commands.scan(cursor, params)).map(ScanPage::of);
+        });
+    }
+
+    @Override
+    public Flux<Map.Entry<String, String>> hscan(String key) {
+        ScanParams params = new ScanParams().count(SCAN_BATCH);
+        return cursorScan((target, cursor) ->
+            target.execute(commands.hscan(key, cursor, params)).map(ScanPage::of));
+    }
+
+    @Override
+    public Flux<String> sscan(String key) {
+        ScanParams params = new ScanParams().count(SCAN_BATCH);
+        return cursorScan((target, cursor) ->
+            target.execute(commands.sscan(key, cursor, params)).map(ScanPage::of));
+    }
+
+    @Override
+    public Flux<Tuple> zscan(String key) {
+        ScanParams params = new ScanParams().count(SCAN_BATCH);
+        return cursorScan((target, cursor) ->
+            target.execute(commands.zscan(key, cursor, params)).map(ScanPage::of));
+    }
+
+    /**
+     * 按游标逐批遍历：下游消费完当前批次才拉取下一批，内存中最多保留一批结果。
+     * 游标只在发出它的节点上有效，因此整个遍历固定在开始时选定的节点（从节点或主节点）上，
+     * 中途出错直接以错误结束
+     *
+     * @param fetch 在给定引擎上按游标读取一批
+     */
+    private <T> Flux<T> cursorScan(BiFunction<RedisEngine, String, Mono<ScanPage<T>>> fetch) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            return Flux.empty();
+        }
+        return Flux.deferContextual(context -> {
+            ReplicaRouter router = replicaRouter;
+            RedisEngine replica = router == null || RedisReadPreference.isPrimary(context)
+                || DatabaseRoutingEngine.isRouted(context) ? null : router.select();
+            RedisEngine target = replica != null ? replica : current;
+            return fetch.apply(target, ScanPage.START)
+                .expand(page -> page.finished()
+                    ? Mono.empty()
+                    : fetch.apply(target, page.cursor()))
+                .concatMapIterable(ScanPage::items, 1);
+        });
+    }
+
+    private static long sum(List<Long> counts) {
+        long total = 0;
+        for (Long count : counts) {
+            total += count != null ? count : 0;
+        }
+        return total;
+    }
+
+    /**
+     * 执行只读命令并保留错误，供数据浏览等需要区分"不存在"与"出错"的场景使用
+     *
+     * @param factory 由当前模式下的命令构建器创建命令
+     * @return 命令结果，Redis 不可用时为错误
+     */
+    public <T> Mono<T> executeRead(Function<CommandObjects, CommandObject<T>> factory) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            return Mono.error(new IllegalStateException("Redis not available"));
+        }
+        CommandObject<T> command = factory.apply(commands);
+        return routeRead(replica -> replica.execute(command), () -> current.execute(command));
+    }
+
+    /**
+     * 执行写命令并保留错误，执行前后使近端缓存中的相关键失效
+     *
+     * @param factory 由当前模式下的命令构建器创建命令
+     * @param keys    命令修改的键
+     * @return 命令结果，Redis 不可用时为错误
+     */
+    public <T> Mono<T> executeWrite(Function<CommandObjects, CommandObject<T>> factory,
+                                    String... keys) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            return Mono.error(new IllegalStateException("Redis not available"));
+        }
+        CommandObject<T> command = factory.apply(commands);
+        return invalidating(() -> current.execute(command), keys);
+    }
+
+    /**
+     * 扫描一页键（SCAN），不阻塞 Redis。集群模式下依次扫描各主节点，游标形如 {@code 节点序号:游标}
+     *
+     * @param cursor  上一页返回的游标，首次传 {@link ScanPage#START}
+     * @param pattern MATCH 模式
+     * @param count   COUNT 提示，每次扫描的大致槽位数量
+     * @param type    TYPE 过滤（Redis 6+），为 null 时不过滤
+     * @return 本页结果，Redis 不可用或游标无效时为错误
+     */
+    public Mono<ScanPage<String>> scanKeys(String cursor, String pattern, int count,
+                                           @Nullable String type) {
+        RedisEngine current = engine;
+        if (!isAvailable() || current == null) {
+            return Mono.error(new IllegalStateException("Redis not available"));
+        }
+        ScanParams params = new ScanParams().match(pattern).count(Math.max(1, count));
+        ClusterEngine cluster = clusterOf(current);
+        if (cluster != null) {
+            return scanClusterKeys(cluster, cursor, params, type);
+        }
+        CommandObject<ScanResult<String>> command = type != null
+            ? commands.scan(cursor, params, type)
+            : commands.scan(cursor, params);
+        return routeRead(replica -> replica.execute(command), () -> current.execute(command))
+            .map(ScanPage::of);
+    }
+
+    /**
+     * 在集群的一个主节点上扫描一页，本节点扫描完毕后游标指向下一个主节点，全部扫描完毕时为
+     * {@link ScanPage#START}
+     */
+    Mono<ScanPage<String>> scanClusterKeys(ClusterEngine cluster, String cursor,
+                                           ScanParams params, @Nullable String type) {
+        return Mono.defer(() -> {
+            List<HostAndPort> masters = cluster.masters();
+            int separator = cursor.indexOf(':');
+            int nodeIndex;
+            String nodeCursor;
+            try {
+                nodeIndex = separator < 0 ? 0 : Integer.parseInt(cursor.substring(0, separator));
+                nodeCursor = separator < 0 ? cursor : cursor.substring(separator + 1);
+            } catch (NumberFormatException e) {
+                return Mono.error(new IllegalArgumentException("无效的游标: " + cursor));
+            }
+            if (nodeIndex < 0) {
+                return Mono.error(new IllegalArgumentException("无效的游标: " + cursor));
+            }
+            if (nodeIndex >= masters.size()) {
+                return Mono.just(new ScanPage<>(ScanPage.START, List.of()));
+            }
+            CommandObject<ScanResult<String>> command = nodeScan(nodeCursor, params, type);
+            return metrics.record(command, cluster.executeOn(masters.get(nodeIndex), command))
+                .map(result -> {
+                    String next;
+                    if (!ScanPage.START.equals(result.getCursor())) {
+                        next = nodeIndex + ":" + result.getCursor();
+                    } else if (nodeIndex + 1 < masters.size()) {
+                        next = (nodeIndex + 1) + ":" + ScanPage.START;
+                    } else {
+                        next = ScanPage.START;
+                    }
+                    return new ScanPage<>(next, result.getResult());
+                });
+        });
+    }
+
+    /**
+     * 构建在单个节点上执行的 SCAN，MATCH 可以是任意模式
+     */
+    static CommandObject<ScanResult<String>> nodeScan(String cursor, ScanParams params,
+                                                      @Nullable String type) {
+        return type != null
+            ? NODE_COMMANDS.scan(cursor, params, type)
+            : NODE_COMMANDS.scan(cursor, params);
     }
 
     /**
@@ -11,6 +11,8 @@ import run.halo.app.extension.ConfigMap;
 import run.halo.app.extension.ReactiveExtensionClient;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -55,7 +57,9 @@ public class RedisConfigService {
 
             // 插件配置
             String pluginHost = pluginConfig.getOrDefault("host", "");
-            boolean pluginConfigured = !pluginHost.isEmpty();
+            boolean pluginConfigured = !pluginHost.isEmpty()
+                || !pluginConfig.getOrDefault("clusterNodes", "").isBlank()
+                || !pluginConfig.getOrDefault("sentinelNodes", "").isBlank();
 
             status.put("pluginConfigured", pluginConfigured);
             status.put("pluginHost", pluginHost);
@@ -68,6 +72,32 @@ public class RedisConfigService {
 
             // 连接状态
             status.put("available", redisClient.isAvailable());
+            status.put("mode", redisClient.getMode().name().toLowerCase(Locale.ROOT));
+            if (redisClient.getMode() == RedisOptions.Mode.CLUSTER) {
+                status.put("clusterNodeCount", redisClient.getClusterNodeCount());
+            }
+            String sentinelMaster = redisClient.getSentinelMaster();
+            if (sentinelMaster != null) {
+                status.put("sentinelMaster", sentinelMaster);
+            }
+            status.put("engine", pluginConfig.getOrDefault("engine", "jedis"));
+            status.put("activeEngine", redisClient.getEngineName());
+            status.put("autoPipelining",
+                Boolean.parseBoolean(pluginConfig.getOrDefault("autoPipelining", "false")));
+            Map<String, Object> poolStats = redisClient.getPoolStats();
+            if (poolStats != null) {
+                status.put("pool", poolStats);
+            }
+            List<Map<String, Object>> replicaStats = redisClient.getReplicaStats();
+            if (replicaStats != null) {
+                status.put("replicas", replicaStats);
+            }
+            Map<String, Object> nearCacheStats = redisClient.getNearCacheStats();
+            if (nearCacheStats != null) {
+                status.put("nearCache", nearCacheStats);
+            }
+            status.put("pubsub", redisClient.getPubSubStats());
+            status.put("circuitBreaker", redisClient.getCircuitBreakerStats());
 
             // 当前实际使用的配置
             if (haloConfigured) {
@@ -186,29 +216,31 @@ public class RedisConfigService {
 
             boolean useHaloConfig = "true".equalsIgnoreCase(haloRedisEnabled) && !haloHost.isEmpty();
 
+            RedisOptions options = RedisOptions.fromConfig(pluginConfig);
+
             if (useHaloConfig) {
-                // 使用 Halo 配置
-                redisClient.initialize();
+                // 使用 Halo 配置，引擎等选项仍取自插件配置
+                redisClient.initialize(options);
                 result.put("configSource", "halo");
             } else {
                 // 使用插件配置
-                String host = pluginConfig.getOrDefault("host", "");
-                if (host.isEmpty()) {
+                boolean clusterSeeded = options.getMode() == RedisOptions.Mode.CLUSTER
+                    && !options.getClusterNodes().isEmpty();
+                boolean sentinelSeeded = options.getMode() == RedisOptions.Mode.SENTINEL
+                    && !options.getSentinelNodes().isEmpty();
+                if (options.getHost().isEmpty() && !clusterSeeded && !sentinelSeeded) {
                     result.put("success", false);
                     result.put("message", "未配置 Redis 连接信息");
                     return result;
                 }
 
-                int port = Integer.parseInt(pluginConfig.getOrDefault("port", "6379"));
-                String password = pluginConfig.getOrDefault("password", "");
-                int database = Integer.parseInt(pluginConfig.getOrDefault("database", "0"));
-
-                redisClient.initializeWithConfig(host, port, password, database);
+                redisClient.initializeWithConfig(options);
                 result.put("configSource", "plugin");
             }
 
             result.put("success", redisClient.isAvailable());
             result.put("available", redisClient.isAvailable());
+            result.put("engine", redisClient.getEngineName());
             result.put("message", redisClient.isAvailable() ? "连接成功" : "连接失败");
 
             return result;
@@ -0,0 +1,449 @@
+package com.xhhao.redisconnector.service;
+
+import lombok.Data;
+import redis.clients.jedis.HostAndPort;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 连接选项
+ * <p>
+ * 由插件 ConfigMap 中的 redis 分组解析而来，连接地址在使用 Halo 环境配置时会被覆盖。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Data
+public class RedisOptions {
+
+    /**
+     * 部署模式
+     */
+    private Mode mode = Mode.STANDALONE;
+
+    private String host = "localhost";
+
+    private int port = 6379;
+
+    private String password = "";
+
+    private int database = 0;
+
+    /**
+     * 集群种子节点（host:port），为空时使用 host / port 作为种子节点
+     */
+    private List<String> clusterNodes = List.of();
+
+    /**
+     * 集群模式下单条命令因重定向或节点故障的最大尝试次数
+     */
+    private int clusterMaxAttempts = 5;
+
+    /**
+     * Sentinel 监控的主节点名称
+     */
+    private String sentinelMasterName = "mymaster";
+
+    /**
+     * Sentinel 节点（host:port）
+     */
+    private List<String> sentinelNodes = List.of();
+
+    /**
+     * Sentinel 自身的密码，为空表示无密码
+     */
+    private String sentinelPassword = "";
+
+    /**
+     * 只读命令的读取位置
+     */
+    private ReadFrom readFrom = ReadFrom.PRIMARY;
+
+    /**
+     * 从节点（host:port），Sentinel 模式下为空时自动从 Sentinel 发现
+     */
+    private List<String> replicaNodes = List.of();
+
+    /**
+     * 从节点选择策略
+     */
+    private ReplicaSelection replicaSelection = ReplicaSelection.ROUND_ROBIN;
+
+    /**
+     * 连接池最大连接数
+     */
+    private int poolMaxTotal = 32;
+
+    /**
+     * 连接池最大空闲连接数
+     */
+    private int poolMaxIdle = 16;
+
+    /**
+     * 连接池最小空闲连接数
+     */
+    private int poolMinIdle = 2;
+
+    /**
+     * 连接池耗尽时借用连接的最长等待时间（毫秒）
+     */
+    private int poolMaxWaitMillis = 3000;
+
+    /**
+     * 连接校验策略
+     */
+    private PoolValidation poolValidation = PoolValidation.IDLE;
+
+    /**
+     * 空闲连接检测间隔（秒），仅在 {@link PoolValidation#IDLE} 策略下生效
+     */
+    private int poolEvictionIntervalSeconds = 30;
+
+    /**
+     * 建立连接超时（毫秒）
+     */
+    private int connectTimeoutMillis = 5000;
+
+    /**
+     * 命令读写超时（毫秒）
+     */
+    private int socketTimeoutMillis = 5000;
+
+    /**
+     * 执行命令的客户端引擎
+     */
+    private Engine engine = Engine.JEDIS;
+
+    /**
+     * 自动流水线：合并并发命令，共用连接批量发送
+     */
+    private boolean autoPipelining = false;
+
+    /**
+     * 近端缓存（进程内 L1），依赖 Redis 6+ CLIENT TRACKING 保持一致
+     */
+    private boolean nearCache = false;
+
+    /**
+     * 近端缓存最大条目数
+     */
+    private int nearCacheMaxSize = 10000;
+
+    /**
+     * 近端缓存条目最长存活时间（秒）
+     */
+    private int nearCacheTtlSeconds = 300;
+
+    /**
+     * 近端缓存的键前缀，为空表示缓存全部键
+     */
+    private List<String> nearCachePrefixes = List.of();
+
+    /**
+     * 慢命令阈值（毫秒），耗时超过阈值的命令记入诊断页面，0 表示不记录
+     */
+    private int slowCommandThresholdMillis = 20;
+
+    /**
+     * 热点键采样率：每多少条命令抽取一条统计热点键与大值，0 表示不统计
+     */
+    private int hotKeySampleRate = 100;
+
+    /**
+     * 单个插件同时执行的命令数上限，0 表示不限制
+     */
+    private int pluginMaxConcurrency = 0;
+
+    /**
+     * 单个插件每秒命令数上限，0 表示不限制
+     */
+    private int pluginMaxOpsPerSecond = 0;
+
+    /**
+     * 插件专属数据库，形如 {@code plugin-id=3}，仅单机与 Sentinel 模式有效
+     */
+    private List<String> pluginDatabases = List.of();
+
+    /**
+     * 插件专属客户端的键前缀是否使用哈希标签（{@code {plugin-id}:}），
+     * Cluster 模式下同一插件的键落在同一槽，可执行跨键命令
+     */
+    private boolean pluginHashTag = false;
+
+    /**
+     * 是否启用熔断器：Redis 错误或过慢时直接返回默认值，不再等待超时
+     */
+    private boolean circuitBreakerEnabled = true;
+
+    /**
+     * 熔断错误率阈值（百分比），最近 10 秒内连接、超时等错误的比例达到该值时打开
+     */
+    private int circuitBreakerFailureRate = 50;
+
+    /**
+     * 慢调用阈值（毫秒），耗时达到该值的命令计为慢调用
+     */
+    private int circuitBreakerSlowCallMillis = 1000;
+
+    /**
+     * 熔断慢调用率阈值（百分比），0 表示不按延迟熔断
+     */
+    private int circuitBreakerSlowCallRate = 80;
+
+    /**
+     * 熔断器打开后多久放行探测命令（秒）
+     */
+    private int circuitBreakerOpenSeconds = 10;
+
+    /**
+     * 客户端引擎
+     */
+    public enum Engine {
+        /**
+         * Jedis 连接池，在 boundedElastic 调度器上阻塞执行
+         */
+        JEDIS,
+        /**
+         * 基于 Netty 的 RESP 连接，在 I/O 事件中直接完成响应
+         */
+        NETTY;
+
+        static Engine of(String value) {
+            if (value == null || value.isBlank()) {
+                return JEDIS;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return JEDIS;
+            }
+        }
+    }
+
+    /**
+     * 部署模式
+     */
+    public enum Mode {
+        /**
+         * 单机（或主从中的单个节点）
+         */
+        STANDALONE,
+        /**
+         * Redis Cluster，按哈希槽路由
+         */
+        CLUSTER,
+        /**
+         * 由 Sentinel 发现主节点，主从切换时自动切换连接
+         */
+        SENTINEL;
+
+        static Mode of(String value) {
+            if (value == null || value.isBlank()) {
+                return STANDALONE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return STANDALONE;
+            }
+        }
+    }
+
+    /**
+     * 只读命令的读取位置
+     */
+    public enum ReadFrom {
+        /**
+         * 全部读取主节点
+         */
+        PRIMARY,
+        /**
+         * 优先读取从节点，没有可用从节点时读取主节点
+         */
+        REPLICA;
+
+        static ReadFrom of(String value) {
+            if (value == null || value.isBlank()) {
+                return PRIMARY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return PRIMARY;
+            }
+        }
+    }
+
+    /**
+     * 从节点选择策略
+     */
+    public enum ReplicaSelection {
+        /**
+         * 轮询
+         */
+        ROUND_ROBIN,
+        /**
+         * 选择最近探测延迟最低的从节点
+         */
+        LOWEST_LATENCY;
+
+        static ReplicaSelection of(String value) {
+            if (value == null || value.isBlank()) {
+                return ROUND_ROBIN;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                return ROUND_ROBIN;
+            }
+        }
+    }
+
+    /**
+     * 连接池的连接校验策略
+     */
+    public enum PoolValidation {
+        /**
+         * 后台定时检测空闲连接，借用时不额外发送 PING
+         */
+        IDLE,
+        /**
+         * 每次借用连接时发送 PING 校验，可靠但每条命令多一次往返
+         */
+        BORROW,
+        /**
+         * 不校验，连接失效时由命令报错暴露
+         */
+        NONE;
+
+        static PoolValidation of(String value) {
+            if (value == null || value.isBlank()) {
+                return IDLE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return IDLE;
+            }
+        }
+    }
+
+    /**
+     * 从插件配置解析连接选项
+     *
+     * @param config 插件 ConfigMap 中 redis 分组的键值
+     * @return 连接选项
+     */
+    public static RedisOptions fromConfig(Map<String, String> config) {
+        RedisOptions options = new RedisOptions();
+        options.setMode(Mode.of(config.get("mode")));
+        options.setHost(config.getOrDefault("host", ""));
+        options.setPort(parseInt(config.get("port"), 6379));
+        options.setPassword(config.getOrDefault("password", ""));
+        options.setDatabase(parseInt(config.get("database"), 0));
+        options.setClusterNodes(parseList(config.get("clusterNodes")));
+        options.setClusterMaxAttempts(parseInt(config.get("clusterMaxAttempts"), 5));
+        options.setSentinelMasterName(config.getOrDefault("sentinelMasterName", "mymaster"));
+        options.setSentinelNodes(parseList(config.get("sentinelNodes")));
+        options.setSentinelPassword(config.getOrDefault("sentinelPassword", ""));
+        options.setReadFrom(ReadFrom.of(config.get("readFrom")));
+        options.setReplicaNodes(parseList(config.get("replicaNodes")));
+        options.setReplicaSelection(ReplicaSelection.of(config.get("replicaSelection")));
+        options.setPoolMaxTotal(parseInt(config.get("poolMaxTotal"), 32));
+        options.setPoolMaxIdle(parseInt(config.get("poolMaxIdle"), 16));
+        options.setPoolMinIdle(parseInt(config.get("poolMinIdle"), 2));
+        options.setPoolMaxWaitMillis(parseInt(config.get("poolMaxWaitMillis"), 3000));
+        options.setPoolValidation(PoolValidation.of(config.get("poolValidation")));
+        options.setPoolEvictionIntervalSeconds(
+            parseInt(config.get("poolEvictionIntervalSeconds"), 30));
+        options.setConnectTimeoutMillis(parseInt(config.get("connectTimeoutMillis"), 5000));
+        options.setSocketTimeoutMillis(parseInt(config.get("socketTimeoutMillis"), 5000));
+        options.setEngine(Engine.of(config.get("engine")));
+        options.setAutoPipelining(Boolean.parseBoolean(config.get("autoPipelining")));
+        options.setNearCache(Boolean.parseBoolean(config.get("nearCache")));
+        options.setNearCacheMaxSize(parseInt(config.get("nearCacheMaxSize"), 10000));
+        options.setNearCacheTtlSeconds(parseInt(config.get("nearCacheTtlSeconds"), 300));
+        options.setNearCachePrefixes(parseList(config.get("nearCachePrefixes")));
+        options.setSlowCommandThresholdMillis(
+            parseInt(config.get("slowCommandThresholdMillis"), 20));
+        options.setHotKeySampleRate(parseInt(config.get("hotKeySampleRate"), 100));
+        options.setPluginMaxConcurrency(parseInt(config.get("pluginMaxConcurrency"), 0));
+        options.setPluginMaxOpsPerSecond(parseInt(config.get("pluginMaxOpsPerSecond"), 0));
+        options.setPluginDatabases(parseList(config.get("pluginDatabases")));
+        options.setPluginHashTag(Boolean.parseBoolean(config.get("pluginHashTag")));
+        options.setCircuitBreakerEnabled(
+            !"false".equalsIgnoreCase(config.get("circuitBreakerEnabled")));
+        options.setCircuitBreakerFailureRate(
+            parseInt(config.get("circuitBreakerFailureRate"), 50));
+        options.setCircuitBreakerSlowCallMillis(
+            parseInt(config.get("circuitBreakerSlowCallMillis"), 1000));
+        options.setCircuitBreakerSlowCallRate(
+            parseInt(config.get("circuitBreakerSlowCallRate"), 80));
+        options.setCircuitBreakerOpenSeconds(
+            parseInt(config.get("circuitBreakerOpenSeconds"), 10));
+        return options;
+    }
+
+    /**
+     * 解析 plugin-id=数据库编号 形式的插件数据库映射，忽略格式错误的项
+     */
+    public static Map<String, Integer> parsePluginDatabases(List<String> entries) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int index = entry.indexOf('=');
+            if (index <= 0) {
+                continue;
+            }
+            int database = parseInt(entry.substring(index + 1), -1);
+            if (database >= 0) {
+                result.put(entry.substring(0, index).trim(), database);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 解析 host:port 形式的节点地址列表，未写端口时使用 6379
+     */
+    public static Set<HostAndPort> parseNodes(List<String> nodes) {
+        Set<HostAndPort> result = new LinkedHashSet<>();
+        for (String node : nodes) {
+            int index = node.lastIndexOf(':');
+            if (index <= 0) {
+                result.add(new HostAndPort(node, 6379));
+            } else {
+                result.add(new HostAndPort(node.substring(0, index),
+                    parseInt(node.substring(index + 1), 6379)));
+            }
+        }
+        return result;
+    }
+
+    static List<String> parseList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .toList();
+    }
+
+    static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.xhhao.redisconnector.service;
+
+import com.xhhao.redisconnector.api.RedisPipeline;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Redis 流水线构建器实现
+ * <p>
+ * 命令以 {@link CommandObject} 形式暂存，执行时整体交给引擎的批量接口发送。
+ * 同时记录写命令涉及的键，以便执行时使近端缓存失效。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class RedisPipelineImpl implements RedisPipeline {
+
+    private final CommandObjects commands;
+
+    private final BiFunction<List<CommandObject<?>>, Set<String>, Mono<List<Object>>> executor;
+
+    private final List<CommandObject<?>> batch = new ArrayList<>();
+
+    private final Set<String> writtenKeys = new HashSet<>();
+
+    RedisPipelineImpl(CommandObjects commands,
+                      BiFunction<List<CommandObject<?>>, Set<String>, Mono<List<Object>>> executor) {
+        this.commands = commands;
+        this.executor = executor;
+    }
+
+    private RedisPipeline append(CommandObject<?> command) {
+        batch.add(command);
+        return this;
+    }
+
+    private RedisPipeline appendWrite(CommandObject<?> command, String... keys) {
+        writtenKeys.addAll(List.of(keys));
+        return append(command);
+    }
+
+    @Override
+    public RedisPipeline set(String key, String value) {
+        return appendWrite(commands.set(key, value), key);
+    }
+
+    @Override
+    public RedisPipeline setEx(String key, String value, long seconds) {
+        return appendWrite(commands.setex(key, seconds, value), key);
+    }
+
+    @Override
+    public RedisPipeline get(String key) {
+        return append(commands.get(key));
+    }
+
+    @Override
+    public RedisPipeline del(String... keys) {
+        return appendWrite(commands.del(keys), keys);
+    }
+
+    @Override
+    public RedisPipeline incr(String key) {
+        return appendWrite(commands.incr(key), key);
+    }
+
+    @Override
+    public RedisPipeline incrBy(String key, long increment) {
+        return appendWrite(commands.incrBy(key, increment), key);
+    }
+
+    @Override
+    public RedisPipeline hset(String key, String field, String value) {
+        return appendWrite(commands.hset(key, field, value), key);
+    }
+
+    @Override
+    public RedisPipeline hget(String key, String field) {
+        return append(commands.hget(key, field));
+    }
+
+    @Override
+    public RedisPipeline hgetAll(String key) {
+        return append(commands.hgetAll(key));
+    }
+
+    @Override
+    public RedisPipeline sadd(String key, String... members) {
+        return appendWrite(commands.sadd(key, members), key);
+    }
+
+    @Override
+    public RedisPipeline zadd(String key, double score, String member) {
+        return appendWrite(commands.zadd(key, score, member), key);
+    }
+
+    @Override
+    public RedisPipeline zincrby(String key, double increment, String member) {
+        return appendWrite(commands.zincrby(key, increment, member), key);
+    }
+
+    @Override
+    public RedisPipeline expire(String key, long seconds) {
+        return appendWrite(commands.expire(key, seconds), key);
+    }
+
+    @Override
+    public RedisPipeline type(String key) {
+        return append(commands.type(key));
+    }
+
+    @Override
+    public RedisPipeline ttl(String key) {
+        return append(commands.ttl(key));
+    }
+
+    @Override
+    public RedisPipeline exists(String key) {
+        return append(commands.exists(key));
+    }
+
+    @Override
+    public int size() {
+        return batch.size();
+    }
+
+    @Override
+    public Mono<List<Object>> execute() {
+        if (batch.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return executor.apply(List.copyOf(batch), Set.copyOf(writtenKeys));
+    }
+}
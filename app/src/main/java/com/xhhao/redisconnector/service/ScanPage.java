@@ -0,0 +1,35 @@
+package com.xhhao.redisconnector.service;
+
+import redis.clients.jedis.resps.ScanResult;
+
+import java.util.List;
+
+/**
+ * 游标扫描的一页结果
+ *
+ * @param cursor 下一页游标，为 {@code "0"} 表示扫描结束
+ * @param items  本页元素，可能为空，空页不代表扫描结束
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record ScanPage<T>(String cursor, List<T> items) {
+
+    /**
+     * 起始游标
+     */
+    public static final String START = "0";
+
+    /**
+     * 是否已扫描结束
+     */
+    public boolean finished() {
+        return START.equals(cursor);
+    }
+
+    /**
+     * 由 Jedis 扫描结果创建
+     */
+    public static <T> ScanPage<T> of(ScanResult<T> result) {
+        return new ScanPage<>(result.getCursor(), result.getResult());
+    }
+}
@@ -0,0 +1,346 @@
+package com.xhhao.redisconnector.service.breaker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 熔断器
+ * <p>
+ * 按最近 10 秒的滑动窗口统计命令的错误率与慢调用率，调用数达到下限且任一比例超过阈值时打开。
+ * 打开期间命令直接失败，调用方立即拿到默认值，不再占用线程等待超时。
+ * 打开一段时间后进入半开状态，放行少量探测命令：全部成功且不慢则关闭，任一失败或过慢则重新打开。
+ * </p>
+ * <p>
+ * 只有连接、超时等说明 Redis 不健康的错误计入错误率；WRONGTYPE、NOSCRIPT 等命令错误是调用方的问题，
+ * 不计入。成功的命令不可能让比例升高，因此只在失败或慢调用时计算比例。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final int WINDOW_SECONDS = 10;
+
+    /**
+     * 窗口内调用数达到该值才判断比例，避免少量调用误触发
+     */
+    private static final int MINIMUM_CALLS = 20;
+
+    /**
+     * 半开状态放行的探测命令数
+     */
+    private static final int PROBES = 5;
+
+    /**
+     * 服务端暂时无法处理请求的错误前缀，计入错误率
+     */
+    private static final String[] UNHEALTHY_REPLIES = {"LOADING", "BUSY", "MASTERDOWN",
+        "CLUSTERDOWN", "TRYAGAIN", "READONLY"};
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 执行许可
+     */
+    public enum Permit {
+        /**
+         * 熔断器打开，直接失败
+         */
+        REJECTED,
+        /**
+         * 正常执行并计入窗口
+         */
+        NORMAL,
+        /**
+         * 半开状态的探测命令
+         */
+        PROBE
+    }
+
+    /**
+     * 单调时钟（纳秒）
+     */
+    private final LongSupplier clock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final Bucket[] buckets = new Bucket[WINDOW_SECONDS];
+
+    private final AtomicInteger probesIssued = new AtomicInteger();
+
+    private final AtomicInteger probesSucceeded = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder trips = new LongAdder();
+
+    private volatile long openedAt;
+
+    @Nullable
+    private volatile String lastTripReason;
+
+    private volatile boolean enabled = true;
+
+    private volatile int failureRateThreshold = 50;
+
+    private volatile long slowCallNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private volatile int slowCallRateThreshold = 80;
+
+    private volatile long openNanos = TimeUnit.SECONDS.toNanos(10);
+
+    public CircuitBreaker() {
+        this(System::nanoTime);
+    }
+
+    CircuitBreaker(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * 更新参数并回到关闭状态，重新连接时调用
+     *
+     * @param enabled         是否启用
+     * @param failureRate     错误率阈值（百分比）
+     * @param slowCallMillis  慢调用阈值（毫秒）
+     * @param slowCallRate    慢调用率阈值（百分比），0 表示不按延迟熔断
+     * @param openSeconds     打开后多久进入半开状态（秒）
+     */
+    public void configure(boolean enabled, int failureRate, int slowCallMillis,
+                          int slowCallRate, int openSeconds) {
+        this.enabled = enabled;
+        this.failureRateThreshold = Math.min(100, Math.max(1, failureRate));
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, slowCallMillis));
+        this.slowCallRateThreshold = Math.min(100, Math.max(0, slowCallRate));
+        this.openNanos = TimeUnit.SECONDS.toNanos(Math.max(1, openSeconds));
+        state.set(State.CLOSED);
+        clearWindow();
+    }
+
+    /**
+     * 申请执行一条命令
+     */
+    public Permit tryAcquire() {
+        if (!enabled) {
+            return Permit.NORMAL;
+        }
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Permit.NORMAL;
+        }
+        if (current == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                rejected.increment();
+                return Permit.REJECTED;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                log.info("{} 熔断器进入半开状态，放行 {} 条探测命令", LOG_PREFIX, PROBES);
+            }
+        }
+        if (probesIssued.incrementAndGet() <= PROBES) {
+            return Permit.PROBE;
+        }
+        probesIssued.decrementAndGet();
+        rejected.increment();
+        return Permit.REJECTED;
+    }
+
+    /**
+     * 记录命令结果
+     *
+     * @param permit 执行前取得的许可
+     * @param nanos  耗时
+     * @param error  错误，成功时为 null
+     */
+    public void onResult(Permit permit, long nanos, @Nullable Throwable error) {
+        if (!enabled || permit == Permit.REJECTED) {
+            return;
+        }
+        boolean failure = error != null && isUnhealthy(error);
+        boolean slow = nanos >= slowCallNanos;
+        if (permit == Permit.PROBE) {
+            if (failure || slow) {
+                trip(failure ? "探测命令失败: " + error.getMessage() : "探测命令过慢");
+            } else if (probesSucceeded.incrementAndGet() >= PROBES
+                && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                clearWindow();
+                log.info("{} 探测命令全部成功，熔断器关闭", LOG_PREFIX);
+            }
+            return;
+        }
+        if (state.get() != State.CLOSED) {
+            // 打开前发出的命令，结果不再影响状态
+            return;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong());
+        Bucket bucket = bucket(second);
+        bucket.calls.increment();
+        if (failure) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slow.increment();
+        }
+        if (failure || slow) {
+            evaluate(second);
+        }
+    }
+
+    /**
+     * 命令被取消，归还探测名额
+     */
+    public void onCancel(Permit permit) {
+        if (permit == Permit.PROBE) {
+            probesIssued.decrementAndGet();
+        }
+    }
+
+    /**
+     * 当前状态与窗口统计
+     */
+    public Map<String, Object> stats() {
+        long second = TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong());
+        long[] window = window(second);
+        Map<String, Object> stats = new HashMap<>();
+        State current = state.get();
+        stats.put("enabled", enabled);
+        stats.put("state", current.name().toLowerCase(Locale.ROOT));
+        stats.put("calls", window[0]);
+        stats.put("failureRate", percent(window[1], window[0]));
+        stats.put("slowCallRate", percent(window[2], window[0]));
+        stats.put("trips", trips.sum());
+        stats.put("rejected", rejected.sum());
+        if (current == State.OPEN) {
+            stats.put("retryInMillis", Math.max(0,
+                TimeUnit.NANOSECONDS.toMillis(openNanos - (clock.getAsLong() - openedAt))));
+        }
+        String reason = lastTripReason;
+        if (reason != null) {
+            stats.put("lastTripReason", reason);
+        }
+        return stats;
+    }
+
+    private void evaluate(long second) {
+        long[] window = window(second);
+        long calls = window[0];
+        if (calls < MINIMUM_CALLS) {
+            return;
+        }
+        if (window[1] * 100 >= failureRateThreshold * calls) {
+            trip("错误率 " + percent(window[1], calls) + "%");
+        } else if (slowCallRateThreshold > 0 && window[2] * 100 >= slowCallRateThreshold * calls) {
+            trip("慢调用率 " + percent(window[2], calls) + "%");
+        }
+    }
+
+    /**
+     * 探测计数在发布 OPEN 之前清零：同时看到打开期已过的多个线程只会有一个把状态改为半开，
+     * 若由它们各自清零，晚到的线程会抹掉已发出的探测，放行超过 {@link #PROBES} 条
+     */
+    private void trip(String reason) {
+        probesIssued.set(0);
+        probesSucceeded.set(0);
+        openedAt = clock.getAsLong();
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            trips.increment();
+            lastTripReason = reason;
+            log.warn("{} 熔断器打开（{}），{} 秒内命令直接返回默认值", LOG_PREFIX, reason,
+                TimeUnit.NANOSECONDS.toSeconds(openNanos));
+        }
+    }
+
+    private static boolean isUnhealthy(Throwable error) {
+        if (!(error instanceof JedisDataException)) {
+            return true;
+        }
+        String message = error.getMessage();
+        if (message == null) {
+            return false;
+        }
+        for (String prefix : UNHEALTHY_REPLIES) {
+            if (message.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bucket bucket(long second) {
+        Bucket bucket = buckets[(int) (second % WINDOW_SECONDS)];
+        if (bucket.second != second) {
+            synchronized (bucket) {
+                if (bucket.second != second) {
+                    bucket.calls.reset();
+                    bucket.failures.reset();
+                    bucket.slow.reset();
+                    bucket.second = second;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * 窗口内的调用数、失败数与慢调用数
+     */
+    private long[] window(long second) {
+        long[] totals = new long[3];
+        for (Bucket bucket : buckets) {
+            if (bucket.second > second - WINDOW_SECONDS) {
+                totals[0] += bucket.calls.sum();
+                totals[1] += bucket.failures.sum();
+                totals[2] += bucket.slow.sum();
+            }
+        }
+        return totals;
+    }
+
+    private void clearWindow() {
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                bucket.second = Long.MIN_VALUE;
+            }
+        }
+    }
+
+    private static long percent(long part, long total) {
+        return total > 0 ? part * 100 / total : 0;
+    }
+
+    /**
+     * 一秒内的计数
+     */
+    private static final class Bucket {
+
+        private volatile long second = Long.MIN_VALUE;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder slow = new LongAdder();
+    }
+}
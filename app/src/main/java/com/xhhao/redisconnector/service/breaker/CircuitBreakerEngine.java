@@ -0,0 +1,71 @@
+package com.xhhao.redisconnector.service.breaker;
+
+import com.xhhao.redisconnector.service.engine.RedisEngine;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandObject;
+
+import java.util.List;
+
+/**
+ * 经过熔断器执行命令的引擎包装
+ * <p>
+ * 位于指标与配额包装之内，统计的耗时只包含命令本身，不包含插件配额的排队时间。
+ * 熔断器打开时命令不发往 Redis，直接以 {@link CircuitOpenException} 失败。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class CircuitBreakerEngine implements RedisEngine {
+
+    private final RedisEngine delegate;
+
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerEngine(RedisEngine delegate, CircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    /**
+     * 被包装的引擎，用于访问具体引擎的专有能力（如集群按节点执行）
+     */
+    public RedisEngine delegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return guard(delegate.execute(command));
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        // 批量结果中单条命令的错误是命令错误，只有整体失败才计入
+        return guard(delegate.executeAll(commands));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private <T> Mono<T> guard(Mono<T> operation) {
+        return Mono.defer(() -> {
+            CircuitBreaker.Permit permit = breaker.tryAcquire();
+            if (permit == CircuitBreaker.Permit.REJECTED) {
+                return Mono.error(new CircuitOpenException("Redis 熔断器已打开，命令未执行"));
+            }
+            long start = System.nanoTime();
+            return operation
+                .doOnSuccess(value -> breaker.onResult(permit, System.nanoTime() - start, null))
+                .doOnError(e -> breaker.onResult(permit, System.nanoTime() - start, e))
+                .doOnCancel(() -> breaker.onCancel(permit));
+        });
+    }
+}
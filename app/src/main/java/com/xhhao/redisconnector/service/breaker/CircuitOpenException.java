@@ -0,0 +1,14 @@
+package com.xhhao.redisconnector.service.breaker;
+
+/**
+ * 熔断器打开期间的快速失败，不携带堆栈
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,157 @@
+package com.xhhao.redisconnector.service.cache;
+
+import com.xhhao.redisconnector.api.CacheLoadOptions;
+import com.xhhao.redisconnector.api.RedisLock;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 旁路缓存加载（cache-aside）
+ * <p>
+ * 读取键值，未命中时执行加载并写回。防止缓存击穿：
+ * <ul>
+ *   <li>同一进程内对同一键的并发加载合并为一次（single-flight）</li>
+ *   <li>可选加固定租期的分布式锁，跨节点只加载一次，未拿到锁的节点轮询等待结果</li>
+ *   <li>可选 XFetch 概率提前刷新：{@code -耗时 * beta * ln(rand) >= 剩余时间} 时在后台重新加载</li>
+ * </ul>
+ * </p>
+ * <p>
+ * XFetch 所需的加载耗时记录在本进程内，只有执行过加载的节点会提前刷新，其他节点依赖其刷新结果。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class CacheAsideLoader {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final String LOCK_PREFIX = "load:";
+
+    private static final Duration LOCK_POLL_INTERVAL = Duration.ofMillis(50);
+
+    /**
+     * 记录加载耗时的键数上限，超过后清空重新记录
+     */
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final RedisClientImpl client;
+
+    private final Map<String, Mono<String>> inflight = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> loadMillis = new ConcurrentHashMap<>();
+
+    public CacheAsideLoader(RedisClientImpl client) {
+        this.client = client;
+    }
+
+    /**
+     * 读取键值，未命中时加载并写回
+     *
+     * @param key     键
+     * @param seconds 写回的过期时间（秒）
+     * @param loader  加载逻辑，为空时不写回并返回空
+     * @param options 加载选项
+     */
+    public Mono<String> getOrLoad(String key, long seconds, Mono<String> loader,
+                                  CacheLoadOptions options) {
+        return client.pipeline().get(key).ttl(key).execute()
+            .flatMap(replies -> {
+                if (!(replies.get(0) instanceof String value)) {
+                    return load(key, seconds, loader, options);
+                }
+                long ttl = replies.get(1) instanceof Long remaining ? remaining : -1;
+                if (!shouldRefreshEarly(key, ttl, options)) {
+                    return Mono.just(value);
+                }
+                // 后台刷新沿用调用链的 Context（调用方插件、专属数据库）
+                return Mono.deferContextual(context -> {
+                    load(key, seconds, loader, options)
+                        .contextWrite(context)
+                        .subscribe(null, error -> log.warn("{} 提前刷新 {} 失败: {}", LOG_PREFIX,
+                            key, error.getMessage()));
+                    return Mono.just(value);
+                });
+            });
+    }
+
+    /**
+     * XFetch：加载越慢、剩余时间越短，越可能提前刷新
+     */
+    private boolean shouldRefreshEarly(String key, long ttlSeconds, CacheLoadOptions options) {
+        Long delta = loadMillis.get(key);
+        if (options.beta() <= 0 || delta == null || ttlSeconds <= 0 || inflight.containsKey(key)) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -delta * options.beta() * Math.log(random) >= ttlSeconds * 1000.0;
+    }
+
+    /**
+     * 合并同一键的并发加载，加载结束后移除，失败不会被缓存
+     */
+    private Mono<String> load(String key, long seconds, Mono<String> loader,
+                              CacheLoadOptions options) {
+        return inflight.computeIfAbsent(key, k -> (options.locking()
+                ? loadLocked(k, seconds, loader, options.lockTimeout())
+                : loadAndStore(k, seconds, loader))
+            .doFinally(signal -> inflight.remove(k))
+            .cache());
+    }
+
+    private Mono<String> loadAndStore(String key, long seconds, Mono<String> loader) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return loader.flatMap(value -> {
+                recordLoadTime(key, (System.nanoTime() - start) / 1_000_000);
+                return client.setEx(key, value, seconds).thenReturn(value);
+            });
+        });
+    }
+
+    /**
+     * 拿到锁的节点加载并写回；未拿到锁时轮询等待写回结果，超时后自行加载
+     */
+    private Mono<String> loadLocked(String key, long seconds, Mono<String> loader,
+                                    Duration lockTimeout) {
+        String lockName = LOCK_PREFIX + key;
+        Mono<String> awaitOrLoad = Mono.defer(() -> awaitLoaded(key, lockTimeout)
+            .switchIfEmpty(Mono.defer(() -> loadAndStore(key, seconds, loader))));
+        return client.lock().tryLock(lockName, lockTimeout)
+            .map(lock -> Mono.usingWhen(Mono.just(lock),
+                held -> loadAndStore(key, seconds, loader), RedisLock.Lock::unlock))
+            .defaultIfEmpty(awaitOrLoad)
+            .onErrorResume(e -> {
+                log.warn("{} 获取加载锁 {} 失败，直接加载: {}", LOG_PREFIX, lockName, e.getMessage());
+                return Mono.just(loadAndStore(key, seconds, loader));
+            })
+            .flatMap(Function.identity());
+    }
+
+    /**
+     * 等待其他节点写回，直到锁超时
+     */
+    private Mono<String> awaitLoaded(String key, Duration lockTimeout) {
+        long attempts = Math.max(1, lockTimeout.toMillis() / LOCK_POLL_INTERVAL.toMillis());
+        return Mono.delay(LOCK_POLL_INTERVAL)
+            .then(client.get(key))
+            .repeatWhenEmpty(Math.toIntExact(Math.min(attempts, Integer.MAX_VALUE)),
+                repeats -> repeats)
+            .onErrorResume(IllegalStateException.class, e -> Mono.empty());
+    }
+
+    private void recordLoadTime(String key, long millis) {
+        if (loadMillis.size() >= MAX_TRACKED_KEYS) {
+            loadMillis.clear();
+        }
+        loadMillis.put(key, millis);
+    }
+}
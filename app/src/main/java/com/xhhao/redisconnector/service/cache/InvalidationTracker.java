@@ -0,0 +1,215 @@
+package com.xhhao.redisconnector.service.cache;
+
+import com.xhhao.redisconnector.service.RedisOptions;
+import com.xhhao.redisconnector.service.engine.RespCodec;
+import com.xhhao.redisconnector.service.engine.RespConnection;
+import com.xhhao.redisconnector.service.engine.RespConnector;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 基于 CLIENT TRACKING 的近端缓存失效通知
+ * <p>
+ * 连接池使用 RESP2 协议，因此采用重定向模式：订阅连接订阅 {@code __redis__:invalidate} 频道，
+ * 控制连接以 BCAST 模式开启跟踪并把通知重定向到订阅连接。BCAST 模式按键前缀广播，
+ * 与数据由哪个连接读取无关，连接池中的普通连接无需逐个开启跟踪。
+ * 任一连接断开时停用缓存并定时重连，重新建立后清空缓存再启用。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class InvalidationTracker {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final String INVALIDATE_CHANNEL = "__redis__:invalidate";
+
+    private static final Duration SUBSCRIBE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(2);
+
+    private final NearCache cache;
+
+    private final List<String> prefixes;
+
+    private final RespConnector connector;
+
+    private volatile boolean stopped;
+
+    private volatile RespConnection subscriber;
+
+    private volatile RespConnection control;
+
+    public InvalidationTracker(RedisOptions options, NearCache cache, List<String> prefixes) {
+        this.cache = cache;
+        this.prefixes = List.copyOf(prefixes);
+        this.connector = new RespConnector(options, "redis-connector-tracking");
+    }
+
+    /**
+     * 建立失效通知通道
+     */
+    public void start() {
+        if (stopped) {
+            return;
+        }
+        connector.connect(false)
+            .flatMap(sub -> {
+                subscriber = sub;
+                return sub.execute(clientId())
+                    .flatMap(id -> connector.connect(false)
+                        .flatMap(ctrl -> {
+                            control = ctrl;
+                            return track(sub, ctrl, id);
+                        }));
+            })
+            .subscribe(
+                unused -> {
+                },
+                error -> {
+                    log.warn("{} 近端缓存失效通知建立失败，{} 秒后重试: {}", LOG_PREFIX,
+                        RETRY_DELAY.toSeconds(), error.getMessage());
+                    restart();
+                },
+                this::watch);
+    }
+
+    /**
+     * 停止通知并停用缓存
+     */
+    public void stop() {
+        stopped = true;
+        cache.deactivate();
+        closeConnections();
+        connector.close();
+    }
+
+    private Mono<Void> track(RespConnection sub, RespConnection ctrl, long clientId) {
+        Sinks.Empty<Void> subscribed = Sinks.empty();
+        sub.subscribe(new InvalidationHandler(subscribed),
+            new CommandArguments(Protocol.Command.SUBSCRIBE).add(INVALIDATE_CHANNEL));
+        return subscribed.asMono()
+            .timeout(SUBSCRIBE_TIMEOUT)
+            .then(ctrl.execute(tracking(clientId)))
+            .doOnNext(ok -> {
+                cache.activate();
+                log.info("{} 近端缓存已启用（CLIENT TRACKING BCAST）", LOG_PREFIX);
+            })
+            .then();
+    }
+
+    /**
+     * 监听两条连接，任一断开即停用缓存并重连
+     */
+    private void watch() {
+        RespConnection sub = subscriber;
+        RespConnection ctrl = control;
+        if (sub == null || ctrl == null) {
+            return;
+        }
+        Mono.firstWithSignal(sub.onClose(), ctrl.onClose())
+            .subscribe(null, null, () -> {
+                if (!stopped) {
+                    log.warn("{} 近端缓存失效通知连接断开，缓存已停用", LOG_PREFIX);
+                    restart();
+                }
+            });
+    }
+
+    private void restart() {
+        cache.deactivate();
+        closeConnections();
+        if (!stopped) {
+            Mono.delay(RETRY_DELAY).subscribe(tick -> start());
+        }
+    }
+
+    private void closeConnections() {
+        RespConnection sub = subscriber;
+        RespConnection ctrl = control;
+        subscriber = null;
+        control = null;
+        if (sub != null) {
+            sub.close();
+        }
+        if (ctrl != null) {
+            ctrl.close();
+        }
+    }
+
+    private static CommandObject<Long> clientId() {
+        return new CommandObject<>(new CommandArguments(Protocol.Command.CLIENT).add("ID"),
+            BuilderFactory.LONG);
+    }
+
+    private CommandObject<String> tracking(long clientId) {
+        CommandArguments arguments = new CommandArguments(Protocol.Command.CLIENT)
+            .add("TRACKING").add("ON")
+            .add("REDIRECT").add(String.valueOf(clientId))
+            .add("BCAST");
+        for (String prefix : prefixes) {
+            arguments.add("PREFIX").add(prefix);
+        }
+        return new CommandObject<>(arguments, BuilderFactory.STRING);
+    }
+
+    /**
+     * 订阅连接上的推送消息处理
+     */
+    private class InvalidationHandler extends ChannelInboundHandlerAdapter {
+
+        private final Sinks.Empty<Void> subscribed;
+
+        InvalidationHandler(Sinks.Empty<Void> subscribed) {
+            this.subscribed = subscribed;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (!(msg instanceof List<?> push) || push.size() < 3
+                || !(push.get(0) instanceof byte[] kind)) {
+                return;
+            }
+            switch (SafeEncoder.encode(kind)) {
+                case "subscribe" -> subscribed.tryEmitEmpty();
+                case "message" -> invalidate(push.get(2));
+                default -> {
+                }
+            }
+        }
+
+        private void invalidate(Object payload) {
+            if (payload == null || payload == RespCodec.NULL_REPLY) {
+                // FLUSHALL / FLUSHDB 时服务端发送空的失效消息
+                cache.invalidateAll();
+            } else if (payload instanceof List<?> keys) {
+                for (Object key : keys) {
+                    if (key instanceof byte[] raw) {
+                        cache.invalidate(SafeEncoder.encode(raw));
+                    }
+                }
+            } else if (payload instanceof byte[] raw) {
+                cache.invalidate(SafeEncoder.encode(raw));
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("{} 近端缓存订阅连接异常: {}", LOG_PREFIX, cause.getMessage());
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.xhhao.redisconnector.service.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内近端缓存（L1）
+ * <p>
+ * 按近似 LRU 淘汰、条目带过期时间，同一个 Redis 键下可缓存多种读取结果
+ * （如 GET、ZREVRANGE 的不同区间），失效时按 Redis 键整体移除。只有在服务端失效通知通道正常时才会命中，
+ * 通道断开期间缓存被清空并停用，避免读到过期数据。
+ * </p>
+ * <p>
+ * 命中路径不加锁：条目存放在 {@link ConcurrentHashMap} 中，命中时只更新条目的最近访问时间。
+ * 写入、失效与淘汰仍在同一把锁内进行，保证版本号检查与写入之间不会插入失效；
+ * 超过容量时按最近访问时间一次淘汰最旧的一批，淘汰的开销分摊到多次写入。
+ * </p>
+ * <p>
+ * 为避免"读请求在途期间键被修改"导致旧值写入缓存，每次读取前记录键所在分段的版本号，
+ * 写入缓存时版本号已变化则放弃写入。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class NearCache {
+
+    /**
+     * 未命中标记
+     */
+    public static final Object MISS = new Object();
+
+    private static final Object NULL_VALUE = new Object();
+
+    private static final int STRIPES = 1024;
+
+    /**
+     * 超过容量时淘汰到最大条目数的 9/10，容量不足 10 时只淘汰超出的部分
+     */
+    private static final int EVICT_DIVISOR = 10;
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final List<String> prefixes;
+
+    private final Map<String, CachedValue> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Redis 键到读取操作签名的索引，只在持有 {@link #lock} 时访问
+     */
+    private final Map<String, Set<String>> signaturesByKey = new HashMap<>();
+
+    private final Object lock = new Object();
+
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private volatile boolean active;
+
+    /**
+     * @param maxSize   最大条目数
+     * @param ttlMillis 条目最长存活时间
+     * @param prefixes  允许缓存的键前缀，为空表示全部键
+     */
+    public NearCache(int maxSize, long ttlMillis, List<String> prefixes) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.prefixes = List.copyOf(prefixes);
+    }
+
+    /**
+     * 失效通知通道是否正常
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 失效通知通道建立后启用缓存
+     */
+    public void activate() {
+        invalidateAll();
+        active = true;
+    }
+
+    /**
+     * 失效通知通道断开时停用并清空缓存
+     */
+    public void deactivate() {
+        active = false;
+        invalidateAll();
+    }
+
+    /**
+     * 键是否在缓存范围内
+     */
+    public boolean accepts(String key) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取前记录的版本号
+     */
+    public long version(String key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param key       Redis 键
+     * @param signature 读取操作签名
+     * @return 缓存值（可能为 null），未命中返回 {@link #MISS}
+     */
+    public Object get(String key, String signature) {
+        if (!active) {
+            return MISS;
+        }
+        CachedValue cached = entries.get(signature);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAt < now) {
+            synchronized (lock) {
+                if (entries.remove(signature, cached)) {
+                    unindex(key, signature);
+                }
+            }
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+            return MISS;
+        }
+        cached.touch(now);
+        hits.increment();
+        return cached.value == NULL_VALUE ? null : cached.value;
+    }
+
+    /**
+     * 写入缓存，版本号已变化或通道未就绪时放弃
+     */
+    public void put(String key, String signature, Object value, long version) {
+        if (!active || versions.get(stripe(key)) != version) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        CachedValue cached = new CachedValue(key, freeze(value), now + ttlMillis, now);
+        synchronized (lock) {
+            if (versions.get(stripe(key)) != version) {
+                return;
+            }
+            entries.put(signature, cached);
+            signaturesByKey.computeIfAbsent(key, k -> new HashSet<>()).add(signature);
+            if (entries.size() > maxSize) {
+                evictOldest(signature);
+            }
+        }
+    }
+
+    /**
+     * 使某个 Redis 键的全部缓存失效
+     */
+    public void invalidate(String key) {
+        versions.incrementAndGet(stripe(key));
+        synchronized (lock) {
+            Set<String> signatures = signaturesByKey.remove(key);
+            if (signatures != null) {
+                signatures.forEach(entries::remove);
+            }
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        synchronized (lock) {
+            entries.clear();
+            signaturesByKey.clear();
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("active", active);
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    /**
+     * 按最近访问时间淘汰最旧的一批条目，使条目数回落到容量以下留出余量，
+     * 避免此后每次写入都要排序
+     */
+    private void evictOldest(String written) {
+        int excess = entries.size() - (maxSize - maxSize / EVICT_DIVISOR);
+        List<Map.Entry<String, CachedValue>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort(Comparator.comparingLong(entry -> entry.getValue().accessedAt));
+        for (Map.Entry<String, CachedValue> eldest : snapshot) {
+            if (excess <= 0) {
+                return;
+            }
+            // 刚写入的条目访问时间可能与最旧的条目相同，不能被它自己的写入淘汰
+            if (!eldest.getKey().equals(written)
+                && entries.remove(eldest.getKey(), eldest.getValue())) {
+                unindex(eldest.getValue().key, eldest.getKey());
+                excess--;
+            }
+        }
+    }
+
+    private void unindex(String key, String signature) {
+        Set<String> signatures = signaturesByKey.get(key);
+        if (signatures != null) {
+            signatures.remove(signature);
+            if (signatures.isEmpty()) {
+                signaturesByKey.remove(key);
+            }
+        }
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    /**
+     * 缓存值在调用方之间共享，集合类型转为不可变副本
+     */
+    private static Object freeze(Object value) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        if (value instanceof List<?> list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(new HashMap<>(map));
+        }
+        if (value instanceof Set<?> set) {
+            return Collections.unmodifiableSet(new HashSet<>(set));
+        }
+        return value;
+    }
+
+    /**
+     * 缓存条目，最近访问时间在命中路径上无锁更新，只用于近似 LRU 淘汰
+     */
+    private static final class CachedValue {
+
+        private final String key;
+
+        private final Object value;
+
+        private final long expiresAt;
+
+        private volatile long accessedAt;
+
+        private CachedValue(String key, Object value, long expiresAt, long accessedAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.accessedAt = accessedAt;
+        }
+
+        /**
+         * 同一毫秒内的重复命中不再写入，减少热点条目上的缓存行争用
+         */
+        private void touch(long now) {
+            if (accessedAt != now) {
+                accessedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.xhhao.redisconnector.service.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.ClusterCommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.jedis.providers.ClusterConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Redis Cluster 执行引擎
+ * <p>
+ * 单条命令交给 {@link JedisCluster} 执行，由其按哈希槽路由并处理 MOVED / ASK 重定向。
+ * 批量命令按槽所在节点分组，各节点并行以流水线发送；拓扑变化导致的重定向回复
+ * 会刷新槽位缓存后逐条重试。
+ * </p>
+ * <p>
+ * 命令必须由 {@link redis.clients.jedis.ClusterCommandObjects} 构建，以便携带哈希槽信息。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class ClusterEngine implements RedisEngine {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    /**
+     * 需要逐条重试的结果占位
+     */
+    private static final Object RETRY = new Object();
+
+    private final ClusterConnectionProvider provider;
+
+    private final JedisCluster cluster;
+
+    public ClusterEngine(ClusterConnectionProvider provider, JedisCluster cluster) {
+        this.provider = provider;
+        this.cluster = cluster;
+    }
+
+    /**
+     * 当前已知的集群节点数
+     */
+    public int nodeCount() {
+        return provider.getNodes().size();
+    }
+
+    /**
+     * 当前负责哈希槽的主节点，按地址排序以保证多次调用顺序一致
+     */
+    public List<HostAndPort> masters() {
+        Set<HostAndPort> masters = new TreeSet<>(Comparator.comparing(HostAndPort::toString));
+        for (int slot = 0; slot < Protocol.CLUSTER_HASHSLOTS; slot++) {
+            HostAndPort node = provider.getNode(slot);
+            if (node != null) {
+                masters.add(node);
+            }
+        }
+        return new ArrayList<>(masters);
+    }
+
+    /**
+     * 在指定节点上执行不按槽路由的命令（如 SCAN）
+     */
+    public <T> Mono<T> executeOn(HostAndPort node, CommandObject<T> command) {
+        return Mono.fromCallable(() -> {
+            try (Connection connection = provider.getConnection(node)) {
+                return connection.executeCommand(command);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return Mono.fromCallable(() -> cluster.executeCommand(command))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        Map<HostAndPort, List<Integer>> byNode = new LinkedHashMap<>();
+        List<Integer> keyless = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            int slot = slotOf(commands.get(i));
+            HostAndPort node = slot >= 0 ? provider.getNode(slot) : null;
+            if (node == null) {
+                keyless.add(i);
+            } else {
+                byNode.computeIfAbsent(node, n -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Object[] results = new Object[commands.size()];
+        Flux<Void> nodeBatches = Flux.fromIterable(byNode.entrySet())
+            .flatMap(entry -> Mono.fromRunnable(
+                    () -> sendToNode(entry.getKey(), entry.getValue(), commands, results))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then());
+        Flux<Void> singles = Flux.fromIterable(keyless)
+            .flatMap(index -> execute(commands.get(index))
+                .doOnNext(value -> results[index] = value)
+                .onErrorResume(e -> {
+                    results[index] = e;
+                    return Mono.empty();
+                })
+                .then());
+        return Flux.merge(nodeBatches, singles)
+            .then(Mono.defer(() -> retryRedirected(commands, results)))
+            .then(Mono.fromCallable(() -> Arrays.asList(results)));
+    }
+
+    @Override
+    public String name() {
+        return "cluster";
+    }
+
+    @Override
+    public void close() {
+        cluster.close();
+    }
+
+    private void sendToNode(HostAndPort node, List<Integer> indexes,
+                            List<? extends CommandObject<?>> commands, Object[] results) {
+        List<CommandObject<?>> batch = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            batch.add(commands.get(index));
+        }
+        try (Connection connection = provider.getConnection(node)) {
+            List<Object> replies = Pipelines.sendAll(connection, batch);
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = replies.get(i);
+            }
+        } catch (Exception e) {
+            // 节点不可达等连接级错误，交给 JedisCluster 逐条重试
+            log.warn("{} 集群节点 {} 批量执行失败，改为逐条执行: {}", LOG_PREFIX, node,
+                e.getMessage());
+            for (int index : indexes) {
+                results[index] = RETRY;
+            }
+        }
+    }
+
+    /**
+     * 槽位迁移期间的 MOVED / ASK 回复及节点故障的命令，刷新槽位缓存后通过 JedisCluster 逐条重试
+     */
+    private Mono<Void> retryRedirected(List<? extends CommandObject<?>> commands,
+                                       Object[] results) {
+        List<Integer> redirected = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == RETRY || results[i] instanceof JedisRedirectionException) {
+                redirected.add(i);
+            }
+        }
+        if (redirected.isEmpty()) {
+            return Mono.empty();
+        }
+        provider.renewSlotCache();
+        return Flux.fromIterable(redirected)
+            .flatMap(index -> execute(commands.get(index))
+                .doOnSuccess(value -> results[index] = value)
+                .then()
+                .onErrorResume(e -> {
+                    results[index] = e;
+                    return Mono.empty();
+                }))
+            .then();
+    }
+
+    private static int slotOf(CommandObject<?> command) {
+        if (command.getArguments() instanceof ClusterCommandArguments arguments) {
+            return arguments.getCommandHashSlot();
+        }
+        return -1;
+    }
+}
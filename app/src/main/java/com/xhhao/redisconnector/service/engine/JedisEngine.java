@@ -0,0 +1,55 @@
+package com.xhhao.redisconnector.service.engine;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+import java.util.List;
+
+/**
+ * 基于 Jedis 连接池的执行引擎
+ * <p>
+ * 每条命令借用一个连接，在 boundedElastic 调度器上阻塞执行。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class JedisEngine implements RedisEngine {
+
+    private final JedisPool jedisPool;
+
+    public JedisEngine(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return Mono.fromCallable(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                return jedis.getConnection().executeCommand(command);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        return Mono.fromCallable(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                return Pipelines.sendAll(jedis.getConnection(), commands);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public String name() {
+        return "jedis";
+    }
+
+    @Override
+    public void close() {
+        // 连接池由 RedisClientImpl 管理
+    }
+}
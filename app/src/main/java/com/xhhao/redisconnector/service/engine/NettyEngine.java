@@ -0,0 +1,79 @@
+package com.xhhao.redisconnector.service.engine;
+
+import com.xhhao.redisconnector.service.RedisOptions;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandObject;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 基于 Reactor Netty 的非阻塞执行引擎
+ * <p>
+ * 所有命令复用同一条 RESP 连接，不占用 boundedElastic 线程，
+ * 也不需要借用连接池。连接断开后在下一条命令到来时自动重连。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class NettyEngine implements RedisEngine {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private final RedisOptions options;
+
+    private final RespConnector connector;
+
+    private final Mono<RespConnection> connection;
+
+    private final Duration commandTimeout;
+
+    private volatile RespConnection current;
+
+    public NettyEngine(RedisOptions options) {
+        this.options = options;
+        this.connector = new RespConnector(options, "redis-connector");
+        this.commandTimeout = Duration.ofMillis(options.getSocketTimeoutMillis());
+        this.connection = Mono.defer(this::connect)
+            .cacheInvalidateIf(conn -> !conn.isActive());
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return connection.flatMap(conn -> conn.execute(command))
+            .timeout(commandTimeout);
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        return connection.flatMap(conn -> conn.executeAll(commands))
+            .timeout(commandTimeout);
+    }
+
+    @Override
+    public String name() {
+        return "netty";
+    }
+
+    @Override
+    public void close() {
+        RespConnection conn = current;
+        if (conn != null) {
+            conn.close();
+            current = null;
+        }
+        connector.close();
+    }
+
+    private Mono<RespConnection> connect() {
+        return connector.connect(options.isAutoPipelining())
+            .doOnNext(resp -> {
+                current = resp;
+                log.info("{} Netty 连接已建立: {}:{}", LOG_PREFIX, options.getHost(),
+                    options.getPort());
+            });
+    }
+}
@@ -0,0 +1,42 @@
+package com.xhhao.redisconnector.service.engine;
+
+import reactor.core.publisher.MonoSink;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * 已发送、等待回复的命令
+ * <p>
+ * 原始回复由命令自带的构建器转换后完成对应的 Mono，错误回复转为错误信号。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+record PendingCommand<T>(CommandObject<T> command, MonoSink<T> sink) implements PendingReply {
+
+    @Override
+    public void complete(Object reply) {
+        if (reply instanceof JedisDataException error) {
+            sink.error(error);
+            return;
+        }
+        T result;
+        try {
+            result = command.getBuilder().build(reply);
+        } catch (Exception e) {
+            sink.error(e);
+            return;
+        }
+        if (result == null) {
+            sink.success();
+        } else {
+            sink.success(result);
+        }
+    }
+
+    @Override
+    public void fail(Throwable cause) {
+        sink.error(cause);
+    }
+}
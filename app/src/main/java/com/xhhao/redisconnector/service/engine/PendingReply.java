@@ -0,0 +1,20 @@
+package com.xhhao.redisconnector.service.engine;
+
+/**
+ * 等待中的回复
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+interface PendingReply {
+
+    /**
+     * 收到原始回复
+     */
+    void complete(Object reply);
+
+    /**
+     * 连接异常，回复不会再到达
+     */
+    void fail(Throwable cause);
+}
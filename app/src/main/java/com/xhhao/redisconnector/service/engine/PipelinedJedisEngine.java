@@ -0,0 +1,131 @@
+package com.xhhao.redisconnector.service.engine;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自动流水线的 Jedis 执行引擎
+ * <p>
+ * 并发提交的命令先进入队列，由少量排空任务在同一个借用的连接上批量发送，
+ * 一次 flush 后按顺序读取回复并完成各自的 Mono，避免每条命令单独借用连接和往返。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class PipelinedJedisEngine implements RedisEngine {
+
+    /**
+     * 单批最多发送的命令数
+     */
+    private static final int MAX_BATCH_SIZE = 128;
+
+    private final JedisPool jedisPool;
+
+    private final int maxDrainers;
+
+    private final Queue<PendingCommand<?>> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger drainers = new AtomicInteger();
+
+    /**
+     * @param jedisPool   连接池
+     * @param maxDrainers 同时发送批次的最大连接数
+     */
+    public PipelinedJedisEngine(JedisPool jedisPool, int maxDrainers) {
+        this.jedisPool = jedisPool;
+        this.maxDrainers = Math.max(1, maxDrainers);
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return Mono.create(sink -> {
+            queue.add(new PendingCommand<>(command, sink));
+            scheduleDrain();
+        });
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        // 显式批次本身已是流水线，直接借用一个连接发送
+        return Mono.fromCallable(() -> {
+            try (Jedis jedis = jedisPool.getResource()) {
+                return Pipelines.sendAll(jedis.getConnection(), commands);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public String name() {
+        return "jedis";
+    }
+
+    @Override
+    public void close() {
+        // 连接池由 RedisClientImpl 管理
+    }
+
+    private void scheduleDrain() {
+        while (true) {
+            int current = drainers.get();
+            if (current >= maxDrainers || queue.isEmpty()) {
+                return;
+            }
+            if (drainers.compareAndSet(current, current + 1)) {
+                Schedulers.boundedElastic().schedule(this::drain);
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            List<PendingCommand<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            PendingCommand<?> next;
+            while ((next = queue.poll()) != null) {
+                batch.add(next);
+                if (batch.size() >= MAX_BATCH_SIZE || queue.isEmpty()) {
+                    send(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } finally {
+            drainers.decrementAndGet();
+            // 退出前再次检查，避免与刚入队的命令错过唤醒
+            scheduleDrain();
+        }
+    }
+
+    private void send(List<PendingCommand<?>> batch) {
+        List<Object> replies;
+        try (Jedis jedis = jedisPool.getResource()) {
+            Connection connection = jedis.getConnection();
+            for (PendingCommand<?> command : batch) {
+                connection.sendCommand(command.command().getArguments());
+            }
+            replies = connection.getMany(batch.size());
+        } catch (Exception e) {
+            log.debug("[RedisConnector] 流水线批次发送失败: {}", e.getMessage());
+            batch.forEach(command -> command.fail(e));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(replies.get(i));
+        }
+    }
+}
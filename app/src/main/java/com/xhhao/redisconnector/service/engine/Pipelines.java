@@ -0,0 +1,51 @@
+package com.xhhao.redisconnector.service.engine;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流水线执行辅助方法
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+final class Pipelines {
+
+    private Pipelines() {
+    }
+
+    /**
+     * 将原始回复转换为命令结果
+     *
+     * @return 转换后的结果；错误回复或转换失败时返回对应的异常对象
+     */
+    static Object build(CommandObject<?> command, Object reply) {
+        if (reply instanceof JedisDataException error) {
+            return error;
+        }
+        try {
+            return command.getBuilder().build(reply);
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    /**
+     * 在一个连接上发送全部命令，一次 flush 后按顺序读取回复
+     */
+    static List<Object> sendAll(Connection connection, List<? extends CommandObject<?>> commands) {
+        for (CommandObject<?> command : commands) {
+            connection.sendCommand(command.getArguments());
+        }
+        List<Object> replies = connection.getMany(commands.size());
+        List<Object> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            results.add(build(commands.get(i), replies.get(i)));
+        }
+        return results;
+    }
+}
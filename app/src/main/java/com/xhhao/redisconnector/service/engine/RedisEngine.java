@@ -0,0 +1,45 @@
+package com.xhhao.redisconnector.service.engine;
+
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandObject;
+
+import java.util.List;
+
+/**
+ * Redis 命令执行引擎
+ * <p>
+ * 命令统一以 Jedis {@link CommandObject} 描述（参数 + 结果构建器），
+ * 由不同引擎负责发送并把原始响应交给构建器转换。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public interface RedisEngine {
+
+    /**
+     * 执行单条命令
+     *
+     * @param command 命令
+     * @return 命令结果，结果为 null 时为空 Mono
+     */
+    <T> Mono<T> execute(CommandObject<T> command);
+
+    /**
+     * 以流水线方式在同一连接上批量执行命令
+     *
+     * @param commands 命令列表
+     * @return 与命令一一对应的结果；命令返回 null 时对应位置为 null，单条命令出错时对应位置为该异常
+     */
+    Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands);
+
+    /**
+     * 引擎名称，用于状态展示
+     */
+    String name();
+
+    /**
+     * 关闭引擎持有的连接
+     */
+    void close();
+}
@@ -0,0 +1,194 @@
+package com.xhhao.redisconnector.service.engine;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ByteProcessor;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RESP2 协议编解码
+ * <p>
+ * 解码结果与 Jedis {@code Protocol.read} 保持一致：状态回复和批量回复为 {@code byte[]}，
+ * 整数回复为 {@link Long}，多条回复为 {@link List}，错误回复为 {@link JedisDataException}，
+ * 从而可以直接复用 {@link redis.clients.jedis.Builder} 转换结果。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class RespCodec {
+
+    /**
+     * 空回复占位符（Netty 解码输出不允许 null）
+     */
+    public static final Object NULL_REPLY = new Object();
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private RespCodec() {
+    }
+
+    /**
+     * 将命令参数编码为 RESP 数组
+     */
+    public static ByteBuf encode(ByteBufAllocator allocator, CommandArguments arguments) {
+        ByteBuf buf = allocator.buffer();
+        encode(buf, arguments);
+        return buf;
+    }
+
+    /**
+     * 将命令参数编码写入已有缓冲区，用于批量命令共用一次写入
+     */
+    public static void encode(ByteBuf buf, CommandArguments arguments) {
+        buf.writeByte('*');
+        writeNumber(buf, arguments.size());
+        for (Rawable argument : arguments) {
+            byte[] raw = argument.getRaw();
+            buf.writeByte('$');
+            writeNumber(buf, raw.length);
+            buf.writeBytes(raw);
+            buf.writeBytes(CRLF);
+        }
+    }
+
+    private static void writeNumber(ByteBuf buf, long value) {
+        buf.writeCharSequence(Long.toString(value), StandardCharsets.US_ASCII);
+        buf.writeBytes(CRLF);
+    }
+
+    /**
+     * RESP 回复解码器
+     * <p>
+     * 按元素增量解析：多条回复的外层数组以栈保存已解析的部分，数据不完整时只回退到
+     * 当前元素的开头，已解析的元素不会重新解析，大数组与流水线回复的解码耗时与数据量成正比。
+     * 每个连接一个实例。
+     * </p>
+     */
+    public static class Decoder extends ByteToMessageDecoder {
+
+        private static final Object INCOMPLETE = new Object();
+
+        /**
+         * 数组头部已读取、元素将入栈
+         */
+        private static final Object NESTED = new Object();
+
+        /**
+         * 数组的初始容量上限，元素数来自网络数据，按实际到达的元素扩容
+         */
+        private static final int MAX_INITIAL_CAPACITY = 1024;
+
+        private final ArrayDeque<Aggregate> stack = new ArrayDeque<>();
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            while (in.isReadable()) {
+                int start = in.readerIndex();
+                Object value = parse(in);
+                if (value == INCOMPLETE) {
+                    in.readerIndex(start);
+                    return;
+                }
+                if (value == NESTED) {
+                    continue;
+                }
+                // 逐层填入外层数组，数组填满后作为一个完整元素继续向外填
+                while (true) {
+                    Aggregate parent = stack.peek();
+                    if (parent == null) {
+                        out.add(value == null ? NULL_REPLY : value);
+                        break;
+                    }
+                    parent.items.add(value);
+                    if (--parent.remaining > 0) {
+                        break;
+                    }
+                    stack.pop();
+                    value = parent.items;
+                }
+            }
+        }
+
+        /**
+         * 解析一个元素：标量回复、空数组或 null 直接返回；非空数组只读取头部并入栈
+         */
+        private Object parse(ByteBuf in) {
+            byte type = in.readByte();
+            String line = readLine(in);
+            if (line == null) {
+                return INCOMPLETE;
+            }
+            switch (type) {
+                case '+':
+                    return line.getBytes(StandardCharsets.UTF_8);
+                case '-':
+                    return new JedisDataException(line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    if (in.readableBytes() < length + CRLF.length) {
+                        return INCOMPLETE;
+                    }
+                    byte[] bulk = new byte[length];
+                    in.readBytes(bulk);
+                    in.skipBytes(CRLF.length);
+                    return bulk;
+                }
+                case '*': {
+                    int size = Integer.parseInt(line);
+                    if (size < 0) {
+                        return null;
+                    }
+                    if (size == 0) {
+                        return new ArrayList<>(0);
+                    }
+                    stack.push(new Aggregate(size));
+                    return NESTED;
+                }
+                default:
+                    throw new JedisConnectionException("Unknown reply: " + (char) type);
+            }
+        }
+
+        private static String readLine(ByteBuf in) {
+            int cr = in.forEachByte(ByteProcessor.FIND_CR);
+            if (cr < 0 || cr + 1 >= in.writerIndex()) {
+                return null;
+            }
+            String line = in.toString(in.readerIndex(), cr - in.readerIndex(),
+                StandardCharsets.UTF_8);
+            in.readerIndex(cr + CRLF.length);
+            return line;
+        }
+
+        /**
+         * 尚未收齐元素的数组
+         */
+        private static final class Aggregate {
+
+            private final List<Object> items;
+
+            private int remaining;
+
+            private Aggregate(int size) {
+                this.items = new ArrayList<>(Math.min(size, MAX_INITIAL_CAPACITY));
+                this.remaining = size;
+            }
+        }
+    }
+}
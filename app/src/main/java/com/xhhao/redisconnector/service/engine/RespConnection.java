@@ -0,0 +1,273 @@
+package com.xhhao.redisconnector.service.engine;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 单条 RESP 连接
+ * <p>
+ * 多个命令可同时在途，回复按 FIFO 顺序与等待队列匹配，
+ * 并直接在 I/O 线程上完成对应的 Mono。等待队列只在事件循环线程中访问。
+ * 开启自动流水线时，同一轮事件循环内写入的命令合并为一次 flush。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class RespConnection extends ChannelInboundHandlerAdapter {
+
+    /**
+     * 在 Netty 管道中的处理器名称
+     */
+    public static final String HANDLER_NAME = "redisRespHandler";
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private final Channel channel;
+
+    private final boolean autoPipelining;
+
+    private final Queue<PendingReply> pending = new ArrayDeque<>();
+
+    private boolean flushScheduled;
+
+    public RespConnection(Channel channel, boolean autoPipelining) {
+        this.channel = channel;
+        this.autoPipelining = autoPipelining;
+    }
+
+    public boolean isActive() {
+        return channel.isActive();
+    }
+
+    /**
+     * 发送命令，回复到达时完成 Mono
+     */
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return Mono.create(sink -> {
+            ByteBuf payload = RespCodec.encode(channel.alloc(), command.getArguments());
+            PendingCommand<T> pendingCommand = new PendingCommand<>(command, sink);
+            EventLoop eventLoop = channel.eventLoop();
+            if (eventLoop.inEventLoop()) {
+                write(pendingCommand, payload);
+            } else {
+                eventLoop.execute(() -> write(pendingCommand, payload));
+            }
+        });
+    }
+
+    /**
+     * 批量发送命令：全部命令编码到同一缓冲区，一次写入
+     */
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        if (commands.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return Mono.create(sink -> {
+            ByteBuf payload = channel.alloc().buffer();
+            for (CommandObject<?> command : commands) {
+                RespCodec.encode(payload, command.getArguments());
+            }
+            BatchReply batch = new BatchReply(commands, sink);
+            EventLoop eventLoop = channel.eventLoop();
+            if (eventLoop.inEventLoop()) {
+                writeBatch(batch, payload);
+            } else {
+                eventLoop.execute(() -> writeBatch(batch, payload));
+            }
+        });
+    }
+
+    private void write(PendingReply reply, ByteBuf payload) {
+        if (!channel.isActive()) {
+            payload.release();
+            reply.fail(new JedisConnectionException("Redis 连接已关闭"));
+            return;
+        }
+        pending.add(reply);
+        send(payload);
+    }
+
+    /**
+     * 批量命令的每条回复各占等待队列的一个位置
+     */
+    private void writeBatch(BatchReply batch, ByteBuf payload) {
+        if (!channel.isActive()) {
+            payload.release();
+            batch.fail(new JedisConnectionException("Redis 连接已关闭"));
+            return;
+        }
+        pending.addAll(batch.slots());
+        send(payload);
+    }
+
+    private void send(ByteBuf payload) {
+        if (!autoPipelining) {
+            channel.writeAndFlush(payload).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            return;
+        }
+        channel.write(payload).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        if (!flushScheduled) {
+            // 排在已提交的写入任务之后执行，使并发到达的命令共用一次 flush
+            flushScheduled = true;
+            channel.eventLoop().execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        channel.flush();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        PendingReply reply = pending.poll();
+        if (reply == null) {
+            log.warn("{} 收到无对应命令的回复，已丢弃", LOG_PREFIX);
+            return;
+        }
+        reply.complete(msg == RespCodec.NULL_REPLY ? null : msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        failPending(new JedisConnectionException("Redis 连接已断开"));
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        log.error("{} Redis 连接异常: {}", LOG_PREFIX, cause.getMessage());
+        failPending(cause);
+        ctx.close();
+    }
+
+    /**
+     * 关闭连接
+     */
+    public void close() {
+        channel.close();
+    }
+
+    /**
+     * 连接关闭时完成
+     */
+    public Mono<Void> onClose() {
+        return Mono.create(sink -> channel.closeFuture().addListener(future -> sink.success()));
+    }
+
+    /**
+     * 切换为订阅模式：之后收到的所有消息交给推送处理器，然后发送订阅命令
+     * <p>
+     * 调用前必须确保没有在途命令，切换后不能再通过本对象执行普通命令。
+     * </p>
+     *
+     * @param pushHandler      推送消息处理器
+     * @param subscribeCommand SUBSCRIBE / PSUBSCRIBE 命令
+     */
+    public void subscribe(ChannelHandler pushHandler, CommandArguments subscribeCommand) {
+        channel.eventLoop().execute(() -> {
+            channel.pipeline().replace(this, "redisPushHandler", pushHandler);
+            channel.writeAndFlush(RespCodec.encode(channel.alloc(), subscribeCommand))
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        });
+    }
+
+    /**
+     * 订阅模式下继续发送 SUBSCRIBE / UNSUBSCRIBE 等命令，回复由推送处理器接收
+     */
+    public void send(CommandArguments command) {
+        channel.eventLoop().execute(() ->
+            channel.writeAndFlush(RespCodec.encode(channel.alloc(), command))
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE));
+    }
+
+    private void failPending(Throwable cause) {
+        PendingReply reply;
+        while ((reply = pending.poll()) != null) {
+            reply.fail(cause);
+        }
+    }
+
+    /**
+     * 批量命令的回复汇总，所有回复到达后一次性完成 Mono。仅在事件循环线程中访问
+     */
+    private static final class BatchReply {
+
+        private final List<? extends CommandObject<?>> commands;
+
+        private final MonoSink<List<Object>> sink;
+
+        private final Object[] results;
+
+        private int received;
+
+        BatchReply(List<? extends CommandObject<?>> commands, MonoSink<List<Object>> sink) {
+            this.commands = commands;
+            this.sink = sink;
+            this.results = new Object[commands.size()];
+        }
+
+        /**
+         * 每条命令一个等待位置，按发送顺序排列
+         */
+        List<PendingReply> slots() {
+            List<PendingReply> slots = new ArrayList<>(results.length);
+            for (int i = 0; i < results.length; i++) {
+                slots.add(new Slot(i));
+            }
+            return slots;
+        }
+
+        void fail(Throwable cause) {
+            sink.error(cause);
+        }
+
+        private void complete(int index, Object reply) {
+            results[index] = Pipelines.build(commands.get(index), reply);
+            if (++received == results.length) {
+                sink.success(Arrays.asList(results));
+            }
+        }
+
+        /**
+         * 批量中单条命令的回复
+         */
+        private final class Slot implements PendingReply {
+
+            private final int index;
+
+            private Slot(int index) {
+                this.index = index;
+            }
+
+            @Override
+            public void complete(Object reply) {
+                BatchReply.this.complete(index, reply);
+            }
+
+            @Override
+            public void fail(Throwable cause) {
+                BatchReply.this.fail(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.xhhao.redisconnector.service.engine;
+
+import com.xhhao.redisconnector.service.RedisOptions;
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Protocol;
+
+/**
+ * RESP 连接工厂
+ * <p>
+ * 使用插件独占的事件循环建立连接并完成认证和选库，插件停止时随 {@link #close()} 一并释放。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class RespConnector {
+
+    private final RedisOptions options;
+
+    private final LoopResources loopResources;
+
+    private final TcpClient tcpClient;
+
+    /**
+     * @param options    连接选项
+     * @param threadName 事件循环线程名前缀
+     */
+    public RespConnector(RedisOptions options, String threadName) {
+        this.options = options;
+        this.loopResources = LoopResources.create(threadName, 1, true);
+        this.tcpClient = TcpClient.create()
+            .runOn(loopResources)
+            .host(options.getHost())
+            .port(options.getPort())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, options.getConnectTimeoutMillis())
+            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.SO_KEEPALIVE, true);
+    }
+
+    /**
+     * 建立连接并完成认证和选库
+     *
+     * @param autoPipelining 是否合并同一轮事件循环内的写入
+     */
+    public Mono<RespConnection> connect(boolean autoPipelining) {
+        return tcpClient.connect()
+            .map(conn -> {
+                RespConnection resp = new RespConnection(conn.channel(), autoPipelining);
+                conn.addHandlerLast("redisRespDecoder", new RespCodec.Decoder())
+                    .addHandlerLast(RespConnection.HANDLER_NAME, resp);
+                return resp;
+            })
+            .flatMap(resp -> handshake(resp).thenReturn(resp)
+                .doOnError(e -> resp.close()));
+    }
+
+    private Mono<Void> handshake(RespConnection resp) {
+        Mono<String> auth = Mono.empty();
+        String password = options.getPassword();
+        if (password != null && !password.isEmpty()) {
+            // 与 Jedis 引擎保持一致，Redis 6+ ACL 使用 default 用户
+            auth = resp.execute(new CommandObject<>(new CommandArguments(Protocol.Command.AUTH)
+                .add("default").add(password), BuilderFactory.STRING));
+        }
+        Mono<String> select = Mono.empty();
+        if (options.getDatabase() != 0) {
+            select = resp.execute(new CommandObject<>(new CommandArguments(Protocol.Command.SELECT)
+                .add(options.getDatabase()), BuilderFactory.STRING));
+        }
+        return auth.then(select).then();
+    }
+
+    /**
+     * 释放事件循环
+     */
+    public void close() {
+        loopResources.dispose();
+    }
+}
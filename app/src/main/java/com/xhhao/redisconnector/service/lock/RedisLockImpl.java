@@ -0,0 +1,283 @@
+package com.xhhao.redisconnector.service.lock;
+
+import com.xhhao.redisconnector.api.RedisLock;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 基于 Lua 脚本的分布式锁实现
+ * <p>
+ * 锁键为 {@code redis-connector:lock:{name}}，公平锁的等待队列与心跳键使用相同的哈希标签，
+ * Cluster 模式下落在同一槽，可在一个脚本中原子操作。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisLockImpl implements RedisLock {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final String KEY_PREFIX = "redis-connector:lock:";
+
+    /**
+     * 看门狗模式的租期，每三分之一租期续期一次
+     */
+    private static final Duration WATCHDOG_LEASE = Duration.ofSeconds(30);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    /**
+     * 公平锁等待者超过该时间未轮询即视为已离开
+     */
+    private static final Duration WAITER_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String ACQUIRE_SCRIPT = """
+        if redis.call('exists', KEYS[1]) == 0 or redis.call('hexists', KEYS[1], ARGV[1]) == 1 then
+            redis.call('hincrby', KEYS[1], ARGV[1], 1)
+            redis.call('pexpire', KEYS[1], ARGV[2])
+            return 1
+        end
+        return 0
+        """;
+
+    /**
+     * 排队顺序与等待者心跳使用 Redis 服务端时间，各 Halo 节点的时钟偏差不影响公平性
+     */
+    private static final String FAIR_ACQUIRE_SCRIPT = """
+        local time = redis.call('time')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local stale = redis.call('zrangebyscore', KEYS[3], '-inf', now - tonumber(ARGV[3]))
+        for _, waiter in ipairs(stale) do
+            redis.call('zrem', KEYS[2], waiter)
+            redis.call('zrem', KEYS[3], waiter)
+        end
+        local head = redis.call('zrange', KEYS[2], 0, 0)[1]
+        if redis.call('hexists', KEYS[1], ARGV[1]) == 1
+            or (redis.call('exists', KEYS[1]) == 0 and (head == nil or head == ARGV[1])) then
+            redis.call('hincrby', KEYS[1], ARGV[1], 1)
+            redis.call('pexpire', KEYS[1], ARGV[2])
+            redis.call('zrem', KEYS[2], ARGV[1])
+            redis.call('zrem', KEYS[3], ARGV[1])
+            return 1
+        end
+        redis.call('zadd', KEYS[2], 'NX', now, ARGV[1])
+        redis.call('zadd', KEYS[3], now, ARGV[1])
+        redis.call('pexpire', KEYS[2], ARGV[3])
+        redis.call('pexpire', KEYS[3], ARGV[3])
+        return 0
+        """;
+
+    private static final String LEAVE_QUEUE_SCRIPT = """
+        redis.call('zrem', KEYS[1], ARGV[1])
+        return redis.call('zrem', KEYS[2], ARGV[1])
+        """;
+
+    private static final String EXTEND_SCRIPT = """
+        if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then
+            redis.call('pexpire', KEYS[1], ARGV[2])
+            return 1
+        end
+        return 0
+        """;
+
+    private static final String RELEASE_SCRIPT = """
+        if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then
+            return -1
+        end
+        if redis.call('hincrby', KEYS[1], ARGV[1], -1) > 0 then
+            return 0
+        end
+        redis.call('del', KEYS[1])
+        return 1
+        """;
+
+    private final RedisClientImpl client;
+
+    public RedisLockImpl(RedisClientImpl client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<Lock> tryLock(String name) {
+        return tryLock(name, null, newOwner());
+    }
+
+    @Override
+    public Mono<Lock> tryLock(String name, Duration lease) {
+        return tryLock(name, lease, newOwner());
+    }
+
+    @Override
+    public Mono<Lock> tryLock(String name, @Nullable Duration lease, String owner) {
+        Duration effectiveLease = lease != null ? lease : WATCHDOG_LEASE;
+        return acquire(name, owner, effectiveLease)
+            .filter(Boolean::booleanValue)
+            .map(acquired -> newHandle(name, owner, effectiveLease, lease == null));
+    }
+
+    @Override
+    public Mono<Lock> lock(String name, Duration waitTime) {
+        String owner = newOwner();
+        return poll(() -> acquire(name, owner, WATCHDOG_LEASE), waitTime)
+            .map(acquired -> newHandle(name, owner, WATCHDOG_LEASE, true));
+    }
+
+    @Override
+    public Mono<Lock> fairLock(String name, Duration waitTime) {
+        String owner = newOwner();
+        String lockKey = lockKey(name);
+        List<String> keys = List.of(lockKey, lockKey + ":queue", lockKey + ":seen");
+        Supplier<Mono<Boolean>> attempt = () -> eval(FAIR_ACQUIRE_SCRIPT, keys,
+            List.of(owner, String.valueOf(WATCHDOG_LEASE.toMillis()),
+                String.valueOf(WAITER_TIMEOUT.toMillis())))
+            .map(result -> result == 1L);
+        Mono<Void> leaveQueue = Mono.defer(() -> eval(LEAVE_QUEUE_SCRIPT, keys.subList(1, 3),
+                List.of(owner))
+            .onErrorResume(e -> Mono.empty())
+            .then());
+        return poll(attempt, waitTime)
+            .switchIfEmpty(leaveQueue.then(Mono.empty()))
+            .doOnCancel(() -> leaveQueue.subscribe())
+            .map(acquired -> newHandle(name, owner, WATCHDOG_LEASE, true));
+    }
+
+    @Override
+    public <T> Mono<T> withLock(String name, Mono<T> task) {
+        return Mono.usingWhen(tryLock(name), lock -> task, Lock::unlock);
+    }
+
+    private Mono<Boolean> acquire(String name, String owner, Duration lease) {
+        return eval(ACQUIRE_SCRIPT, List.of(lockKey(name)),
+            List.of(owner, String.valueOf(lease.toMillis())))
+            .map(result -> result == 1L);
+    }
+
+    /**
+     * 反复尝试直到成功或超时，超时返回空
+     */
+    private Mono<Boolean> poll(Supplier<Mono<Boolean>> attempt, Duration waitTime) {
+        long deadline = System.nanoTime() + waitTime.toNanos();
+        return Mono.defer(attempt)
+            .filter(Boolean::booleanValue)
+            .repeatWhenEmpty(repeats -> repeats
+                .takeWhile(round -> System.nanoTime() < deadline)
+                .concatMap(round -> Mono.delay(POLL_INTERVAL)));
+    }
+
+    private Mono<Long> eval(String script, List<String> keys, List<String> args) {
+        return client.script(script).eval(keys, args, Long.class);
+    }
+
+    private Handle newHandle(String name, String owner, Duration lease, boolean watchdog) {
+        Handle handle = new Handle(name, owner);
+        if (watchdog) {
+            handle.startWatchdog(lease);
+        }
+        return handle;
+    }
+
+    private static String lockKey(String name) {
+        return KEY_PREFIX + "{" + name + "}";
+    }
+
+    private static String newOwner() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 锁句柄
+     */
+    private class Handle implements Lock {
+
+        private final String name;
+
+        private final String owner;
+
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        @Nullable
+        private volatile Disposable watchdog;
+
+        private Handle(String name, String owner) {
+            this.name = name;
+            this.owner = owner;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String owner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return held.get();
+        }
+
+        @Override
+        public Mono<Boolean> extend(Duration lease) {
+            return eval(EXTEND_SCRIPT, List.of(lockKey(name)),
+                List.of(owner, String.valueOf(lease.toMillis())))
+                .map(result -> {
+                    boolean extended = result == 1L;
+                    if (!extended) {
+                        held.set(false);
+                    }
+                    return extended;
+                });
+        }
+
+        @Override
+        public Mono<Boolean> unlock() {
+            return Mono.defer(() -> {
+                if (!held.compareAndSet(true, false)) {
+                    return Mono.just(false);
+                }
+                stopWatchdog();
+                return eval(RELEASE_SCRIPT, List.of(lockKey(name)), List.of(owner))
+                    .map(result -> result >= 0);
+            });
+        }
+
+        /**
+         * 每三分之一租期续期一次；续期出错（如网络抖动）时下次继续尝试，锁已不属于自己时停止
+         */
+        private void startWatchdog(Duration lease) {
+            watchdog = Flux.interval(lease.dividedBy(3))
+                .concatMap(tick -> extend(lease)
+                    .onErrorResume(e -> {
+                        log.warn("{} 锁 {} 续期失败: {}", LOG_PREFIX, name, e.getMessage());
+                        return Mono.just(true);
+                    }))
+                .takeUntil(extended -> !extended)
+                .subscribe(extended -> {
+                    if (!extended) {
+                        log.warn("{} 锁 {} 已丢失，停止续期", LOG_PREFIX, name);
+                    }
+                });
+        }
+
+        private void stopWatchdog() {
+            Disposable current = watchdog;
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.xhhao.redisconnector.service.metrics;
+
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 组装命令时的调用方
+ * <p>
+ * 取调用栈中第一个不属于本插件、Reactor、JDK 等基础设施的帧。所属插件由该类的类加载器确定：
+ * 每个 Halo 插件由独立的类加载器加载，优先从中读取插件自己的 {@code plugin.yaml} 中的
+ * {@code metadata.name}；读不到时退回类名的前三段包名（如 {@code run.halo.moments}）。
+ * 结果按类缓存，同一个类只解析一次。
+ * </p>
+ * <p>
+ * 命令在订阅时才组装（如开启从节点读取或近端缓存后的部分调用）时，调用栈中已没有调用方，
+ * 此时需要调用方通过 {@link com.xhhao.redisconnector.api.RedisCaller} 或插件专属客户端显式声明。
+ * </p>
+ *
+ * @param caller 调用方（类名#方法名），未知时为 null
+ * @param plugin 所属插件，未知时为 null
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record CallSite(@Nullable String caller, @Nullable String plugin) {
+
+    /**
+     * 调用方与所属插件均未知
+     */
+    public static final CallSite UNKNOWN = new CallSite(null, null);
+
+    private static final StackWalker STACK_WALKER =
+        StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final String[] INFRASTRUCTURE_PACKAGES = {
+        "com.xhhao.redisconnector.", "reactor.", "java.", "javax.", "jdk.", "sun.",
+        "io.netty.", "org.springframework.", "redis.clients.", "kotlin.", "kotlinx."
+    };
+
+    private static final ClassValue<String> PLUGINS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String plugin = pluginName(type.getClassLoader());
+            return plugin != null ? plugin : packagePrefix(type.getName());
+        }
+    };
+
+    /**
+     * 从当前调用栈解析调用方
+     */
+    public static CallSite capture() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> !isInfrastructure(frame.getClassName()))
+            .findFirst()
+            .map(frame -> new CallSite(frame.getClassName() + "#" + frame.getMethodName(),
+                PLUGINS.get(frame.getDeclaringClass())))
+            .orElse(UNKNOWN));
+    }
+
+    private static boolean isInfrastructure(String className) {
+        for (String prefix : INFRASTRUCTURE_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取类加载器中 plugin.yaml 的 metadata.name
+     */
+    @Nullable
+    private static String pluginName(@Nullable ClassLoader loader) {
+        if (loader == null) {
+            return null;
+        }
+        URL descriptor = loader.getResource("plugin.yaml");
+        if (descriptor == null) {
+            return null;
+        }
+        try (InputStream input = descriptor.openStream();
+             BufferedReader reader = new BufferedReader(
+                 new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            boolean inMetadata = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(" ") && !line.isBlank()) {
+                    inMetadata = line.startsWith("metadata:");
+                } else if (inMetadata && line.trim().startsWith("name:")) {
+                    String name = line.trim().substring("name:".length()).trim();
+                    return name.replace("\"", "").replace("'", "");
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static String packagePrefix(String className) {
+        int end = -1;
+        for (int i = 0; i < 3; i++) {
+            int next = className.indexOf('.', end + 1);
+            if (next < 0) {
+                break;
+            }
+            end = next;
+        }
+        return end > 0 ? className.substring(0, end) : className;
+    }
+}
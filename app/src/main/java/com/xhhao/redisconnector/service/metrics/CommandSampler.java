@@ -0,0 +1,332 @@
+package com.xhhao.redisconnector.service.metrics;
+
+import org.springframework.lang.Nullable;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 慢命令与热点键采样
+ * <p>
+ * 耗时超过阈值的命令写入固定大小的环形缓冲区，记录命令、键、调用方、耗时与请求 / 回复大小；
+ * 另按采样率抽取命令统计热点键（Space-Saving 算法，内存有上限）与大值。
+ * 未超过阈值且未被抽中的命令只有一次比较和一次随机数的开销。
+ * </p>
+ * <p>
+ * 调用方由 {@link CallSite} 在组装命令时遍历调用栈确定，开销远大于计时本身，
+ * 因此慢命令日志开启时也只对每 {@value #CALLER_SAMPLE_RATE} 条命令抽取一条确定调用方；
+ * 慢命令恰好被抽中时才带有调用方，否则调用方为空。配置了插件配额时每条命令都需要确定所属插件，
+ * 此时慢命令总带有调用方。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class CommandSampler {
+
+    private static final int SLOW_LOG_SIZE = 128;
+
+    /**
+     * 每多少条命令抽取一条遍历调用栈确定调用方
+     */
+    static final int CALLER_SAMPLE_RATE = 32;
+
+    private static final int HOT_KEY_CAPACITY = 1000;
+
+    private static final int BIG_VALUE_CAPACITY = 100;
+
+    private static final int TOP_K = 20;
+
+    /**
+     * 计入大值统计的最小字节数
+     */
+    private static final long BIG_VALUE_MIN_BYTES = 1024;
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    /**
+     * 没有键的命令，第一个参数不是键
+     */
+    private static final Set<String> KEYLESS_COMMANDS = Set.of("PING", "ECHO", "INFO", "TIME",
+        "DBSIZE", "SCAN", "CLIENT", "CONFIG", "CLUSTER", "SCRIPT", "FUNCTION", "SELECT", "AUTH",
+        "HELLO", "PUBLISH", "SUBSCRIBE", "PSUBSCRIBE", "MULTI", "EXEC", "DISCARD", "FLUSHDB",
+        "FLUSHALL", "SLOWLOG", "MEMORY", "LATENCY", "XREAD", "XREADGROUP");
+
+    private static final Set<String> SCRIPT_COMMANDS = Set.of("EVAL", "EVALSHA", "EVAL_RO",
+        "EVALSHA_RO", "FCALL", "FCALL_RO");
+
+    private volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private volatile int sampleRate = 100;
+
+    private final AtomicReferenceArray<SlowCommand> slowLog =
+        new AtomicReferenceArray<>(SLOW_LOG_SIZE);
+
+    private final AtomicLong slowCount = new AtomicLong();
+
+    private final Map<String, LongAdder> hotKeys = new ConcurrentHashMap<>();
+
+    private final Map<String, BigValue> bigValues = new ConcurrentHashMap<>();
+
+    private final LongAdder samples = new LongAdder();
+
+    /**
+     * 更新采样参数
+     *
+     * @param thresholdMillis 慢命令阈值（毫秒），0 表示不记录慢命令
+     * @param sampleRate      每多少条命令抽取一条统计热点键与大值，0 表示不统计
+     */
+    public void configure(int thresholdMillis, int sampleRate) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, thresholdMillis));
+        this.sampleRate = Math.max(0, sampleRate);
+    }
+
+    /**
+     * 是否为本条命令确定调用方：慢命令日志开启时按 1/{@value #CALLER_SAMPLE_RATE} 抽取，
+     * 关闭时不需要调用方
+     */
+    public boolean shouldCaptureCaller() {
+        return thresholdNanos > 0
+            && ThreadLocalRandom.current().nextInt(CALLER_SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * 记录一条已完成的命令
+     *
+     * @param command 命令
+     * @param caller  调用方，未知时为 null
+     * @param nanos   耗时
+     * @param reply   回复，出错时为 null
+     * @param error   错误，成功时为 null
+     */
+    public void record(CommandObject<?> command, @Nullable String caller, long nanos,
+                       @Nullable Object reply, @Nullable Throwable error) {
+        long threshold = thresholdNanos;
+        boolean slow = threshold > 0 && nanos >= threshold;
+        int rate = sampleRate;
+        boolean sampled = rate > 0 && ThreadLocalRandom.current().nextInt(rate) == 0;
+        if (!slow && !sampled) {
+            return;
+        }
+        CommandArguments arguments = command.getArguments();
+        String name = SafeEncoder.encode(arguments.getCommand().getRaw());
+        String key = keyOf(name, arguments);
+        long requestBytes = Payloads.requestBytes(arguments);
+        long replyBytes = Payloads.replyBytes(reply);
+        if (slow) {
+            addSlow(new SlowCommand(System.currentTimeMillis(), name, key, caller,
+                TimeUnit.NANOSECONDS.toMicros(nanos), requestBytes, replyBytes,
+                error != null ? error.getMessage() : null));
+        }
+        if (sampled && key != null) {
+            samples.increment();
+            countHotKey(key);
+            trackBigValue(key, name, Math.max(requestBytes, replyBytes));
+        }
+    }
+
+    /**
+     * 记录一次已完成的流水线批量执行，只参与慢命令记录
+     */
+    public void recordPipeline(List<? extends CommandObject<?>> commands, @Nullable String caller,
+                               long nanos, @Nullable Throwable error) {
+        long threshold = thresholdNanos;
+        if (threshold <= 0 || nanos < threshold) {
+            return;
+        }
+        long requestBytes = 0;
+        String firstKey = null;
+        for (CommandObject<?> command : commands) {
+            CommandArguments arguments = command.getArguments();
+            requestBytes += Payloads.requestBytes(arguments);
+            if (firstKey == null) {
+                firstKey = keyOf(SafeEncoder.encode(arguments.getCommand().getRaw()), arguments);
+            }
+        }
+        addSlow(new SlowCommand(System.currentTimeMillis(),
+            RedisMetrics.PIPELINE + "(" + commands.size() + ")", firstKey, caller,
+            TimeUnit.NANOSECONDS.toMicros(nanos), requestBytes, -1,
+            error != null ? error.getMessage() : null));
+    }
+
+    /**
+     * 当前采样结果，用于诊断页面展示
+     */
+    public Map<String, Object> snapshot() {
+        List<SlowCommand> slow = new ArrayList<>(SLOW_LOG_SIZE);
+        for (int i = 0; i < SLOW_LOG_SIZE; i++) {
+            SlowCommand entry = slowLog.get(i);
+            if (entry != null) {
+                slow.add(entry);
+            }
+        }
+        slow.sort(Comparator.comparingLong(SlowCommand::timestamp).reversed());
+
+        int rate = sampleRate;
+        List<Map<String, Object>> hot = hotKeys.entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(TOP_K)
+            .map(entry -> Map.<String, Object>of(
+                "key", entry.getKey(),
+                "samples", entry.getValue(),
+                "estimated", entry.getValue() * Math.max(1, rate)))
+            .toList();
+
+        List<BigValue> big = bigValues.values().stream()
+            .sorted(Comparator.comparingLong(BigValue::bytes).reversed())
+            .limit(TOP_K)
+            .toList();
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("thresholdMillis", TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        snapshot.put("sampleRate", rate);
+        snapshot.put("samples", samples.sum());
+        snapshot.put("slowCommandTotal", slowCount.get());
+        snapshot.put("slowCommands", slow);
+        snapshot.put("hotKeys", hot);
+        snapshot.put("bigValues", big);
+        return snapshot;
+    }
+
+    /**
+     * 清空采样结果
+     */
+    public void reset() {
+        for (int i = 0; i < SLOW_LOG_SIZE; i++) {
+            slowLog.set(i, null);
+        }
+        slowCount.set(0);
+        hotKeys.clear();
+        bigValues.clear();
+        samples.reset();
+    }
+
+    private void addSlow(SlowCommand entry) {
+        slowLog.set((int) (slowCount.getAndIncrement() % SLOW_LOG_SIZE), entry);
+    }
+
+    /**
+     * Space-Saving：计数器已满时淘汰计数最小的键，新键继承其计数，
+     * 真正的热点键不会被淘汰，计数的误差不超过被继承的值
+     */
+    private void countHotKey(String key) {
+        LongAdder counter = hotKeys.get(key);
+        if (counter == null) {
+            synchronized (hotKeys) {
+                counter = hotKeys.get(key);
+                if (counter == null) {
+                    counter = new LongAdder();
+                    if (hotKeys.size() >= HOT_KEY_CAPACITY) {
+                        counter.add(evictColdest());
+                    }
+                    hotKeys.put(key, counter);
+                }
+            }
+        }
+        counter.increment();
+    }
+
+    private long evictColdest() {
+        String coldest = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, LongAdder> entry : hotKeys.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count < min) {
+                min = count;
+                coldest = entry.getKey();
+            }
+        }
+        if (coldest == null) {
+            return 0;
+        }
+        hotKeys.remove(coldest);
+        return min;
+    }
+
+    private void trackBigValue(String key, String command, long bytes) {
+        if (bytes < BIG_VALUE_MIN_BYTES) {
+            return;
+        }
+        BigValue previous = bigValues.get(key);
+        if (previous != null && previous.bytes() >= bytes) {
+            return;
+        }
+        bigValues.put(key, new BigValue(key, command, bytes));
+        if (bigValues.size() > BIG_VALUE_CAPACITY) {
+            synchronized (bigValues) {
+                while (bigValues.size() > BIG_VALUE_CAPACITY) {
+                    bigValues.values().stream()
+                        .min(Comparator.comparingLong(BigValue::bytes))
+                        .ifPresent(smallest -> bigValues.remove(smallest.key()));
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static String keyOf(String command, CommandArguments arguments) {
+        if (KEYLESS_COMMANDS.contains(command)) {
+            return null;
+        }
+        Iterator<Rawable> iterator = arguments.iterator();
+        iterator.next();
+        if (SCRIPT_COMMANDS.contains(command)) {
+            // EVALSHA sha numkeys key ...
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            iterator.next();
+            if (!iterator.hasNext()
+                || "0".equals(SafeEncoder.encode(iterator.next().getRaw()))) {
+                return null;
+            }
+        }
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        String key = SafeEncoder.encode(iterator.next().getRaw());
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) + "…" : key;
+    }
+
+    /**
+     * 慢命令记录
+     *
+     * @param timestamp    完成时间（毫秒时间戳）
+     * @param command      命令名，流水线为 {@code PIPELINE(命令数)}
+     * @param key          第一个键，无键命令为 null
+     * @param caller       调用方（类名#方法名），未知时为 null
+     * @param micros       耗时（微秒）
+     * @param requestBytes 请求参数大小
+     * @param replyBytes   回复大小估算，流水线为 -1
+     * @param error        错误信息，成功时为 null
+     */
+    public record SlowCommand(long timestamp, String command, String key, String caller,
+                              long micros, long requestBytes, long replyBytes, String error) {
+    }
+
+    /**
+     * 大值记录
+     *
+     * @param key     键
+     * @param command 观察到该大小的命令
+     * @param bytes   请求或回复的大小
+     */
+    public record BigValue(String key, String command, long bytes) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.xhhao.redisconnector.service.metrics;
+
+import com.xhhao.redisconnector.api.RedisCaller;
+import com.xhhao.redisconnector.service.engine.RedisEngine;
+import com.xhhao.redisconnector.service.quota.PluginQuotas;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import redis.clients.jedis.CommandObject;
+
+import java.util.List;
+
+/**
+ * 记录指标并执行插件配额的引擎包装
+ * <p>
+ * 所属插件优先取调用链的 Context 中通过 {@link RedisCaller} 声明的插件。
+ * 遍历调用栈有开销，配置了插件配额时每条命令都要进行，否则只为慢命令日志抽样进行；
+ * 未遍历调用栈且未声明的调用方计入 {@link PluginQuotas#UNKNOWN}。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class MeteredEngine implements RedisEngine {
+
+    private final RedisEngine delegate;
+
+    private final RedisMetrics metrics;
+
+    private final PluginQuotas quotas;
+
+    public MeteredEngine(RedisEngine delegate, RedisMetrics metrics, PluginQuotas quotas) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.quotas = quotas;
+    }
+
+    /**
+     * 被包装的引擎，用于访问具体引擎的专有能力（如集群按节点执行）
+     */
+    public RedisEngine delegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        CallSite site = capture();
+        Mono<T> operation = metrics.record(command, site.caller(), delegate.execute(command));
+        return Mono.deferContextual(context ->
+            quotas.run(pluginOf(context, site), command, operation));
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        CallSite site = capture();
+        Mono<List<Object>> operation =
+            metrics.recordPipeline(commands, site.caller(), delegate.executeAll(commands));
+        return Mono.deferContextual(context ->
+            quotas.run(pluginOf(context, site), commands, operation));
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private CallSite capture() {
+        return quotas.isLimited() || metrics.needsCaller() ? CallSite.capture() : CallSite.UNKNOWN;
+    }
+
+    private static String pluginOf(ContextView context, CallSite site) {
+        String plugin = RedisCaller.pluginOf(context);
+        if (plugin == null) {
+            plugin = site.plugin();
+        }
+        return plugin != null ? plugin : PluginQuotas.UNKNOWN;
+    }
+}
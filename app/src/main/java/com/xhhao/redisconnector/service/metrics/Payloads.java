@@ -0,0 +1,85 @@
+package com.xhhao.redisconnector.service.metrics;
+
+import org.springframework.lang.Nullable;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.resps.Tuple;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 命令请求与回复的大小估算
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public final class Payloads {
+
+    /**
+     * 估算集合大小时最多遍历的元素数，超出部分按平均值推算
+     */
+    private static final int SAMPLE_ELEMENTS = 100;
+
+    private Payloads() {
+        // 工具类禁止实例化
+    }
+
+    /**
+     * 请求参数的字节数（含命令名）
+     */
+    public static long requestBytes(CommandArguments arguments) {
+        long total = 0;
+        for (Rawable argument : arguments) {
+            total += argument.getRaw().length;
+        }
+        return total;
+    }
+
+    /**
+     * 估算回复大小（字节），集合只遍历前若干个元素并按平均值推算
+     */
+    public static long replyBytes(@Nullable Object reply) {
+        return sizeOf(reply, 0);
+    }
+
+    private static long sizeOf(@Nullable Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[] raw) {
+            return raw.length;
+        }
+        if (value instanceof String text) {
+            return text.length();
+        }
+        if (value instanceof Number) {
+            return 8;
+        }
+        if (value instanceof Tuple tuple) {
+            return tuple.getBinaryElement().length + 8L;
+        }
+        if (depth > 2) {
+            return 0;
+        }
+        Collection<?> elements;
+        if (value instanceof Collection<?> collection) {
+            elements = collection;
+        } else if (value instanceof Map<?, ?> map) {
+            elements = map.entrySet();
+        } else if (value instanceof Map.Entry<?, ?> entry) {
+            return sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+        } else {
+            return 0;
+        }
+        long total = 0;
+        int visited = 0;
+        for (Object element : elements) {
+            total += sizeOf(element, depth + 1);
+            if (++visited >= SAMPLE_ELEMENTS) {
+                return total * elements.size() / visited;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,287 @@
+package com.xhhao.redisconnector.service.metrics;
+
+import com.xhhao.redisconnector.service.breaker.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 命令与连接池指标
+ * <p>
+ * 注册到 Micrometer 全局注册表，Spring Boot 会把 Halo 的注册表（含 Prometheus）加入全局注册表，
+ * 因此指标随 Halo 的 actuator 端点一起暴露：
+ * </p>
+ * <ul>
+ *     <li>{@code redis.connector.commands}：按命令与结果（success / error）统计耗时，
+ *     含 p50 / p99 / p999 与直方图；流水线批量执行的命令名为 {@code PIPELINE}</li>
+ *     <li>{@code redis.connector.command.errors}：按命令与异常类型统计的错误数</li>
+ *     <li>{@code redis.connector.command.fallbacks}：调用方因 Redis 不可用（unavailable）、
+ *     熔断器打开（circuit_open）或命令出错（error）而拿到默认值的次数</li>
+ *     <li>{@code redis.connector.pool.*}：连接池活跃、空闲、等待数与借用等待时间，
+ *     Cluster 模式下没有单一连接池，值为 NaN</li>
+ * </ul>
+ * <p>
+ * 同时把每条命令的耗时交给 {@link CommandSampler}，用于慢命令与热点键诊断。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class RedisMetrics {
+
+    private static final String PREFIX = "redis.connector.";
+
+    /**
+     * 流水线批量执行的命令名
+     */
+    public static final String PIPELINE = "PIPELINE";
+
+    private final MeterRegistry registry;
+
+    private final CommandSampler sampler;
+
+    private final Map<ProtocolCommand, CommandMeters> byCommand = new ConcurrentHashMap<>();
+
+    private final Map<String, CommandMeters> byName = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册的指标，插件停止时从全局注册表移除，避免重新加载后残留旧实例
+     */
+    private final List<Meter> registered = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param registry 指标注册表
+     * @param pool     当前连接池，未连接或 Cluster 模式下为 null
+     * @param sampler  慢命令与热点键采样
+     */
+    public RedisMetrics(MeterRegistry registry, Supplier<JedisPool> pool,
+                        CommandSampler sampler) {
+        this.registry = registry;
+        this.sampler = sampler;
+        poolGauge("active", "借出的连接数", pool, JedisPool::getNumActive);
+        poolGauge("idle", "空闲连接数", pool, JedisPool::getNumIdle);
+        poolGauge("waiters", "等待借用连接的线程数", pool, JedisPool::getNumWaiters);
+        poolGauge("max", "最大连接数", pool, JedisPool::getMaxTotal);
+        poolTimeGauge("borrow.wait.mean", "平均借用等待时间", pool,
+            JedisPool::getMeanBorrowWaitTimeMillis);
+        poolTimeGauge("borrow.wait.max", "最大借用等待时间", pool,
+            JedisPool::getMaxBorrowWaitTimeMillis);
+    }
+
+    /**
+     * 本条命令是否需要调用方：只有慢命令日志会记录调用方，且只抽样确定
+     */
+    public boolean needsCaller() {
+        return sampler.shouldCaptureCaller();
+    }
+
+    /**
+     * 记录单条命令的耗时与错误，调用方未知
+     */
+    public <T> Mono<T> record(CommandObject<?> command, Mono<T> operation) {
+        return record(command, null, operation);
+    }
+
+    /**
+     * 记录单条命令的耗时与错误
+     *
+     * @param caller 调用方（类名#方法名），未知时为 null
+     */
+    public <T> Mono<T> record(CommandObject<?> command, @Nullable String caller,
+                              Mono<T> operation) {
+        return record(meters(command), operation,
+            (nanos, value, error) -> sampler.record(command, caller, nanos, value, error));
+    }
+
+    /**
+     * 记录一次流水线批量执行的耗时与错误
+     *
+     * @param caller 调用方（类名#方法名），未知时为 null
+     */
+    public <T> Mono<T> recordPipeline(List<? extends CommandObject<?>> commands,
+                                      @Nullable String caller, Mono<T> operation) {
+        return record(meters(PIPELINE), operation,
+            (nanos, value, error) -> sampler.recordPipeline(commands, caller, nanos, error));
+    }
+
+    /**
+     * 记录一次降级：调用方拿到的是默认值而不是命令结果
+     *
+     * @param command 命令，为 null 时记为流水线
+     * @param error   导致降级的错误，为 null 表示 Redis 不可用
+     */
+    public void fallback(@Nullable CommandObject<?> command, @Nullable Throwable error) {
+        CommandMeters commandMeters = command != null ? meters(command) : meters(PIPELINE);
+        if (error == null) {
+            commandMeters.unavailableFallbacks.increment();
+        } else if (error instanceof CircuitOpenException) {
+            commandMeters.circuitOpenFallbacks.increment();
+        } else {
+            commandMeters.errorFallbacks.increment();
+        }
+    }
+
+    /**
+     * 从注册表移除全部指标
+     */
+    public void close() {
+        registered.forEach(registry::remove);
+        registered.clear();
+        byCommand.clear();
+        byName.clear();
+    }
+
+    private <T> Mono<T> record(CommandMeters commandMeters, Mono<T> operation,
+                               Completion completion) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return operation
+                .doOnSuccess(value -> {
+                    long nanos = System.nanoTime() - start;
+                    commandMeters.success.record(nanos, TimeUnit.NANOSECONDS);
+                    completion.accept(nanos, value, null);
+                })
+                .doOnError(e -> {
+                    long nanos = System.nanoTime() - start;
+                    commandMeters.failure.record(nanos, TimeUnit.NANOSECONDS);
+                    completion.accept(nanos, null, e);
+                    commandMeters.error(e.getClass()).increment();
+                });
+        });
+    }
+
+    private CommandMeters meters(CommandObject<?> command) {
+        ProtocolCommand protocolCommand = command.getArguments().getCommand();
+        CommandMeters commandMeters = byCommand.get(protocolCommand);
+        if (commandMeters == null) {
+            commandMeters = byCommand.computeIfAbsent(protocolCommand,
+                key -> meters(SafeEncoder.encode(key.getRaw())));
+        }
+        return commandMeters;
+    }
+
+    private CommandMeters meters(String name) {
+        return byName.computeIfAbsent(name, CommandMeters::new);
+    }
+
+    private <M extends Meter> M register(M meter) {
+        // 同一指标重复注册时注册表返回同一实例，这里只需记录一次
+        if (!registered.contains(meter)) {
+            registered.add(meter);
+        }
+        return meter;
+    }
+
+    private void poolGauge(String name, String description, Supplier<JedisPool> pool,
+                           ToDoubleFunction<JedisPool> value) {
+        register(Gauge.builder(PREFIX + "pool." + name, pool, supplier -> {
+                JedisPool current = supplier.get();
+                return current != null ? value.applyAsDouble(current) : Double.NaN;
+            })
+            .description(description)
+            .register(registry));
+    }
+
+    private void poolTimeGauge(String name, String description, Supplier<JedisPool> pool,
+                               ToDoubleFunction<JedisPool> millis) {
+        register(TimeGauge.builder(PREFIX + "pool." + name, pool, TimeUnit.MILLISECONDS,
+                supplier -> {
+                    JedisPool current = supplier.get();
+                    return current != null ? millis.applyAsDouble(current) : Double.NaN;
+                })
+            .description(description)
+            .register(registry));
+    }
+
+    /**
+     * 命令完成回调
+     */
+    @FunctionalInterface
+    private interface Completion {
+
+        void accept(long nanos, @Nullable Object value, @Nullable Throwable error);
+    }
+
+    /**
+     * 单个命令的指标，首次执行该命令时创建
+     */
+    private final class CommandMeters {
+
+        private final String name;
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private final Counter unavailableFallbacks;
+
+        private final Counter errorFallbacks;
+
+        private final Counter circuitOpenFallbacks;
+
+        /**
+         * 按异常类型懒创建的错误计数，失败路径上只有一次查表
+         */
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        private CommandMeters(String name) {
+            this.name = name;
+            this.success = register(timer(name, "success"));
+            this.failure = register(timer(name, "error"));
+            this.unavailableFallbacks = register(fallbackCounter(name, "unavailable"));
+            this.errorFallbacks = register(fallbackCounter(name, "error"));
+            this.circuitOpenFallbacks = register(fallbackCounter(name, "circuit_open"));
+        }
+
+        private Counter error(Class<?> type) {
+            Counter counter = errors.get(type);
+            if (counter == null) {
+                counter = errors.computeIfAbsent(type, key -> register(
+                    Counter.builder(PREFIX + "command.errors")
+                        .description("Redis 命令错误数")
+                        .tag("command", name)
+                        .tag("exception", key.getSimpleName())
+                        .register(registry)));
+            }
+            return counter;
+        }
+
+        private Timer timer(String command, String outcome) {
+            return Timer.builder(PREFIX + "commands")
+                .description("Redis 命令耗时")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        }
+
+        private Counter fallbackCounter(String command, String reason) {
+            return Counter.builder(PREFIX + "command.fallbacks")
+                .description("因 Redis 不可用、熔断或命令出错而返回默认值的次数")
+                .tag("command", command)
+                .tag("reason", reason)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.xhhao.redisconnector.service.pubsub;
+
+import com.xhhao.redisconnector.api.RedisMessage;
+import com.xhhao.redisconnector.service.RedisOptions;
+import com.xhhao.redisconnector.service.engine.RespConnection;
+import com.xhhao.redisconnector.service.engine.RespConnector;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 共享订阅连接
+ * <p>
+ * 进程内所有订阅复用一条 Netty 订阅连接：同一频道（模式）被多个订阅者订阅时只向 Redis 订阅一次，
+ * 最后一个订阅者取消时退订。I/O 线程只把消息放入各订阅者的有界缓冲区，
+ * 订阅者的处理通过 {@code publishOn} 转到 boundedElastic 线程执行，不会占用 Netty 事件循环；
+ * 消费过慢的订阅者缓冲区满后丢弃新消息，不会拖慢其他订阅者和同一连接上的读取。
+ * </p>
+ * <p>
+ * 订阅关系独立于连接保存：连接断开或插件重新初始化（包括 Sentinel 主从切换）后，
+ * 在新连接上重新订阅全部频道和模式。Pub/Sub 本身是至多一次投递，断线期间的消息会丢失。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class PubSubHub {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(2);
+
+    /**
+     * 每个订阅者缓冲的消息数
+     */
+    private static final int SUBSCRIBER_BUFFER = 1024;
+
+    /**
+     * 每个订阅者转到处理线程前预取的消息数，与 {@link #SUBSCRIBER_BUFFER} 一起构成订阅者的积压上限
+     */
+    private static final int SUBSCRIBER_PREFETCH = Queues.SMALL_BUFFER_SIZE;
+
+    private final Map<String, Set<Sinks.Many<RedisMessage>>> channels = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Sinks.Many<RedisMessage>>> patterns = new ConcurrentHashMap<>();
+
+    @Nullable
+    private RespConnector connector;
+
+    @Nullable
+    private RespConnection connection;
+
+    private boolean connecting;
+
+    /**
+     * 每次切换目标递增，用于丢弃旧目标上迟到的连接结果
+     */
+    private long generation;
+
+    /**
+     * 切换到新的 Redis 节点，有订阅时立即连接并重新订阅
+     */
+    public synchronized void connectTo(RedisOptions options) {
+        closeConnection();
+        connector = new RespConnector(options, "redis-connector-pubsub");
+        generation++;
+        if (!channels.isEmpty() || !patterns.isEmpty()) {
+            connect(generation);
+        }
+    }
+
+    /**
+     * 断开连接，保留订阅关系，下次 {@link #connectTo} 时恢复
+     */
+    public synchronized void disconnect() {
+        closeConnection();
+        generation++;
+    }
+
+    /**
+     * 当前订阅的频道数与模式数，用于状态展示
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+            "connected", connection != null,
+            "channels", channels.size(),
+            "patterns", patterns.size());
+    }
+
+    public Flux<RedisMessage> subscribe(Collection<String> names) {
+        return listen(channels, Protocol.Command.SUBSCRIBE, Protocol.Command.UNSUBSCRIBE, names);
+    }
+
+    public Flux<RedisMessage> psubscribe(Collection<String> names) {
+        return listen(patterns, Protocol.Command.PSUBSCRIBE, Protocol.Command.PUNSUBSCRIBE,
+            names);
+    }
+
+    private Flux<RedisMessage> listen(Map<String, Set<Sinks.Many<RedisMessage>>> registry,
+                                      Protocol.Command subscribe, Protocol.Command unsubscribe,
+                                      Collection<String> names) {
+        List<String> distinct = names.stream().distinct().toList();
+        if (distinct.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            Sinks.Many<RedisMessage> sink = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<RedisMessage>get(SUBSCRIBER_BUFFER).get());
+            register(registry, subscribe, distinct, sink);
+            return sink.asFlux()
+                .publishOn(Schedulers.boundedElastic(), SUBSCRIBER_PREFETCH)
+                .doFinally(signal -> unregister(registry, unsubscribe, distinct, sink));
+        });
+    }
+
+    private synchronized void register(Map<String, Set<Sinks.Many<RedisMessage>>> registry,
+                                       Protocol.Command subscribe, List<String> names,
+                                       Sinks.Many<RedisMessage> sink) {
+        List<String> added = new ArrayList<>();
+        for (String name : names) {
+            registry.computeIfAbsent(name, key -> {
+                added.add(key);
+                return new CopyOnWriteArraySet<>();
+            }).add(sink);
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        if (connection != null) {
+            connection.send(command(subscribe, added));
+        } else if (!connecting && connector != null) {
+            connect(generation);
+        }
+    }
+
+    private synchronized void unregister(Map<String, Set<Sinks.Many<RedisMessage>>> registry,
+                                         Protocol.Command unsubscribe, List<String> names,
+                                         Sinks.Many<RedisMessage> sink) {
+        List<String> removed = new ArrayList<>();
+        for (String name : names) {
+            Set<Sinks.Many<RedisMessage>> sinks = registry.get(name);
+            if (sinks != null && sinks.remove(sink) && sinks.isEmpty()) {
+                registry.remove(name);
+                removed.add(name);
+            }
+        }
+        if (!removed.isEmpty() && connection != null) {
+            connection.send(command(unsubscribe, removed));
+        }
+    }
+
+    private void connect(long target) {
+        RespConnector current = connector;
+        if (current == null) {
+            return;
+        }
+        connecting = true;
+        current.connect(false).subscribe(
+            conn -> onConnected(target, conn),
+            error -> {
+                synchronized (this) {
+                    if (target != generation) {
+                        return;
+                    }
+                    connecting = false;
+                }
+                log.warn("{} Pub/Sub 连接失败，{} 秒后重试: {}", LOG_PREFIX,
+                    RETRY_DELAY.toSeconds(), error.getMessage());
+                retry(target);
+            });
+    }
+
+    private synchronized void onConnected(long target, RespConnection conn) {
+        if (target != generation) {
+            conn.close();
+            return;
+        }
+        connecting = false;
+        if (channels.isEmpty() && patterns.isEmpty()) {
+            conn.close();
+            return;
+        }
+        connection = conn;
+        List<CommandArguments> subscriptions = new ArrayList<>(2);
+        if (!channels.isEmpty()) {
+            subscriptions.add(command(Protocol.Command.SUBSCRIBE, channels.keySet()));
+        }
+        if (!patterns.isEmpty()) {
+            subscriptions.add(command(Protocol.Command.PSUBSCRIBE, patterns.keySet()));
+        }
+        conn.subscribe(new MessageHandler(), subscriptions.get(0));
+        for (int i = 1; i < subscriptions.size(); i++) {
+            conn.send(subscriptions.get(i));
+        }
+        log.info("{} Pub/Sub 已订阅 {} 个频道、{} 个模式", LOG_PREFIX, channels.size(),
+            patterns.size());
+        conn.onClose().subscribe(null, null, () -> onClosed(target, conn));
+    }
+
+    private void onClosed(long target, RespConnection conn) {
+        synchronized (this) {
+            if (connection == conn) {
+                connection = null;
+            }
+            if (target != generation) {
+                return;
+            }
+        }
+        log.warn("{} Pub/Sub 连接断开，{} 秒后重连", LOG_PREFIX, RETRY_DELAY.toSeconds());
+        retry(target);
+    }
+
+    private void retry(long target) {
+        Mono.delay(RETRY_DELAY).subscribe(tick -> {
+            synchronized (this) {
+                if (target == generation && connection == null && !connecting
+                    && (!channels.isEmpty() || !patterns.isEmpty())) {
+                    connect(target);
+                }
+            }
+        });
+    }
+
+    private void closeConnection() {
+        RespConnection current = connection;
+        RespConnector currentConnector = connector;
+        connection = null;
+        connector = null;
+        connecting = false;
+        if (current != null) {
+            current.close();
+        }
+        if (currentConnector != null) {
+            currentConnector.close();
+        }
+    }
+
+    private static CommandArguments command(Protocol.Command command, Collection<String> names) {
+        CommandArguments arguments = new CommandArguments(command);
+        for (String name : names) {
+            arguments.add(name);
+        }
+        return arguments;
+    }
+
+    /**
+     * 在 I/O 线程上调用，只入队不执行订阅者的处理逻辑
+     */
+    private static void deliver(@Nullable Set<Sinks.Many<RedisMessage>> sinks,
+                                RedisMessage message) {
+        if (sinks == null) {
+            return;
+        }
+        for (Sinks.Many<RedisMessage> sink : sinks) {
+            Sinks.EmitResult result = sink.tryEmitNext(message);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                log.warn("{} 订阅者处理过慢，丢弃频道 {} 的消息", LOG_PREFIX, message.channel());
+            }
+        }
+    }
+
+    /**
+     * 订阅连接上的推送消息：
+     * {@code message <channel> <payload>} 或 {@code pmessage <pattern> <channel> <payload>}
+     */
+    private class MessageHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (!(msg instanceof List<?> push) || push.size() < 3
+                || !(push.get(0) instanceof byte[] kind)) {
+                return;
+            }
+            switch (SafeEncoder.encode(kind)) {
+                case "message" -> {
+                    String channel = text(push.get(1));
+                    deliver(channels.get(channel),
+                        new RedisMessage(channel, text(push.get(2)), null));
+                }
+                case "pmessage" -> {
+                    if (push.size() < 4) {
+                        return;
+                    }
+                    String pattern = text(push.get(1));
+                    deliver(patterns.get(pattern),
+                        new RedisMessage(text(push.get(2)), text(push.get(3)), pattern));
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("{} Pub/Sub 连接异常: {}", LOG_PREFIX, cause.getMessage());
+            ctx.close();
+        }
+
+        private static String text(Object value) {
+            return value instanceof byte[] raw ? SafeEncoder.encode(raw) : String.valueOf(value);
+        }
+    }
+}
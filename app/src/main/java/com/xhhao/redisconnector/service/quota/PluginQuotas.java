@@ -0,0 +1,409 @@
+package com.xhhao.redisconnector.service.quota;
+
+import com.xhhao.redisconnector.service.metrics.Payloads;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import redis.clients.jedis.CommandObject;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按插件统计与限制命令
+ * <p>
+ * 统计每个插件的命令数、错误数、被拒绝数、排队等待与执行耗时、请求与回复流量。
+ * 配置了配额时：
+ * </p>
+ * <ul>
+ *     <li>每秒命令数：按 GCRA 算法计算，允许 1 秒的突发；超出时延迟执行，
+ *     需要等待超过 1 秒则直接拒绝</li>
+ *     <li>并发数：每个插件同时执行的命令数不超过上限，超出的命令进入该插件自己的队列；
+ *     使用 Jedis 连接池时，全部插件合计的并发数不超过连接池大小，
+ *     空出的连接在有排队命令的插件之间轮流分配，一个插件排满队列也不会占满连接池</li>
+ * </ul>
+ * <p>
+ * 排队超时、队列已满或等待过久的命令以 {@link QuotaExceededException} 失败，
+ * 由调用方按 Redis 出错处理（返回默认值）。流水线按其中的命令数计入每秒命令数，只占用一个并发名额。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class PluginQuotas {
+
+    /**
+     * 无法识别调用方时使用的插件名
+     */
+    public static final String UNKNOWN = "unknown";
+
+    /**
+     * 统计的插件数上限，超出后的调用方合并统计
+     */
+    private static final int MAX_TENANTS = 256;
+
+    private static final String OTHERS = "others";
+
+    /**
+     * 单个插件排队命令数上限
+     */
+    private static final int MAX_QUEUED = 1000;
+
+    /**
+     * 每秒命令数允许的突发时长
+     */
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 超出每秒命令数时最多延迟的时长，超过则拒绝
+     */
+    private static final long MAX_RATE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * 保护并发名额与排队状态
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 有排队命令的插件，按轮转顺序分配空出的名额
+     */
+    private final ArrayDeque<Tenant> ready = new ArrayDeque<>();
+
+    private int inFlight;
+
+    private volatile int globalLimit;
+
+    private volatile int concurrency;
+
+    private volatile int opsPerSecond;
+
+    private volatile Duration queueTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 更新配额
+     *
+     * @param globalLimit  全部插件合计的并发上限，0 表示不限制
+     * @param concurrency  单个插件的并发上限，0 表示不限制（此时不排队）
+     * @param opsPerSecond 单个插件每秒命令数上限，0 表示不限制
+     * @param queueTimeout 排队等待的最长时间
+     */
+    public void configure(int globalLimit, int concurrency, int opsPerSecond,
+                          Duration queueTimeout) {
+        this.globalLimit = Math.max(0, globalLimit);
+        this.concurrency = Math.max(0, concurrency);
+        this.opsPerSecond = Math.max(0, opsPerSecond);
+        this.queueTimeout = queueTimeout;
+        List<Ticket> granted;
+        synchronized (lock) {
+            granted = dispatch();
+        }
+        granted.forEach(Ticket::grant);
+    }
+
+    /**
+     * 是否配置了单个插件的并发或每秒命令数上限
+     */
+    public boolean isLimited() {
+        return concurrency > 0 || opsPerSecond > 0;
+    }
+
+    /**
+     * 在配额内执行一条命令并计入插件的统计
+     */
+    public <T> Mono<T> run(String plugin, CommandObject<?> command, Mono<T> operation) {
+        return run(plugin, List.of(command), operation);
+    }
+
+    /**
+     * 在配额内执行一批命令（流水线）并计入插件的统计
+     */
+    public <T> Mono<T> run(String plugin, List<? extends CommandObject<?>> commands,
+                           Mono<T> operation) {
+        Tenant tenant = tenant(plugin);
+        return Mono.defer(() -> {
+            long queuedAt = System.nanoTime();
+            long wait = tenant.reserve(opsPerSecond, commands.size(), queuedAt);
+            if (wait < 0) {
+                return Mono.error(tenant.reject("每秒命令数超出上限 " + opsPerSecond));
+            }
+            Mono<T> measured = measure(tenant, commands, queuedAt, operation);
+            Mono<T> admitted = concurrency > 0 ? admit(tenant, measured) : measured;
+            return wait > 0 ? Mono.delay(Duration.ofNanos(wait)).then(admitted) : admitted;
+        });
+    }
+
+    /**
+     * 各插件的统计，按命令数降序
+     */
+    public List<Map<String, Object>> stats() {
+        List<Tenant> snapshot = new ArrayList<>(tenants.values());
+        snapshot.sort(Comparator.comparingLong((Tenant tenant) -> tenant.commands.sum())
+            .reversed());
+        List<Map<String, Object>> result = new ArrayList<>(snapshot.size());
+        synchronized (lock) {
+            for (Tenant tenant : snapshot) {
+                result.add(tenant.stats());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清空统计，正在执行与排队的命令不受影响
+     */
+    public void reset() {
+        tenants.values().forEach(Tenant::reset);
+    }
+
+    private Tenant tenant(String plugin) {
+        Tenant tenant = tenants.get(plugin);
+        if (tenant != null) {
+            return tenant;
+        }
+        String name = tenants.size() < MAX_TENANTS ? plugin : OTHERS;
+        return tenants.computeIfAbsent(name, Tenant::new);
+    }
+
+    private <T> Mono<T> measure(Tenant tenant, List<? extends CommandObject<?>> commands,
+                                long queuedAt, Mono<T> operation) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            tenant.waitNanos.add(start - queuedAt);
+            tenant.commands.add(commands.size());
+            long requestBytes = 0;
+            for (CommandObject<?> command : commands) {
+                requestBytes += Payloads.requestBytes(command.getArguments());
+            }
+            tenant.requestBytes.add(requestBytes);
+            return operation
+                .doOnSuccess(value -> {
+                    tenant.nanos.add(System.nanoTime() - start);
+                    tenant.replyBytes.add(Payloads.replyBytes(value));
+                })
+                .doOnError(e -> {
+                    tenant.nanos.add(System.nanoTime() - start);
+                    tenant.errors.increment();
+                });
+        });
+    }
+
+    /**
+     * 取得并发名额后执行，名额不足时排队；结束、出错或取消时归还名额或移出队列
+     */
+    private <T> Mono<T> admit(Tenant tenant, Mono<T> operation) {
+        return Mono.defer(() -> {
+            Ticket ticket = new Ticket(tenant);
+            List<Ticket> granted;
+            synchronized (lock) {
+                if (!enqueue(ticket)) {
+                    return Mono.error(tenant.reject("排队命令数超出上限 " + MAX_QUEUED));
+                }
+                granted = dispatch();
+            }
+            granted.forEach(Ticket::grant);
+            Duration timeout = queueTimeout;
+            return ticket.sink.asMono()
+                .timeout(timeout, Mono.error(() -> tenant.reject(
+                    "排队超过 " + timeout.toMillis() + " 毫秒")))
+                .then(operation)
+                .doFinally(signal -> finish(ticket));
+        });
+    }
+
+    private boolean enqueue(Ticket ticket) {
+        Tenant tenant = ticket.tenant;
+        if (tenant.queue.size() >= MAX_QUEUED) {
+            return false;
+        }
+        tenant.queue.addLast(ticket);
+        if (!tenant.ready) {
+            tenant.ready = true;
+            ready.addLast(tenant);
+        }
+        return true;
+    }
+
+    private void finish(Ticket ticket) {
+        List<Ticket> granted;
+        synchronized (lock) {
+            if (!ticket.granted) {
+                ticket.tenant.queue.remove(ticket);
+                return;
+            }
+            ticket.tenant.inFlight--;
+            inFlight--;
+            granted = dispatch();
+        }
+        granted.forEach(Ticket::grant);
+    }
+
+    /**
+     * 把空出的名额轮流分给有排队命令的插件，需持有锁；
+     * 返回获得名额的排队项，由调用方在锁外通知，避免在锁内执行命令
+     */
+    private List<Ticket> dispatch() {
+        List<Ticket> granted = null;
+        int limit = concurrency;
+        int global = globalLimit;
+        // 连续跳过的插件数，全部插件都已达到各自上限时停止
+        int skipped = 0;
+        while (!ready.isEmpty() && skipped < ready.size() && (global <= 0 || inFlight < global)) {
+            Tenant tenant = ready.pollFirst();
+            Ticket next = tenant.queue.peekFirst();
+            if (next == null) {
+                tenant.ready = false;
+                continue;
+            }
+            if (limit > 0 && tenant.inFlight >= limit) {
+                ready.addLast(tenant);
+                skipped++;
+                continue;
+            }
+            tenant.queue.pollFirst();
+            tenant.inFlight++;
+            inFlight++;
+            next.granted = true;
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(next);
+            skipped = 0;
+            if (tenant.queue.isEmpty()) {
+                tenant.ready = false;
+            } else {
+                ready.addLast(tenant);
+            }
+        }
+        return granted != null ? granted : List.of();
+    }
+
+    /**
+     * 一条等待并发名额的命令
+     */
+    private static final class Ticket {
+
+        private final Tenant tenant;
+
+        private final Sinks.One<Void> sink = Sinks.one();
+
+        /**
+         * 是否已获得名额，由锁保护
+         */
+        private boolean granted;
+
+        private Ticket(Tenant tenant) {
+            this.tenant = tenant;
+        }
+
+        private void grant() {
+            sink.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * 单个插件的统计、排队与限速状态
+     */
+    private static final class Tenant {
+
+        private final String plugin;
+
+        private final LongAdder commands = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private final LongAdder waitNanos = new LongAdder();
+
+        private final LongAdder requestBytes = new LongAdder();
+
+        private final LongAdder replyBytes = new LongAdder();
+
+        /**
+         * 排队中的命令，由外部锁保护
+         */
+        private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+
+        /**
+         * 是否在待分配队列中，由外部锁保护
+         */
+        private boolean ready;
+
+        /**
+         * 执行中的命令数，由外部锁保护
+         */
+        private int inFlight;
+
+        /**
+         * GCRA 理论到达时间
+         */
+        private long theoreticalArrival = Long.MIN_VALUE;
+
+        private Tenant(String plugin) {
+            this.plugin = plugin;
+        }
+
+        /**
+         * 按每秒命令数预留配额
+         *
+         * @return 需要等待的纳秒数，0 表示立即执行，-1 表示等待过久应拒绝
+         */
+        private synchronized long reserve(int opsPerSecond, int cost, long now) {
+            if (opsPerSecond <= 0) {
+                return 0;
+            }
+            long interval = TimeUnit.SECONDS.toNanos(1) / opsPerSecond;
+            long arrival = Math.max(theoreticalArrival, now) + interval * Math.max(1, cost);
+            long wait = Math.max(0, arrival - BURST_NANOS - now);
+            if (wait > MAX_RATE_WAIT_NANOS) {
+                return -1;
+            }
+            theoreticalArrival = arrival;
+            return wait;
+        }
+
+        private QuotaExceededException reject(String reason) {
+            rejected.increment();
+            return new QuotaExceededException("插件 " + plugin + " " + reason);
+        }
+
+        private Map<String, Object> stats() {
+            long count = commands.sum();
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("plugin", plugin);
+            stats.put("commands", count);
+            stats.put("errors", errors.sum());
+            stats.put("rejected", rejected.sum());
+            stats.put("avgMicros",
+                count > 0 ? TimeUnit.NANOSECONDS.toMicros(nanos.sum()) / count : 0);
+            stats.put("avgWaitMicros",
+                count > 0 ? TimeUnit.NANOSECONDS.toMicros(waitNanos.sum()) / count : 0);
+            stats.put("requestBytes", requestBytes.sum());
+            stats.put("replyBytes", replyBytes.sum());
+            stats.put("inFlight", inFlight);
+            stats.put("queued", queue.size());
+            return stats;
+        }
+
+        private void reset() {
+            commands.reset();
+            errors.reset();
+            rejected.reset();
+            nanos.reset();
+            waitNanos.reset();
+            requestBytes.reset();
+            replyBytes.reset();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.xhhao.redisconnector.service.quota;
+
+/**
+ * 插件超出配额：排队已满、排队超时或每秒命令数超限
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class QuotaExceededException extends RuntimeException {
+
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
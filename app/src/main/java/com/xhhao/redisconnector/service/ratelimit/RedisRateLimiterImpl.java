@@ -0,0 +1,187 @@
+package com.xhhao.redisconnector.service.ratelimit;
+
+import com.xhhao.redisconnector.api.RateLimit;
+import com.xhhao.redisconnector.api.RateLimitResult;
+import com.xhhao.redisconnector.api.RedisRateLimiter;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Lua 脚本的限流器实现
+ * <p>
+ * 滑动窗口与令牌桶以 Redis 服务器时间计时，多个 Halo 节点之间的时钟偏差不影响结果。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisRateLimiterImpl implements RedisRateLimiter {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final String KEY_PREFIX = "redis-connector:ratelimit:";
+
+    /**
+     * 本地拒绝记录数上限，超过后清理已到期的记录
+     */
+    private static final int MAX_LOCAL_BLOCKS = 10_000;
+
+    /**
+     * 返回 {是否放行, 剩余额度, 重试等待毫秒}
+     */
+    private static final String FIXED_WINDOW_SCRIPT = """
+        local limit = tonumber(ARGV[1])
+        local permits = tonumber(ARGV[3])
+        local current = tonumber(redis.call('get', KEYS[1]) or '0')
+        if current + permits > limit then
+            return {0, math.max(0, limit - current), math.max(0, redis.call('pttl', KEYS[1]))}
+        end
+        current = redis.call('incrby', KEYS[1], permits)
+        if redis.call('pttl', KEYS[1]) < 0 then
+            redis.call('pexpire', KEYS[1], ARGV[2])
+        end
+        return {1, limit - current, 0}
+        """;
+
+    private static final String SLIDING_WINDOW_SCRIPT = """
+        redis.replicate_commands()
+        local limit = tonumber(ARGV[1])
+        local window = tonumber(ARGV[2])
+        local permits = tonumber(ARGV[3])
+        local time = redis.call('time')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        redis.call('zremrangebyscore', KEYS[1], '-inf', now - window)
+        local count = redis.call('zcard', KEYS[1])
+        if count + permits > limit then
+            local oldest = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+            local retry = window
+            if oldest[2] then
+                retry = tonumber(oldest[2]) + window - now
+            end
+            return {0, math.max(0, limit - count), math.max(1, retry)}
+        end
+        for i = 1, permits do
+            redis.call('zadd', KEYS[1], now, ARGV[4] .. ':' .. i)
+        end
+        redis.call('pexpire', KEYS[1], window)
+        return {1, limit - count - permits, 0}
+        """;
+
+    private static final String TOKEN_BUCKET_SCRIPT = """
+        redis.replicate_commands()
+        local capacity = tonumber(ARGV[1])
+        local rate = capacity / tonumber(ARGV[2])
+        local permits = tonumber(ARGV[3])
+        local time = redis.call('time')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local state = redis.call('hmget', KEYS[1], 'tokens', 'ts')
+        local tokens = tonumber(state[1]) or capacity
+        local ts = tonumber(state[2]) or now
+        tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+        local allowed = tokens >= permits
+        if allowed then
+            tokens = tokens - permits
+        end
+        redis.call('hset', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+        redis.call('pexpire', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)
+        if allowed then
+            return {1, math.floor(tokens), 0}
+        end
+        return {0, math.floor(tokens), math.ceil((permits - tokens) / rate)}
+        """;
+
+    private final RedisClientImpl client;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public RedisRateLimiterImpl(RedisClientImpl client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<RateLimitResult> tryAcquire(String name, RateLimit limit) {
+        return tryAcquire(name, limit, 1);
+    }
+
+    @Override
+    public Mono<RateLimitResult> tryAcquire(String name, RateLimit limit, int permits) {
+        if (permits <= 0) {
+            return Mono.error(new IllegalArgumentException("permits 必须大于 0"));
+        }
+        String key = KEY_PREFIX + limit.algorithm().name().toLowerCase(Locale.ROOT) + ":" + name;
+        RateLimitResult local = checkLocal(key, permits);
+        if (local != null) {
+            return Mono.just(local);
+        }
+        List<String> args = List.of(String.valueOf(limit.limit()),
+            String.valueOf(limit.window().toMillis()), String.valueOf(permits),
+            UUID.randomUUID().toString());
+        String script = switch (limit.algorithm()) {
+            case FIXED_WINDOW -> FIXED_WINDOW_SCRIPT;
+            case SLIDING_WINDOW -> SLIDING_WINDOW_SCRIPT;
+            case TOKEN_BUCKET -> TOKEN_BUCKET_SCRIPT;
+        };
+        return client.script(script).eval(List.of(key), args, List.class)
+            .map(values -> {
+                boolean allowed = (Long) values.get(0) == 1L;
+                long remaining = (Long) values.get(1);
+                Duration retryAfter = Duration.ofMillis((Long) values.get(2));
+                if (!allowed) {
+                    block(key, permits, retryAfter);
+                }
+                return new RateLimitResult(allowed, remaining, retryAfter);
+            })
+            .onErrorResume(e -> {
+                log.warn("{} 限流检查 {} 失败，放行: {}", LOG_PREFIX, name, e.getMessage());
+                return Mono.just(RateLimitResult.unknown());
+            });
+    }
+
+    /**
+     * 本地预检：最近被拒绝且仍在等待期内时直接拒绝
+     */
+    private RateLimitResult checkLocal(String key, int permits) {
+        Block block = blocks.get(key);
+        if (block == null) {
+            return null;
+        }
+        long waitNanos = block.untilNanos - System.nanoTime();
+        if (waitNanos <= 0) {
+            blocks.remove(key, block);
+            return null;
+        }
+        if (permits < block.permits) {
+            return null;
+        }
+        return new RateLimitResult(false, 0, Duration.ofNanos(waitNanos));
+    }
+
+    private void block(String key, int permits, Duration retryAfter) {
+        if (retryAfter.isZero()) {
+            return;
+        }
+        if (blocks.size() >= MAX_LOCAL_BLOCKS) {
+            long now = System.nanoTime();
+            blocks.values().removeIf(block -> block.untilNanos - now <= 0);
+        }
+        blocks.put(key, new Block(System.nanoTime() + retryAfter.toNanos(), permits));
+    }
+
+    /**
+     * 本地拒绝记录
+     *
+     * @param untilNanos 到期时间（{@link System#nanoTime()}）
+     * @param permits    被拒绝的额度数量，更少的申请仍交给 Redis 判断
+     */
+    private record Block(long untilNanos, int permits) {
+    }
+}
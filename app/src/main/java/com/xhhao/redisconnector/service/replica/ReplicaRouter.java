@@ -0,0 +1,177 @@
+package com.xhhao.redisconnector.service.replica;
+
+import com.xhhao.redisconnector.service.RedisOptions;
+import com.xhhao.redisconnector.service.engine.JedisEngine;
+import com.xhhao.redisconnector.service.engine.RedisEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * 从节点读路由
+ * <p>
+ * 为每个从节点维护独立的连接池，并定时 PING 检测可用性与延迟。
+ * 按配置以轮询或最低延迟选择从节点，没有可用从节点时返回 null，由调用方改读主节点。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class ReplicaRouter {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final Duration PROBE_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * 延迟滑动平均的新样本权重
+     */
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final List<Replica> replicas;
+
+    private final RedisOptions.ReplicaSelection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Disposable probe;
+
+    /**
+     * @param nodes        从节点地址
+     * @param poolConfig   每个从节点的连接池参数
+     * @param clientConfig 客户端参数（超时、认证、数据库）
+     * @param selection    选择策略
+     * @param instrument   为从节点引擎加上指标与配额统计
+     */
+    public ReplicaRouter(Collection<HostAndPort> nodes, JedisPoolConfig poolConfig,
+                         JedisClientConfig clientConfig,
+                         RedisOptions.ReplicaSelection selection,
+                         UnaryOperator<RedisEngine> instrument) {
+        this.selection = selection;
+        this.replicas = new ArrayList<>(nodes.size());
+        for (HostAndPort node : nodes) {
+            replicas.add(new Replica(node, new JedisPool(poolConfig, node, clientConfig),
+                instrument));
+        }
+        this.probe = Flux.interval(Duration.ZERO, PROBE_INTERVAL, Schedulers.boundedElastic())
+            .subscribe(tick -> replicas.forEach(Replica::probe));
+    }
+
+    /**
+     * 选择一个可用的从节点
+     *
+     * @return 从节点引擎，没有可用从节点时返回 null
+     */
+    @Nullable
+    public RedisEngine select() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy.add(replica);
+            }
+        }
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (selection == RedisOptions.ReplicaSelection.LOWEST_LATENCY) {
+            Replica fastest = healthy.get(0);
+            for (Replica replica : healthy) {
+                if (replica.latencyMicros < fastest.latencyMicros) {
+                    fastest = replica;
+                }
+            }
+            return fastest.engine;
+        }
+        int index = Math.floorMod(next.getAndIncrement(), healthy.size());
+        return healthy.get(index).engine;
+    }
+
+    /**
+     * 从节点状态，用于状态展示
+     */
+    public List<Map<String, Object>> stats() {
+        List<Map<String, Object>> stats = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("address", replica.node.toString());
+            item.put("healthy", replica.healthy);
+            item.put("latencyMicros", replica.healthy ? Math.round(replica.latencyMicros) : -1);
+            stats.add(item);
+        }
+        return stats;
+    }
+
+    /**
+     * 关闭所有从节点连接
+     */
+    public void close() {
+        probe.dispose();
+        for (Replica replica : replicas) {
+            try {
+                replica.pool.close();
+            } catch (Exception e) {
+                log.warn("{} 关闭从节点 {} 连接失败: {}", LOG_PREFIX, replica.node, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 单个从节点的连接池与探测状态，尚未探测成功的从节点不参与路由
+     */
+    private static final class Replica {
+
+        private final HostAndPort node;
+
+        private final JedisPool pool;
+
+        private final RedisEngine engine;
+
+        private volatile boolean healthy;
+
+        private volatile double latencyMicros = Double.MAX_VALUE;
+
+        private Replica(HostAndPort node, JedisPool pool,
+                        UnaryOperator<RedisEngine> instrument) {
+            this.node = node;
+            this.pool = pool;
+            this.engine = instrument.apply(new JedisEngine(pool));
+        }
+
+        private void probe() {
+            long start = System.nanoTime();
+            try (Jedis jedis = pool.getResource()) {
+                jedis.ping();
+                double sample = (System.nanoTime() - start) / 1000.0;
+                latencyMicros = healthy
+                    ? latencyMicros * (1 - LATENCY_WEIGHT) + sample * LATENCY_WEIGHT
+                    : sample;
+                if (!healthy) {
+                    log.info("{} 从节点 {} 可用", LOG_PREFIX, node);
+                }
+                healthy = true;
+            } catch (Exception e) {
+                if (healthy) {
+                    log.warn("{} 从节点 {} 不可用: {}", LOG_PREFIX, node, e.getMessage());
+                }
+                healthy = false;
+            }
+        }
+    }
+}
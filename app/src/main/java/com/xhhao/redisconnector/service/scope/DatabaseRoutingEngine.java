@@ -0,0 +1,82 @@
+package com.xhhao.redisconnector.service.scope;
+
+import com.xhhao.redisconnector.service.engine.RedisEngine;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import redis.clients.jedis.CommandObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按数据库路由的执行引擎
+ * <p>
+ * 调用链的 Context 中带有数据库编号（由插件专属客户端写入）时，命令发往连接该数据库的引擎，
+ * 否则发往主引擎。每个映射的数据库使用独立的 Jedis 连接池，不在连接上切换 SELECT。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class DatabaseRoutingEngine implements RedisEngine {
+
+    /**
+     * Context 中的键
+     */
+    public static final String CONTEXT_KEY = DatabaseRoutingEngine.class.getName() + ".database";
+
+    private final RedisEngine primary;
+
+    private final Map<Integer, RedisEngine> databases;
+
+    private final Runnable closeDatabases;
+
+    /**
+     * @param primary        默认数据库的引擎
+     * @param databases      各映射数据库的引擎
+     * @param closeDatabases 关闭映射数据库的连接池
+     */
+    public DatabaseRoutingEngine(RedisEngine primary, Map<Integer, RedisEngine> databases,
+                                 Runnable closeDatabases) {
+        this.primary = primary;
+        this.databases = Map.copyOf(databases);
+        this.closeDatabases = closeDatabases;
+    }
+
+    /**
+     * Context 是否指定了数据库；指定时只能读取主节点，从节点连接的是默认数据库
+     */
+    public static boolean isRouted(ContextView context) {
+        return context.hasKey(CONTEXT_KEY);
+    }
+
+    @Override
+    public <T> Mono<T> execute(CommandObject<T> command) {
+        return Mono.deferContextual(context -> select(context).execute(command));
+    }
+
+    @Override
+    public Mono<List<Object>> executeAll(List<? extends CommandObject<?>> commands) {
+        return Mono.deferContextual(context -> select(context).executeAll(commands));
+    }
+
+    @Override
+    public String name() {
+        return primary.name();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        databases.values().forEach(RedisEngine::close);
+        closeDatabases.run();
+    }
+
+    private RedisEngine select(ContextView context) {
+        Integer database = context.getOrDefault(CONTEXT_KEY, null);
+        if (database == null) {
+            return primary;
+        }
+        return databases.getOrDefault(database, primary);
+    }
+}
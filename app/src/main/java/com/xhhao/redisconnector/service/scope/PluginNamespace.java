@@ -0,0 +1,73 @@
+package com.xhhao.redisconnector.service.scope;
+
+import com.xhhao.redisconnector.api.RedisCaller;
+import reactor.util.context.Context;
+
+/**
+ * 插件的键空间
+ *
+ * @param pluginId 插件 ID
+ * @param prefix   键前缀
+ * @param database 专属数据库编号，未映射时为 -1
+ * @author Handsome
+ * @since 1.0.0
+ */
+public record PluginNamespace(String pluginId, String prefix, int database) {
+
+    /**
+     * 加上前缀
+     */
+    public String key(String key) {
+        return prefix + key;
+    }
+
+    /**
+     * 批量加上前缀
+     */
+    public String[] keys(String... keys) {
+        String[] result = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = prefix + keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * 去掉前缀，不带前缀的原样返回
+     */
+    public String strip(String key) {
+        return key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+    }
+
+    /**
+     * 加上转义后的前缀，用于 SCAN MATCH 与 PSUBSCRIBE 模式
+     */
+    public String pattern(String pattern) {
+        StringBuilder escaped = new StringBuilder(prefix.length() + pattern.length() + 4);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.append(pattern).toString();
+    }
+
+    /**
+     * 声明调用方并路由到专属数据库的 Context
+     */
+    public Context context() {
+        Context context = RedisCaller.plugin(pluginId);
+        return database >= 0 ? context.put(DatabaseRoutingEngine.CONTEXT_KEY, database) : context;
+    }
+
+    /**
+     * 只声明调用方、不路由到专属数据库的 Context，用于锁与限流器：
+     * 它们的键留在默认数据库，后台续期等脱离调用链的命令也能找到
+     */
+    public Context callerContext(Context context) {
+        return context.delete(DatabaseRoutingEngine.CONTEXT_KEY)
+            .put(RedisCaller.CONTEXT_KEY, pluginId);
+    }
+}
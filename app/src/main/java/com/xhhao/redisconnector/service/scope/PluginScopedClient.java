@@ -0,0 +1,747 @@
+package com.xhhao.redisconnector.service.scope;
+
+import com.xhhao.redisconnector.api.CacheLoadOptions;
+import com.xhhao.redisconnector.api.RateLimit;
+import com.xhhao.redisconnector.api.RateLimitResult;
+import com.xhhao.redisconnector.api.RedisLock;
+import com.xhhao.redisconnector.api.RedisMessage;
+import com.xhhao.redisconnector.api.RedisPipeline;
+import com.xhhao.redisconnector.api.RedisPluginClient;
+import com.xhhao.redisconnector.api.RedisRateLimiter;
+import com.xhhao.redisconnector.api.RedisReadPreference;
+import com.xhhao.redisconnector.api.RedisScript;
+import com.xhhao.redisconnector.api.RedisStreamEntry;
+import com.xhhao.redisconnector.api.RedisStreams;
+import com.xhhao.redisconnector.api.codec.RedisCodec;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.resps.Tuple;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 插件专属客户端实现
+ * <p>
+ * 给键加上插件前缀后交由 {@link RedisClientImpl} 执行，并在调用链的 Context 中写入调用方插件
+ * 与专属数据库。前缀与数据库在每次调用时按当前配置确定，重新连接后立即生效。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+public class PluginScopedClient implements RedisPluginClient {
+
+    private static final String KEYSPACE_PREFIX = "__keyspace@";
+
+    /**
+     * 清理时每条 UNLINK 删除的键数
+     */
+    private static final int PURGE_BATCH = 500;
+
+    private final RedisClientImpl client;
+
+    private final String pluginId;
+
+    private final RedisLock lock = new ScopedLock();
+
+    private final RedisRateLimiter rateLimiter = new ScopedRateLimiter();
+
+    private final RedisStreams streams = new ScopedStreams();
+
+    public PluginScopedClient(RedisClientImpl client, String pluginId) {
+        this.client = client;
+        this.pluginId = pluginId;
+    }
+
+    private PluginNamespace namespace() {
+        return client.pluginNamespace(pluginId);
+    }
+
+    private <T> Mono<T> scoped(PluginNamespace namespace, Mono<T> mono) {
+        return mono.contextWrite(namespace.context());
+    }
+
+    private <T> Flux<T> scoped(PluginNamespace namespace, Flux<T> flux) {
+        return flux.contextWrite(namespace.context());
+    }
+
+    @Override
+    public String pluginId() {
+        return pluginId;
+    }
+
+    @Override
+    public String keyPrefix() {
+        return namespace().prefix();
+    }
+
+    @Override
+    public Mono<Long> purge() {
+        PluginNamespace ns = namespace();
+        // 遍历期间删除不影响 SCAN 返回其余的键；从节点有复制延迟，固定读取主节点
+        return client.scan(ns.pattern("*"))
+            .buffer(PURGE_BATCH)
+            .concatMap(keys -> client.unlink(keys.toArray(String[]::new)))
+            .reduce(0L, Long::sum)
+            .contextWrite(ns.context())
+            .contextWrite(RedisReadPreference.primary());
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return client.isAvailable();
+    }
+
+    @Override
+    public JedisPool getJedisPool() {
+        return client.getJedisPool();
+    }
+
+    @Override
+    public RedisPipeline pipeline() {
+        return new ScopedPipeline(client.pipeline());
+    }
+
+    @Override
+    public RedisPluginClient forPlugin(String pluginId) {
+        return client.forPlugin(pluginId);
+    }
+
+    @Override
+    public Mono<Long> publish(String channel, String message) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.publish(ns.key(channel), message));
+    }
+
+    @Override
+    public Flux<RedisMessage> subscribe(String... channels) {
+        PluginNamespace ns = namespace();
+        return client.subscribe(ns.keys(channels))
+            .map(message -> new RedisMessage(ns.strip(message.channel()), message.message(),
+                message.pattern()));
+    }
+
+    @Override
+    public Flux<RedisMessage> psubscribe(String... patterns) {
+        PluginNamespace ns = namespace();
+        String[] prefixed = Arrays.stream(patterns).map(ns::pattern).toArray(String[]::new);
+        return client.psubscribe(prefixed)
+            .map(message -> new RedisMessage(ns.strip(message.channel()), message.message(),
+                stripPattern(ns, message.pattern(), patterns, prefixed)));
+    }
+
+    @Override
+    public Flux<RedisMessage> keyspaceEvents(String keyPattern) {
+        PluginNamespace ns = namespace();
+        int database = ns.database() >= 0 ? ns.database() : client.getDatabase();
+        String channelPrefix = KEYSPACE_PREFIX + database + "__:";
+        String pattern = channelPrefix + ns.pattern(keyPattern);
+        return client.psubscribe(pattern)
+            .map(message -> new RedisMessage(
+                channelPrefix + ns.strip(message.channel().substring(channelPrefix.length())),
+                message.message(), keyPattern));
+    }
+
+    private static String stripPattern(PluginNamespace ns, String pattern, String[] patterns,
+                                       String[] prefixed) {
+        for (int i = 0; i < prefixed.length; i++) {
+            if (prefixed[i].equals(pattern)) {
+                return patterns[i];
+            }
+        }
+        return ns.strip(pattern);
+    }
+
+    @Override
+    public RedisScript script(String lua) {
+        return new ScopedScript(client.script(lua));
+    }
+
+    @Override
+    public RedisLock lock() {
+        return lock;
+    }
+
+    @Override
+    public RedisRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public RedisStreams streams() {
+        return streams;
+    }
+
+    @Override
+    public Mono<String> set(String key, String value) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.set(ns.key(key), value));
+    }
+
+    @Override
+    public Mono<String> setEx(String key, String value, long seconds) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.setEx(ns.key(key), value, seconds));
+    }
+
+    @Override
+    public Mono<String> get(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.get(ns.key(key)));
+    }
+
+    @Override
+    public Mono<String> getOrLoad(String key, long seconds, Mono<String> loader) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getOrLoad(ns.key(key), seconds, loader));
+    }
+
+    @Override
+    public Mono<String> getOrLoad(String key, long seconds, Mono<String> loader,
+                                  CacheLoadOptions options) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getOrLoad(ns.key(key), seconds, loader, options));
+    }
+
+    @Override
+    public Mono<String> setBytes(String key, byte[] value) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.setBytes(ns.key(key), value));
+    }
+
+    @Override
+    public Mono<String> setBytes(String key, byte[] value, long seconds) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.setBytes(ns.key(key), value, seconds));
+    }
+
+    @Override
+    public Mono<byte[]> getBytes(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getBytes(ns.key(key)));
+    }
+
+    @Override
+    public Mono<ByteBuffer> getBuffer(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getBuffer(ns.key(key)));
+    }
+
+    @Override
+    public <T> Mono<String> setObject(String key, T value, long seconds) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.setObject(ns.key(key), value, seconds));
+    }
+
+    @Override
+    public <T> Mono<String> setObject(String key, T value, long seconds, RedisCodec codec) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.setObject(ns.key(key), value, seconds, codec));
+    }
+
+    @Override
+    public <T> Mono<T> getObject(String key, Class<T> type) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getObject(ns.key(key), type));
+    }
+
+    @Override
+    public <T> Mono<T> getObject(String key, Class<T> type, RedisCodec codec) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.getObject(ns.key(key), type, codec));
+    }
+
+    @Override
+    public Mono<Long> del(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.del(ns.key(key)));
+    }
+
+    @Override
+    public Mono<Long> del(String... keys) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.del(ns.keys(keys)));
+    }
+
+    @Override
+    public Mono<List<String>> mget(String... keys) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.mget(ns.keys(keys)));
+    }
+
+    @Override
+    public Mono<String> mset(Map<String, String> keyValues) {
+        PluginNamespace ns = namespace();
+        Map<String, String> prefixed = new LinkedHashMap<>(keyValues.size() * 2);
+        keyValues.forEach((key, value) -> prefixed.put(ns.key(key), value));
+        return scoped(ns, client.mset(prefixed));
+    }
+
+    @Override
+    public Mono<Long> incr(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.incr(ns.key(key)));
+    }
+
+    @Override
+    public Mono<Long> incrBy(String key, long increment) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.incrBy(ns.key(key), increment));
+    }
+
+    @Override
+    public Mono<Long> hset(String key, String field, String value) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hset(ns.key(key), field, value));
+    }
+
+    @Override
+    public Mono<String> hget(String key, String field) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hget(ns.key(key), field));
+    }
+
+    @Override
+    public Mono<Long> hsetBytes(String key, String field, byte[] value) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hsetBytes(ns.key(key), field, value));
+    }
+
+    @Override
+    public Mono<byte[]> hgetBytes(String key, String field) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hgetBytes(ns.key(key), field));
+    }
+
+    @Override
+    public Mono<List<String>> hmget(String key, String... fields) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hmget(ns.key(key), fields));
+    }
+
+    @Override
+    public Mono<Map<String, String>> hgetAll(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hgetAll(ns.key(key)));
+    }
+
+    @Override
+    public Mono<Long> sadd(String key, String... members) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.sadd(ns.key(key), members));
+    }
+
+    @Override
+    public Mono<Set<String>> smembers(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.smembers(ns.key(key)));
+    }
+
+    @Override
+    public Mono<Boolean> sismember(String key, String member) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.sismember(ns.key(key), member));
+    }
+
+    @Override
+    public Mono<Long> zadd(String key, double score, String member) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zadd(ns.key(key), score, member));
+    }
+
+    @Override
+    public Mono<List<String>> zrevrange(String key, long start, long stop) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zrevrange(ns.key(key), start, stop));
+    }
+
+    @Override
+    public Mono<Double> zscore(String key, String member) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zscore(ns.key(key), member));
+    }
+
+    @Override
+    public Mono<List<Double>> zmscore(String key, String... members) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zmscore(ns.key(key), members));
+    }
+
+    @Override
+    public Mono<Double> zincrby(String key, double increment, String member) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zincrby(ns.key(key), increment, member));
+    }
+
+    @Override
+    public Mono<Boolean> exists(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.exists(ns.key(key)));
+    }
+
+    @Override
+    public Mono<Long> exists(String... keys) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.exists(ns.keys(keys)));
+    }
+
+    @Override
+    public Mono<Long> expire(String key, long seconds) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.expire(ns.key(key), seconds));
+    }
+
+    @Override
+    public Mono<Long> ttl(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.ttl(ns.key(key)));
+    }
+
+    @Override
+    public Flux<String> scan(String pattern) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.scan(ns.pattern(pattern)).map(ns::strip));
+    }
+
+    @Override
+    public Flux<Map.Entry<String, String>> hscan(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.hscan(ns.key(key)));
+    }
+
+    @Override
+    public Flux<String> sscan(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.sscan(ns.key(key)));
+    }
+
+    @Override
+    public Flux<Tuple> zscan(String key) {
+        PluginNamespace ns = namespace();
+        return scoped(ns, client.zscan(ns.key(key)));
+    }
+
+    /**
+     * 登记命令时加前缀，执行时写入 Context
+     */
+    private final class ScopedPipeline implements RedisPipeline {
+
+        private final RedisPipeline delegate;
+
+        private final PluginNamespace ns = namespace();
+
+        private ScopedPipeline(RedisPipeline delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public RedisPipeline set(String key, String value) {
+            delegate.set(ns.key(key), value);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline setEx(String key, String value, long seconds) {
+            delegate.setEx(ns.key(key), value, seconds);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline get(String key) {
+            delegate.get(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline del(String... keys) {
+            delegate.del(ns.keys(keys));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline incr(String key) {
+            delegate.incr(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline incrBy(String key, long increment) {
+            delegate.incrBy(ns.key(key), increment);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline hset(String key, String field, String value) {
+            delegate.hset(ns.key(key), field, value);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline hget(String key, String field) {
+            delegate.hget(ns.key(key), field);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline hgetAll(String key) {
+            delegate.hgetAll(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline sadd(String key, String... members) {
+            delegate.sadd(ns.key(key), members);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline zadd(String key, double score, String member) {
+            delegate.zadd(ns.key(key), score, member);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline zincrby(String key, double increment, String member) {
+            delegate.zincrby(ns.key(key), increment, member);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline expire(String key, long seconds) {
+            delegate.expire(ns.key(key), seconds);
+            return this;
+        }
+
+        @Override
+        public RedisPipeline type(String key) {
+            delegate.type(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline ttl(String key) {
+            delegate.ttl(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public RedisPipeline exists(String key) {
+            delegate.exists(ns.key(key));
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Mono<List<Object>> execute() {
+            return scoped(ns, delegate.execute());
+        }
+    }
+
+    /**
+     * KEYS 加前缀，ARGV 不变
+     */
+    private final class ScopedScript implements RedisScript {
+
+        private final RedisScript delegate;
+
+        private ScopedScript(RedisScript delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String sha1() {
+            return delegate.sha1();
+        }
+
+        @Override
+        public Mono<Object> eval(List<String> keys, List<String> args) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, delegate.eval(prefixed(ns, keys), args));
+        }
+
+        @Override
+        public <T> Mono<T> eval(List<String> keys, List<String> args, Class<T> resultType) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, delegate.eval(prefixed(ns, keys), args, resultType));
+        }
+
+        private List<String> prefixed(PluginNamespace ns, List<String> keys) {
+            return keys.stream().map(ns::key).toList();
+        }
+    }
+
+    /**
+     * 锁名加前缀；锁的键留在默认数据库，见 {@link PluginNamespace#callerContext}
+     */
+    private final class ScopedLock implements RedisLock {
+
+        @Override
+        public Mono<Lock> tryLock(String name) {
+            PluginNamespace ns = namespace();
+            return wrap(ns, client.lock().tryLock(ns.key(name)));
+        }
+
+        @Override
+        public Mono<Lock> tryLock(String name, Duration lease) {
+            PluginNamespace ns = namespace();
+            return wrap(ns, client.lock().tryLock(ns.key(name), lease));
+        }
+
+        @Override
+        public Mono<Lock> tryLock(String name, Duration lease, String owner) {
+            PluginNamespace ns = namespace();
+            return wrap(ns, client.lock().tryLock(ns.key(name), lease, owner));
+        }
+
+        @Override
+        public Mono<Lock> lock(String name, Duration waitTime) {
+            PluginNamespace ns = namespace();
+            return wrap(ns, client.lock().lock(ns.key(name), waitTime));
+        }
+
+        @Override
+        public Mono<Lock> fairLock(String name, Duration waitTime) {
+            PluginNamespace ns = namespace();
+            return wrap(ns, client.lock().fairLock(ns.key(name), waitTime));
+        }
+
+        @Override
+        public <T> Mono<T> withLock(String name, Mono<T> task) {
+            return Mono.usingWhen(tryLock(name), held -> task, Lock::unlock);
+        }
+
+        private Mono<Lock> wrap(PluginNamespace ns, Mono<Lock> acquire) {
+            return acquire
+                .<Lock>map(held -> new ScopedHandle(ns, held))
+                .contextWrite(ns::callerContext);
+        }
+    }
+
+    /**
+     * 返回不带前缀的锁名
+     */
+    private record ScopedHandle(PluginNamespace ns, RedisLock.Lock delegate)
+        implements RedisLock.Lock {
+
+        @Override
+        public String name() {
+            return ns.strip(delegate.name());
+        }
+
+        @Override
+        public String owner() {
+            return delegate.owner();
+        }
+
+        @Override
+        public boolean isHeld() {
+            return delegate.isHeld();
+        }
+
+        @Override
+        public Mono<Boolean> extend(Duration lease) {
+            return delegate.extend(lease).contextWrite(ns::callerContext);
+        }
+
+        @Override
+        public Mono<Boolean> unlock() {
+            return delegate.unlock().contextWrite(ns::callerContext);
+        }
+    }
+
+    /**
+     * 限流名称加前缀；限流的键留在默认数据库
+     */
+    private final class ScopedRateLimiter implements RedisRateLimiter {
+
+        @Override
+        public Mono<RateLimitResult> tryAcquire(String name, RateLimit limit) {
+            PluginNamespace ns = namespace();
+            return client.rateLimiter().tryAcquire(ns.key(name), limit)
+                .contextWrite(ns::callerContext);
+        }
+
+        @Override
+        public Mono<RateLimitResult> tryAcquire(String name, RateLimit limit, int permits) {
+            PluginNamespace ns = namespace();
+            return client.rateLimiter().tryAcquire(ns.key(name), limit, permits)
+                .contextWrite(ns::callerContext);
+        }
+    }
+
+    /**
+     * Stream 键加前缀，消费组与消息 ID 不变
+     */
+    private final class ScopedStreams implements RedisStreams {
+
+        @Override
+        public Mono<String> xadd(String key, Map<String, String> fields) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xadd(ns.key(key), fields));
+        }
+
+        @Override
+        public Mono<String> xadd(String key, Map<String, String> fields, long maxLen) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xadd(ns.key(key), fields, maxLen));
+        }
+
+        @Override
+        public Mono<Long> xlen(String key) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xlen(ns.key(key)));
+        }
+
+        @Override
+        public Mono<Boolean> xgroupCreate(String key, String group) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xgroupCreate(ns.key(key), group));
+        }
+
+        @Override
+        public Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xreadGroup(ns.key(key), group, consumer));
+        }
+
+        @Override
+        public Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer,
+                                                 int batchSize) {
+            PluginNamespace ns = namespace();
+            return scoped(ns,
+                client.streams().xreadGroup(ns.key(key), group, consumer, batchSize));
+        }
+
+        @Override
+        public Mono<Long> xack(String key, String group, String... ids) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xack(ns.key(key), group, ids));
+        }
+
+        @Override
+        public Mono<Long> xackAll(String key, String group, Flux<String> ids) {
+            PluginNamespace ns = namespace();
+            return scoped(ns, client.streams().xackAll(ns.key(key), group, ids));
+        }
+
+        @Override
+        public Flux<RedisStreamEntry> xautoclaim(String key, String group, String consumer,
+                                                 Duration minIdle) {
+            PluginNamespace ns = namespace();
+            return scoped(ns,
+                client.streams().xautoclaim(ns.key(key), group, consumer, minIdle));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.xhhao.redisconnector.service.script;
+
+import com.xhhao.redisconnector.api.RedisScript;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 脚本注册表
+ * <p>
+ * 按脚本文本缓存 {@link RedisScript}，SHA1 在本地计算。Redis 的脚本缓存属于服务器而不是连接，
+ * 且会因重启、故障切换或新加入的集群节点而缺失，因此不在客户端记录各节点的加载状态，
+ * 而是以 {@code NOSCRIPT} 回复为准：收到时在目标节点上 {@code SCRIPT LOAD} 并重试一次。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class ScriptRegistry {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    /**
+     * 缓存的脚本数上限，脚本应为常量，超过说明脚本文本在动态拼接
+     */
+    private static final int MAX_SCRIPTS = 1_000;
+
+    private final RedisClientImpl client;
+
+    private final Map<String, RedisScript> scripts = new ConcurrentHashMap<>();
+
+    public ScriptRegistry(RedisClientImpl client) {
+        this.client = client;
+    }
+
+    /**
+     * 获取脚本，同一脚本文本返回同一实例
+     */
+    public RedisScript get(String lua) {
+        RedisScript script = scripts.get(lua);
+        if (script != null) {
+            return script;
+        }
+        if (scripts.size() >= MAX_SCRIPTS) {
+            log.warn("{} 已缓存 {} 个 Lua 脚本，请勿动态拼接脚本文本，改用 ARGV 传参", LOG_PREFIX,
+                scripts.size());
+            return new Script(lua);
+        }
+        return scripts.computeIfAbsent(lua, Script::new);
+    }
+
+    private static boolean isNoScript(Throwable error) {
+        return error instanceof JedisNoScriptException
+            || error instanceof JedisDataException
+            && error.getMessage() != null && error.getMessage().startsWith("NOSCRIPT");
+    }
+
+    private static String sha1(String lua) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(lua.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 不可用", e);
+        }
+    }
+
+    private class Script implements RedisScript {
+
+        private final String lua;
+
+        private final String sha1;
+
+        private Script(String lua) {
+            this.lua = lua;
+            this.sha1 = ScriptRegistry.sha1(lua);
+        }
+
+        @Override
+        public String sha1() {
+            return sha1;
+        }
+
+        @Override
+        public Mono<Object> eval(List<String> keys, List<String> args) {
+            String[] touched = keys.toArray(String[]::new);
+            return client.executeWrite(commands -> commands.evalsha(sha1, keys, args), touched)
+                .onErrorResume(ScriptRegistry::isNoScript, e -> reload(keys, args, touched));
+        }
+
+        @Override
+        public <T> Mono<T> eval(List<String> keys, List<String> args, Class<T> resultType) {
+            return eval(keys, args).cast(resultType);
+        }
+
+        /**
+         * 在键所在节点加载脚本后重试；没有键时无法确定 Cluster 目标节点，改用 EVAL 执行，
+         * EVAL 同样会把脚本写入服务端缓存
+         */
+        private Mono<Object> reload(List<String> keys, List<String> args, String[] touched) {
+            log.debug("{} 服务端缺少脚本 {}，重新加载", LOG_PREFIX, sha1);
+            if (keys.isEmpty()) {
+                return client.executeWrite(commands -> commands.eval(lua, keys, args));
+            }
+            return client.executeWrite(commands -> commands.scriptLoad(lua, keys.get(0)))
+                .then(client.executeWrite(commands -> commands.evalsha(sha1, keys, args),
+                    touched));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.xhhao.redisconnector.service.sentinel;
+
+import com.xhhao.redisconnector.service.RedisOptions;
+import com.xhhao.redisconnector.service.engine.RespConnection;
+import com.xhhao.redisconnector.service.engine.RespConnector;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Sentinel 主节点监视
+ * <p>
+ * 启动时向 Sentinel 查询主节点地址；随后订阅每个 Sentinel 的 {@code +switch-master} 频道，
+ * 收到本主节点的切换事件时回调新地址。订阅连接断开后定时重连，重连成功时重新查询一次主节点，
+ * 避免断线期间错过切换事件。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class SentinelMonitor {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final String SWITCH_MASTER_CHANNEL = "+switch-master";
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(2);
+
+    private final String masterName;
+
+    private final List<HostAndPort> sentinels;
+
+    private final RedisOptions options;
+
+    private final Consumer<HostAndPort> onSwitch;
+
+    private final Map<HostAndPort, RespConnector> connectors = new ConcurrentHashMap<>();
+
+    private final Map<HostAndPort, RespConnection> subscriptions = new ConcurrentHashMap<>();
+
+    private volatile boolean stopped;
+
+    /**
+     * @param options  连接选项，使用其中的 Sentinel 配置与超时
+     * @param onSwitch 主节点切换回调，在 Netty I/O 线程或 boundedElastic 线程上调用
+     */
+    public SentinelMonitor(RedisOptions options, Consumer<HostAndPort> onSwitch) {
+        this.masterName = options.getSentinelMasterName();
+        this.sentinels = new ArrayList<>(RedisOptions.parseNodes(options.getSentinelNodes()));
+        this.options = options;
+        this.onSwitch = onSwitch;
+    }
+
+    /**
+     * 依次询问 Sentinel 当前主节点地址（阻塞）
+     *
+     * @throws IllegalStateException 所有 Sentinel 都不可用或不认识该主节点
+     */
+    public HostAndPort resolveMaster() {
+        if (sentinels.isEmpty()) {
+            throw new IllegalStateException("未配置 Sentinel 节点");
+        }
+        JedisClientConfig clientConfig = sentinelClientConfig();
+        Exception lastError = null;
+        for (HostAndPort sentinel : sentinels) {
+            try (Jedis jedis = new Jedis(sentinel, clientConfig)) {
+                List<String> address = jedis.sentinelGetMasterAddrByName(masterName);
+                if (address != null && address.size() == 2) {
+                    return new HostAndPort(address.get(0), Integer.parseInt(address.get(1)));
+                }
+                log.warn("{} Sentinel {} 不认识主节点 {}", LOG_PREFIX, sentinel, masterName);
+            } catch (Exception e) {
+                lastError = e;
+                log.warn("{} Sentinel {} 不可用: {}", LOG_PREFIX, sentinel, e.getMessage());
+            }
+        }
+        throw new IllegalStateException("无法从 Sentinel 获取主节点 " + masterName
+            + (lastError != null ? ": " + lastError.getMessage() : ""));
+    }
+
+    /**
+     * 向 Sentinel 查询当前在线的从节点（阻塞），查询失败时返回空列表
+     */
+    public List<HostAndPort> resolveReplicas() {
+        JedisClientConfig clientConfig = sentinelClientConfig();
+        for (HostAndPort sentinel : sentinels) {
+            try (Jedis jedis = new Jedis(sentinel, clientConfig)) {
+                List<HostAndPort> replicas = new ArrayList<>();
+                for (Map<String, String> replica : jedis.sentinelReplicas(masterName)) {
+                    String flags = replica.getOrDefault("flags", "");
+                    if (flags.contains("s_down") || flags.contains("o_down")
+                        || flags.contains("disconnected")) {
+                        continue;
+                    }
+                    replicas.add(new HostAndPort(replica.get("ip"),
+                        Integer.parseInt(replica.get("port"))));
+                }
+                return replicas;
+            } catch (Exception e) {
+                log.warn("{} Sentinel {} 查询从节点失败: {}", LOG_PREFIX, sentinel, e.getMessage());
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * 订阅全部 Sentinel 的切换事件
+     */
+    public void start() {
+        for (HostAndPort sentinel : sentinels) {
+            subscribe(sentinel, false);
+        }
+    }
+
+    /**
+     * 停止订阅
+     */
+    public void stop() {
+        stopped = true;
+        subscriptions.values().forEach(RespConnection::close);
+        subscriptions.clear();
+        connectors.values().forEach(RespConnector::close);
+        connectors.clear();
+    }
+
+    private void subscribe(HostAndPort sentinel, boolean recheck) {
+        if (stopped) {
+            return;
+        }
+        RespConnector connector = connectors.computeIfAbsent(sentinel,
+            node -> new RespConnector(sentinelOptions(node), "redis-connector-sentinel"));
+        connector.connect(false)
+            .subscribe(connection -> {
+                subscriptions.put(sentinel, connection);
+                connection.subscribe(new SwitchMasterHandler(),
+                    new CommandArguments(Protocol.Command.SUBSCRIBE).add(SWITCH_MASTER_CHANNEL));
+                connection.onClose().subscribe(null, null, () -> {
+                    subscriptions.remove(sentinel, connection);
+                    if (!stopped) {
+                        log.warn("{} Sentinel {} 订阅连接断开，{} 秒后重连", LOG_PREFIX, sentinel,
+                            RETRY_DELAY.toSeconds());
+                        retry(sentinel);
+                    }
+                });
+                if (recheck) {
+                    recheck();
+                }
+            }, error -> {
+                log.warn("{} Sentinel {} 订阅失败，{} 秒后重试: {}", LOG_PREFIX, sentinel,
+                    RETRY_DELAY.toSeconds(), error.getMessage());
+                retry(sentinel);
+            });
+    }
+
+    private void retry(HostAndPort sentinel) {
+        if (!stopped) {
+            Mono.delay(RETRY_DELAY).subscribe(tick -> subscribe(sentinel, true));
+        }
+    }
+
+    /**
+     * 重新查询主节点并回调，用于断线重连后补偿可能错过的切换事件，以及首次连接或切换失败后的重试。
+     * 查询失败（Sentinel 全部不可用或尚不认识该主节点）时定时再查，直到得到主节点或停止监视
+     */
+    public void recheck() {
+        if (stopped) {
+            return;
+        }
+        Mono.fromCallable(this::resolveMaster)
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(onSwitch, error -> {
+                log.warn("{} 重新查询主节点失败，{} 秒后重试: {}", LOG_PREFIX,
+                    RETRY_DELAY.toSeconds(), error.getMessage());
+                if (!stopped) {
+                    Mono.delay(RETRY_DELAY).subscribe(tick -> recheck());
+                }
+            });
+    }
+
+    private RedisOptions sentinelOptions(HostAndPort sentinel) {
+        RedisOptions sentinelOptions = new RedisOptions();
+        sentinelOptions.setHost(sentinel.getHost());
+        sentinelOptions.setPort(sentinel.getPort());
+        sentinelOptions.setPassword(options.getSentinelPassword());
+        sentinelOptions.setDatabase(0);
+        sentinelOptions.setConnectTimeoutMillis(options.getConnectTimeoutMillis());
+        sentinelOptions.setSocketTimeoutMillis(options.getSocketTimeoutMillis());
+        return sentinelOptions;
+    }
+
+    private JedisClientConfig sentinelClientConfig() {
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+            .connectionTimeoutMillis(options.getConnectTimeoutMillis())
+            .socketTimeoutMillis(options.getSocketTimeoutMillis());
+        String password = options.getSentinelPassword();
+        if (password != null && !password.isEmpty()) {
+            builder.user("default");
+            builder.password(password);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 处理 {@code +switch-master} 消息：{@code <master-name> <old-ip> <old-port> <new-ip> <new-port>}
+     */
+    private class SwitchMasterHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (!(msg instanceof List<?> push) || push.size() < 3
+                || !(push.get(0) instanceof byte[] kind)
+                || !"message".equals(SafeEncoder.encode(kind))
+                || !(push.get(2) instanceof byte[] payload)) {
+                return;
+            }
+            String[] parts = SafeEncoder.encode(payload).split(" ");
+            if (parts.length < 5 || !masterName.equals(parts[0])) {
+                return;
+            }
+            try {
+                HostAndPort master = new HostAndPort(parts[3], Integer.parseInt(parts[4]));
+                log.warn("{} Sentinel 通知主节点切换: {}:{} -> {}", LOG_PREFIX, parts[1], parts[2],
+                    master);
+                onSwitch.accept(master);
+            } catch (NumberFormatException e) {
+                log.warn("{} 无法解析主节点切换消息: {}", LOG_PREFIX, SafeEncoder.encode(payload));
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.error("{} Sentinel 订阅连接异常: {}", LOG_PREFIX, cause.getMessage());
+            ctx.close();
+        }
+    }
+}
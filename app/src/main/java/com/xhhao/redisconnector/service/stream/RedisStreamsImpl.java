@@ -0,0 +1,234 @@
+package com.xhhao.redisconnector.service.stream;
+
+import com.xhhao.redisconnector.api.RedisStreamEntry;
+import com.xhhao.redisconnector.api.RedisStreams;
+import com.xhhao.redisconnector.service.RedisClientImpl;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.params.XAddParams;
+import redis.clients.jedis.params.XAutoClaimParams;
+import redis.clients.jedis.params.XReadGroupParams;
+import redis.clients.jedis.resps.StreamEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Redis Streams 队列实现
+ * <p>
+ * 消费不使用 {@code XREADGROUP BLOCK}：阻塞读取会独占连接，在 Netty 引擎下还会阻塞共用同一连接的
+ * 所有命令。改为按批读取，读不到新消息时退避轮询。
+ * </p>
+ *
+ * @author Handsome
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisStreamsImpl implements RedisStreams {
+
+    private static final String LOG_PREFIX = "[RedisConnector]";
+
+    private static final int DEFAULT_BATCH = 100;
+
+    private static final int ACK_BATCH = 100;
+
+    private static final Duration ACK_DELAY = Duration.ofMillis(50);
+
+    private static final Duration MIN_IDLE_DELAY = Duration.ofMillis(50);
+
+    private static final Duration MAX_IDLE_DELAY = Duration.ofSeconds(1);
+
+    /**
+     * 起始 ID（0-0）
+     */
+    private static final StreamEntryID START = new StreamEntryID();
+
+    private final RedisClientImpl client;
+
+    public RedisStreamsImpl(RedisClientImpl client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<String> xadd(String key, Map<String, String> fields) {
+        return add(key, fields, XAddParams.xAddParams());
+    }
+
+    @Override
+    public Mono<String> xadd(String key, Map<String, String> fields, long maxLen) {
+        return add(key, fields, XAddParams.xAddParams().maxLen(maxLen).approximateTrimming());
+    }
+
+    private Mono<String> add(String key, Map<String, String> fields, XAddParams params) {
+        return client.executeWrite(commands -> commands.xadd(key, params, fields))
+            .map(StreamEntryID::toString);
+    }
+
+    @Override
+    public Mono<Long> xlen(String key) {
+        return client.executeRead(commands -> commands.xlen(key));
+    }
+
+    @Override
+    public Mono<Boolean> xgroupCreate(String key, String group) {
+        return client.executeWrite(commands -> commands.xgroupCreate(key, group, START, true))
+            .map(reply -> true)
+            .onErrorResume(e -> isError(e, "BUSYGROUP"), e -> Mono.just(false));
+    }
+
+    @Override
+    public Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer) {
+        return xreadGroup(key, group, consumer, DEFAULT_BATCH);
+    }
+
+    @Override
+    public Flux<RedisStreamEntry> xreadGroup(String key, String group, String consumer,
+                                             int batchSize) {
+        return Flux.defer(() -> {
+            GroupReader reader = new GroupReader(key, group, consumer, Math.max(1, batchSize));
+            return xgroupCreate(key, group)
+                .onErrorResume(e -> Mono.just(false))
+                .thenMany(Mono.defer(reader::next).repeat())
+                .concatMapIterable(Function.identity(), 1);
+        });
+    }
+
+    @Override
+    public Mono<Long> xack(String key, String group, String... ids) {
+        if (ids.length == 0) {
+            return Mono.just(0L);
+        }
+        StreamEntryID[] entryIds = Arrays.stream(ids).map(StreamEntryID::new)
+            .toArray(StreamEntryID[]::new);
+        return client.executeWrite(commands -> commands.xack(key, group, entryIds));
+    }
+
+    @Override
+    public Mono<Long> xackAll(String key, String group, Flux<String> ids) {
+        return ids.bufferTimeout(ACK_BATCH, ACK_DELAY)
+            .concatMap(batch -> xack(key, group, batch.toArray(String[]::new)))
+            .reduce(0L, Long::sum);
+    }
+
+    @Override
+    public Flux<RedisStreamEntry> xautoclaim(String key, String group, String consumer,
+                                             Duration minIdle) {
+        XAutoClaimParams params = XAutoClaimParams.xAutoClaimParams().count(DEFAULT_BATCH);
+        Function<StreamEntryID, Mono<Map.Entry<StreamEntryID, List<StreamEntry>>>> page =
+            cursor -> client.executeWrite(commands -> commands.xautoclaim(key, group, consumer,
+                minIdle.toMillis(), cursor, params));
+        return page.apply(START)
+            .expand(result -> START.equals(result.getKey())
+                ? Mono.empty()
+                : page.apply(result.getKey()))
+            .concatMapIterable(result -> toEntries(result.getValue()), 1);
+    }
+
+    private static List<RedisStreamEntry> toEntries(List<StreamEntry> entries) {
+        if (entries == null) {
+            return List.of();
+        }
+        List<RedisStreamEntry> result = new ArrayList<>(entries.size());
+        for (StreamEntry entry : entries) {
+            if (entry != null && entry.getFields() != null) {
+                result.add(new RedisStreamEntry(entry.getID().toString(), entry.getFields()));
+            }
+        }
+        return result;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static boolean isError(Throwable e, String code) {
+        return e.getMessage() != null && e.getMessage().startsWith(code);
+    }
+
+    /**
+     * 单个订阅的读取状态：先按 ID 翻页读取本消费者的待处理消息，读完后改为读取新消息
+     */
+    private final class GroupReader {
+
+        private final String key;
+
+        private final String group;
+
+        private final String consumer;
+
+        private final XReadGroupParams params;
+
+        private StreamEntryID cursor = START;
+
+        private boolean history = true;
+
+        private Duration idleDelay = MIN_IDLE_DELAY;
+
+        private GroupReader(String key, String group, String consumer, int batchSize) {
+            this.key = key;
+            this.group = group;
+            this.consumer = consumer;
+            this.params = XReadGroupParams.xReadGroupParams().count(batchSize);
+        }
+
+        /**
+         * 读取一批消息；没有新消息或出错时等待后返回空批次
+         */
+        private Mono<List<RedisStreamEntry>> next() {
+            StreamEntryID from = history ? cursor : StreamEntryID.XREADGROUP_UNDELIVERED_ENTRY;
+            return client.executeWrite(commands -> commands.xreadGroup(group, consumer, params,
+                    Map.of(key, from)))
+                .map(streams -> streams.isEmpty() ? List.<StreamEntry>of()
+                    : streams.get(0).getValue())
+                .defaultIfEmpty(List.of())
+                .flatMap(this::onBatch)
+                .onErrorResume(this::onError);
+        }
+
+        private Mono<List<RedisStreamEntry>> onBatch(List<StreamEntry> batch) {
+            if (history) {
+                if (batch.isEmpty()) {
+                    history = false;
+                    return Mono.just(List.of());
+                }
+                cursor = batch.get(batch.size() - 1).getID();
+                return ackDeleted(batch).thenReturn(toEntries(batch));
+            }
+            if (batch.isEmpty()) {
+                Duration delay = idleDelay;
+                idleDelay = min(delay.multipliedBy(2), MAX_IDLE_DELAY);
+                return Mono.delay(delay).thenReturn(List.of());
+            }
+            idleDelay = MIN_IDLE_DELAY;
+            return Mono.just(toEntries(batch));
+        }
+
+        /**
+         * 待处理列表中已被删除（XDEL 或裁剪）的消息没有字段，直接确认以免反复投递
+         */
+        private Mono<Long> ackDeleted(List<StreamEntry> batch) {
+            String[] deleted = batch.stream()
+                .filter(entry -> entry.getFields() == null)
+                .map(entry -> entry.getID().toString())
+                .toArray(String[]::new);
+            return xack(key, group, deleted).onErrorResume(e -> Mono.just(0L));
+        }
+
+        private Mono<List<RedisStreamEntry>> onError(Throwable e) {
+            Mono<Boolean> recover = Mono.just(false);
+            if (isError(e, "NOGROUP")) {
+                // Stream 被删除后消费组随之消失，重新创建
+                recover = xgroupCreate(key, group).onErrorResume(error -> Mono.just(false));
+            }
+            log.warn("{} 读取 Stream {} 失败，{} 毫秒后重试: {}", LOG_PREFIX, key,
+                MAX_IDLE_DELAY.toMillis(), e.getMessage());
+            return recover.then(Mono.delay(MAX_IDLE_DELAY)).thenReturn(List.of());
+        }
+    }
+}
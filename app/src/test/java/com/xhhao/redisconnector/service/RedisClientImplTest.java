@@ -0,0 +1,127 @@
+package com.xhhao.redisconnector.service;
+
+import com.xhhao.redisconnector.service.engine.ClusterEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 集群模式下按节点执行的 SCAN 与跨节点游标
+ */
+class RedisClientImplTest {
+
+    private static final HostAndPort NODE_A = new HostAndPort("10.0.0.1", 6379);
+
+    private static final HostAndPort NODE_B = new HostAndPort("10.0.0.2", 6379);
+
+    private static final HostAndPort NODE_C = new HostAndPort("10.0.0.3", 6379);
+
+    /**
+     * 各节点按游标返回的页：A 需要两页，B 与 C 各一页
+     */
+    private static final Map<String, ScanResult<String>> PAGES = Map.of(
+        NODE_A + "@0", new ScanResult<>("7", List.of("a1")),
+        NODE_A + "@7", new ScanResult<>("0", List.of("a2")),
+        NODE_B + "@0", new ScanResult<>("0", List.of("b1")),
+        NODE_C + "@0", new ScanResult<>("0", List.of("c1")));
+
+    private final ScanParams params = new ScanParams().match("user:*").count(100);
+
+    private RedisClientImpl client;
+
+    private ClusterEngine cluster;
+
+    @BeforeEach
+    void setUp() {
+        client = new RedisClientImpl(mock(Environment.class));
+        cluster = mock(ClusterEngine.class);
+        when(cluster.masters()).thenReturn(List.of(NODE_A, NODE_B, NODE_C));
+        when(cluster.executeOn(any(), any())).thenAnswer(invocation -> {
+            HostAndPort node = invocation.getArgument(0);
+            CommandObject<?> command = invocation.getArgument(1);
+            List<String> args = strings(command.getArguments());
+            assertThat(args).containsSubsequence("SCAN", "MATCH", "user:*");
+            return Mono.justOrEmpty(PAGES.get(node + "@" + args.get(1)));
+        });
+    }
+
+    @Test
+    void walksEveryMasterAndEndsAfterLastNode() {
+        List<String> cursors = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        String cursor = ScanPage.START;
+        do {
+            ScanPage<String> page = client.scanClusterKeys(cluster, cursor, params, null).block();
+            assertThat(page).isNotNull();
+            cursors.add(page.cursor());
+            keys.addAll(page.items());
+            cursor = page.cursor();
+        } while (!ScanPage.START.equals(cursor) && cursors.size() < 10);
+
+        assertThat(cursors).containsExactly("0:7", "1:0", "2:0", ScanPage.START);
+        assertThat(keys).containsExactly("a1", "a2", "b1", "c1");
+    }
+
+    @Test
+    void cursorPastLastNodeIsFinished() {
+        StepVerifier.create(client.scanClusterKeys(cluster, "3:0", params, null))
+            .assertNext(page -> {
+                assertThat(page.cursor()).isEqualTo(ScanPage.START);
+                assertThat(page.items()).isEmpty();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void rejectsInvalidCursorsLazily() {
+        Mono<ScanPage<String>> negative = client.scanClusterKeys(cluster, "-1:0", params, null);
+        Mono<ScanPage<String>> garbage = client.scanClusterKeys(cluster, "x:0", params, null);
+
+        StepVerifier.create(negative).expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(garbage).expectError(IllegalArgumentException.class).verify();
+    }
+
+    @Test
+    void nodeScanAcceptsPatternWithoutHashTag() {
+        CommandArguments args = RedisClientImpl.nodeScan("0", params, null).getArguments();
+
+        assertThat(args.getCommand()).isEqualTo(Protocol.Command.SCAN);
+        assertThat(strings(args)).containsSubsequence("SCAN", "0", "MATCH", "user:*");
+    }
+
+    @Test
+    void nodeScanAcceptsMatchAllWithType() {
+        ScanParams all = new ScanParams().match("*").count(100);
+
+        CommandArguments args = RedisClientImpl.nodeScan("42", all, "hash").getArguments();
+
+        assertThat(strings(args)).containsSubsequence("SCAN", "42", "MATCH", "*", "TYPE", "hash");
+    }
+
+    private static List<String> strings(CommandArguments args) {
+        List<String> strings = new ArrayList<>();
+        for (Rawable arg : args) {
+            strings.add(SafeEncoder.encode(arg.getRaw()));
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,207 @@
+package com.xhhao.redisconnector.service.breaker;
+
+import com.xhhao.redisconnector.service.breaker.CircuitBreaker.Permit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 熔断器的状态转换
+ */
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker(now::get);
+        breaker.configure(true, 50, 1000, 80, 10);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        record(19, FAST, new JedisConnectionException("refused"));
+
+        assertThat(state()).isEqualTo("closed");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.NORMAL);
+    }
+
+    @Test
+    void tripsOnFailureRate() {
+        record(10, FAST, null);
+        record(10, FAST, new JedisConnectionException("refused"));
+
+        assertThat(state()).isEqualTo("open");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+        assertThat(breaker.stats()).containsEntry("trips", 1L).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void tripsOnSlowCallRate() {
+        record(4, FAST, null);
+        record(16, SLOW, null);
+
+        assertThat(state()).isEqualTo("open");
+    }
+
+    @Test
+    void ignoresCommandErrors() {
+        record(30, FAST, new JedisDataException("WRONGTYPE Operation against a key"));
+
+        assertThat(state()).isEqualTo("closed");
+    }
+
+    @Test
+    void countsServerUnavailableReplies() {
+        record(20, FAST, new JedisDataException("LOADING Redis is loading the dataset"));
+
+        assertThat(state()).isEqualTo("open");
+    }
+
+    @Test
+    void forgetsCallsOutsideWindow() {
+        record(15, FAST, new JedisConnectionException("refused"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        record(5, FAST, new JedisConnectionException("refused"));
+
+        assertThat(state()).isEqualTo("closed");
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        trip();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Permit[] probes = new Permit[5];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = breaker.tryAcquire();
+            assertThat(probes[i]).isEqualTo(Permit.PROBE);
+        }
+        assertThat(state()).isEqualTo("half_open");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+
+        for (Permit probe : probes) {
+            breaker.onResult(probe, FAST, null);
+        }
+        assertThat(state()).isEqualTo("closed");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.NORMAL);
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        trip();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Permit probe = breaker.tryAcquire();
+        breaker.onResult(probe, FAST, new JedisConnectionException("refused"));
+
+        assertThat(state()).isEqualTo("open");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+        assertThat(breaker.stats()).containsEntry("trips", 2L);
+    }
+
+    @Test
+    void reopensWhenProbeIsSlow() {
+        trip();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        breaker.onResult(breaker.tryAcquire(), SLOW, null);
+
+        assertThat(state()).isEqualTo("open");
+    }
+
+    @Test
+    void cancelledProbeReturnsItsSlot() {
+        trip();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Permit first = null;
+        for (int i = 0; i < 5; i++) {
+            Permit probe = breaker.tryAcquire();
+            if (first == null) {
+                first = probe;
+            }
+        }
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+
+        breaker.onCancel(first);
+
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.PROBE);
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.REJECTED);
+    }
+
+    @Test
+    void lateThreadDoesNotResetIssuedProbes() {
+        // 另一个线程在本线程读到 OPEN 之后、切换半开之前抢先切换并取走全部探测名额
+        AtomicBoolean interleaved = new AtomicBoolean();
+        List<Permit> others = new ArrayList<>();
+        CircuitBreaker[] holder = new CircuitBreaker[1];
+        holder[0] = new CircuitBreaker(() -> {
+            if (holder[0] != null && now.get() > TimeUnit.SECONDS.toNanos(105)
+                && interleaved.compareAndSet(false, true)) {
+                for (int i = 0; i < 5; i++) {
+                    others.add(holder[0].tryAcquire());
+                }
+            }
+            return now.get();
+        });
+        breaker = holder[0];
+        breaker.configure(true, 50, 1000, 80, 10);
+        trip();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Permit late = breaker.tryAcquire();
+
+        assertThat(others).containsOnly(Permit.PROBE).hasSize(5);
+        assertThat(late).isEqualTo(Permit.REJECTED);
+    }
+
+    @Test
+    void disabledBreakerNeverRejects() {
+        breaker.configure(false, 50, 1000, 80, 10);
+        record(50, SLOW, new JedisConnectionException("refused"));
+
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.NORMAL);
+        assertThat(state()).isEqualTo("closed");
+    }
+
+    @Test
+    void configureResetsToClosed() {
+        trip();
+
+        breaker.configure(true, 50, 1000, 80, 10);
+
+        assertThat(state()).isEqualTo("closed");
+        assertThat(breaker.tryAcquire()).isEqualTo(Permit.NORMAL);
+    }
+
+    private void trip() {
+        record(20, FAST, new JedisConnectionException("refused"));
+        assertThat(state()).isEqualTo("open");
+    }
+
+    private void record(int calls, long nanos, Throwable error) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onResult(breaker.tryAcquire(), nanos, error);
+        }
+    }
+
+    private String state() {
+        return (String) breaker.stats().get("state");
+    }
+}
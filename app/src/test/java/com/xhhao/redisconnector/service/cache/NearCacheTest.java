@@ -0,0 +1,62 @@
+package com.xhhao.redisconnector.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 近端缓存的容量淘汰、失效与版本检查
+ */
+class NearCacheTest {
+
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NearCache(20, 60_000, List.of());
+        cache.activate();
+    }
+
+    @Test
+    void evictsDownToCapacityAndKeepsLatestWrite() {
+        for (int i = 0; i < 50; i++) {
+            String key = "k" + i;
+            cache.put(key, "GET " + key, "v" + i, cache.version(key));
+            assertThat(cache.get(key, "GET " + key)).isEqualTo("v" + i);
+        }
+
+        assertThat((int) cache.stats().get("size")).isBetween(18, 20);
+    }
+
+    @Test
+    void invalidateRemovesEverySignatureOfKey() {
+        cache.put("k", "GET k", "v", cache.version("k"));
+        cache.put("k", "STRLEN k", 1L, cache.version("k"));
+
+        cache.invalidate("k");
+
+        assertThat(cache.get("k", "GET k")).isSameAs(NearCache.MISS);
+        assertThat(cache.get("k", "STRLEN k")).isSameAs(NearCache.MISS);
+        assertThat(cache.stats().get("size")).isEqualTo(0);
+    }
+
+    @Test
+    void dropsWriteWhenKeyChangedWhileReading() {
+        long version = cache.version("k");
+        cache.invalidate("k");
+
+        cache.put("k", "GET k", "stale", version);
+
+        assertThat(cache.get("k", "GET k")).isSameAs(NearCache.MISS);
+    }
+
+    @Test
+    void cachesNullValues() {
+        cache.put("k", "GET k", null, cache.version("k"));
+
+        assertThat(cache.get("k", "GET k")).isNull();
+    }
+}
@@ -0,0 +1,100 @@
+package com.xhhao.redisconnector.service.engine;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RESP 回复的增量解码
+ */
+class RespCodecTest {
+
+    @Test
+    void decodesScalarReplies() {
+        List<Object> replies = decode("+OK\r\n:42\r\n$5\r\nhello\r\n$-1\r\n-ERR bad\r\n");
+
+        assertThat(replies).hasSize(5);
+        assertThat(text(replies.get(0))).isEqualTo("OK");
+        assertThat(replies.get(1)).isEqualTo(42L);
+        assertThat(text(replies.get(2))).isEqualTo("hello");
+        assertThat(replies.get(3)).isSameAs(RespCodec.NULL_REPLY);
+        assertThat(replies.get(4)).isInstanceOf(JedisDataException.class);
+    }
+
+    @Test
+    void decodesNestedArraysFedOneByteAtATime() {
+        String wire = "*3\r\n$1\r\na\r\n*2\r\n:1\r\n*0\r\n*-1\r\n+PONG\r\n";
+        EmbeddedChannel channel = new EmbeddedChannel(new RespCodec.Decoder());
+        byte[] bytes = wire.getBytes(StandardCharsets.US_ASCII);
+        for (byte b : bytes) {
+            channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {b}));
+        }
+
+        List<Object> replies = drain(channel);
+        assertThat(replies).hasSize(2);
+        List<?> outer = (List<?>) replies.get(0);
+        assertThat(outer).hasSize(3);
+        assertThat(text(outer.get(0))).isEqualTo("a");
+        assertThat(outer.get(1)).isEqualTo(List.of(1L, List.of()));
+        assertThat(outer.get(2)).isNull();
+        assertThat(text(replies.get(1))).isEqualTo("PONG");
+    }
+
+    @Test
+    void decodesLargeArrayArrivingInChunks() {
+        int size = 20_000;
+        StringBuilder wire = new StringBuilder("*").append(size).append("\r\n");
+        for (int i = 0; i < size; i++) {
+            String item = "value-" + i;
+            wire.append('$').append(item.length()).append("\r\n").append(item).append("\r\n");
+        }
+        byte[] bytes = wire.toString().getBytes(StandardCharsets.US_ASCII);
+        EmbeddedChannel channel = new EmbeddedChannel(new RespCodec.Decoder());
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            int length = Math.min(7, bytes.length - offset);
+            channel.writeInbound(Unpooled.wrappedBuffer(bytes, offset, length));
+        }
+
+        List<Object> replies = drain(channel);
+        assertThat(replies).hasSize(1);
+        List<?> items = (List<?>) replies.get(0);
+        assertThat(items).hasSize(size);
+        assertThat(text(items.get(size - 1))).isEqualTo("value-" + (size - 1));
+    }
+
+    @Test
+    void hugeDeclaredArrayDoesNotPreallocate() {
+        EmbeddedChannel channel = new EmbeddedChannel(new RespCodec.Decoder());
+
+        channel.writeInbound(Unpooled.copiedBuffer("*2000000000\r\n:1\r\n",
+            StandardCharsets.US_ASCII));
+
+        assertThat(drain(channel)).isEmpty();
+    }
+
+    private static List<Object> decode(String wire) {
+        EmbeddedChannel channel = new EmbeddedChannel(new RespCodec.Decoder());
+        channel.writeInbound(Unpooled.copiedBuffer(wire, StandardCharsets.US_ASCII));
+        return drain(channel);
+    }
+
+    private static List<Object> drain(EmbeddedChannel channel) {
+        List<Object> replies = new ArrayList<>();
+        Object reply;
+        while ((reply = channel.readInbound()) != null) {
+            replies.add(reply);
+        }
+        return replies;
+    }
+
+    private static String text(Object reply) {
+        return new String((byte[]) reply, StandardCharsets.UTF_8);
+    }
+}
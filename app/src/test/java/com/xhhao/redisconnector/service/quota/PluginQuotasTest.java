@@ -0,0 +1,169 @@
+package com.xhhao.redisconnector.service.quota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 插件配额的公平分配与名额归还
+ */
+class PluginQuotasTest {
+
+    private static final CommandObject<String> COMMAND = new CommandObjects().get("key");
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    private PluginQuotas quotas;
+
+    @BeforeEach
+    void setUp() {
+        quotas = new PluginQuotas();
+    }
+
+    @Test
+    void dispatchesFreedSlotsRoundRobin() {
+        quotas.configure(1, 10, 0, Duration.ofSeconds(5));
+        Sinks.One<String> a1 = Sinks.one();
+        Sinks.One<String> a2 = Sinks.one();
+        Sinks.One<String> a3 = Sinks.one();
+        Sinks.One<String> b1 = Sinks.one();
+
+        run("a", "a1", a1).subscribe();
+        run("a", "a2", a2).subscribe();
+        run("a", "a3", a3).subscribe();
+        run("b", "b1", b1).subscribe();
+        assertThat(started).containsExactly("a1");
+
+        a1.tryEmitValue("ok");
+        assertThat(started).containsExactly("a1", "a2");
+
+        // a 仍有排队命令，但空出的名额轮到 b
+        a2.tryEmitValue("ok");
+        assertThat(started).containsExactly("a1", "a2", "b1");
+
+        b1.tryEmitValue("ok");
+        assertThat(started).containsExactly("a1", "a2", "b1", "a3");
+        a3.tryEmitValue("ok");
+        assertThat(stats("a")).containsEntry("commands", 3L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void perPluginLimitDoesNotBlockOtherPlugins() {
+        quotas.configure(0, 1, 0, Duration.ofSeconds(5));
+        Sinks.One<String> a1 = Sinks.one();
+
+        run("a", "a1", a1).subscribe();
+        run("a", "a2", Sinks.one()).subscribe();
+        run("b", "b1", Sinks.one()).subscribe();
+
+        assertThat(started).containsExactly("a1", "b1");
+        assertThat(stats("a")).containsEntry("queued", 1);
+    }
+
+    @Test
+    void queueTimeoutRejectsAndLeavesQueue() {
+        quotas.configure(1, 1, 0, Duration.ofMillis(50));
+        Sinks.One<String> a1 = Sinks.one();
+        run("a", "a1", a1).subscribe();
+
+        // 虚拟时间下超时与归还名额都在测试线程上完成
+        StepVerifier.withVirtualTime(() -> run("a", "a2", Sinks.one()))
+            .expectSubscription()
+            .thenAwait(Duration.ofMillis(50))
+            .expectError(QuotaExceededException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(stats("a")).containsEntry("queued", 0).containsEntry("rejected", 1L);
+        a1.tryEmitValue("ok");
+        run("a", "a3", Sinks.one()).subscribe();
+        assertThat(started).containsExactly("a1", "a3");
+    }
+
+    @Test
+    void cancellingQueuedCommandLeavesQueue() {
+        quotas.configure(1, 1, 0, Duration.ofSeconds(5));
+        Sinks.One<String> a1 = Sinks.one();
+        run("a", "a1", a1).subscribe();
+
+        Disposable queued = run("a", "a2", Sinks.one()).subscribe();
+        assertThat(stats("a")).containsEntry("queued", 1);
+        queued.dispose();
+        assertThat(stats("a")).containsEntry("queued", 0);
+
+        a1.tryEmitValue("ok");
+        run("a", "a3", Sinks.one()).subscribe();
+        assertThat(started).containsExactly("a1", "a3");
+    }
+
+    @Test
+    void cancellingRunningCommandReturnsPermit() {
+        quotas.configure(1, 1, 0, Duration.ofSeconds(5));
+        Disposable running = run("a", "a1", Sinks.one()).subscribe();
+        run("b", "b1", Sinks.one()).subscribe();
+        assertThat(started).containsExactly("a1");
+
+        running.dispose();
+
+        assertThat(started).containsExactly("a1", "b1");
+        assertThat(stats("a")).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void failedCommandReturnsPermit() {
+        quotas.configure(1, 1, 0, Duration.ofSeconds(5));
+        Sinks.One<String> a1 = Sinks.one();
+        run("a", "a1", a1).subscribe(value -> { }, error -> { });
+        run("b", "b1", Sinks.one()).subscribe();
+
+        a1.tryEmitError(new IllegalStateException("boom"));
+
+        assertThat(started).containsExactly("a1", "b1");
+        assertThat(stats("a")).containsEntry("errors", 1L);
+    }
+
+    @Test
+    void rejectsBeyondRateLimitWait() {
+        quotas.configure(0, 0, 1, Duration.ofSeconds(5));
+
+        // 1 秒突发内立即执行，再下一条需等待 1 秒，超过上限的直接拒绝
+        StepVerifier.create(run("a", "a1", done()))
+            .expectNext("ok")
+            .verifyComplete();
+        run("a", "a2", done()).subscribe();
+        StepVerifier.create(run("a", "a3", done()))
+            .expectError(QuotaExceededException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private Mono<String> run(String plugin, String name, Sinks.One<String> result) {
+        return quotas.run(plugin, COMMAND, Mono.defer(() -> {
+            started.add(name);
+            return result.asMono();
+        }));
+    }
+
+    private static Sinks.One<String> done() {
+        Sinks.One<String> sink = Sinks.one();
+        sink.tryEmitValue("ok");
+        return sink;
+    }
+
+    private Map<String, Object> stats(String plugin) {
+        return quotas.stats().stream()
+            .filter(stats -> plugin.equals(stats.get("plugin")))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,53 @@
+package com.xhhao.redisconnector.service.scope;
+
+import com.xhhao.redisconnector.api.RedisCaller;
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 插件键空间的前缀、模式转义与 Context
+ */
+class PluginNamespaceTest {
+
+    @Test
+    void prefixesAndStripsKeys() {
+        PluginNamespace ns = new PluginNamespace("plugin-a", "plugin-a:", -1);
+
+        assertThat(ns.key("latest")).isEqualTo("plugin-a:latest");
+        assertThat(ns.keys("a", "b")).containsExactly("plugin-a:a", "plugin-a:b");
+        assertThat(ns.strip("plugin-a:latest")).isEqualTo("latest");
+        assertThat(ns.strip("other:latest")).isEqualTo("other:latest");
+    }
+
+    @Test
+    void escapesGlobCharactersInPrefixOnly() {
+        PluginNamespace plain = new PluginNamespace("plugin-a", "plugin-a:", -1);
+        PluginNamespace tagged = new PluginNamespace("p[1]", "{p[1]}:", -1);
+
+        // 未使用哈希标签的前缀，集群模式下按节点 SCAN 仍可匹配
+        assertThat(plain.pattern("*")).isEqualTo("plugin-a:*");
+        assertThat(tagged.pattern("user:*")).isEqualTo("{p\\[1\\]}:user:*");
+    }
+
+    @Test
+    void callerContextDropsDatabaseRouting() {
+        PluginNamespace ns = new PluginNamespace("plugin-a", "plugin-a:", 3);
+
+        Context routed = ns.context();
+        assertThat(DatabaseRoutingEngine.isRouted(routed)).isTrue();
+        assertThat(RedisCaller.pluginOf(routed)).isEqualTo("plugin-a");
+
+        Context caller = ns.callerContext(routed);
+        assertThat(DatabaseRoutingEngine.isRouted(caller)).isFalse();
+        assertThat(RedisCaller.pluginOf(caller)).isEqualTo("plugin-a");
+    }
+
+    @Test
+    void unmappedNamespaceDoesNotRoute() {
+        PluginNamespace ns = new PluginNamespace("plugin-a", "plugin-a:", -1);
+
+        assertThat(DatabaseRoutingEngine.isRouted(ns.context())).isFalse();
+    }
+}
@@ -2,6 +2,7 @@ import { definePlugin } from '@halo-dev/ui-shared'
 import type { PluginTab } from '@halo-dev/ui-shared'
 import RedisSettings from './views/RedisSettings.vue'
 import RedisDataBrowser from './views/RedisDataBrowser.vue'
+import RedisDiagnostics from './views/RedisDiagnostics.vue'
 import { markRaw } from 'vue'
 import RiDatabase2Line from '~icons/ri/database-2-line'
 import 'uno.css'
@@ -44,6 +45,12 @@ export default definePlugin({
           component: markRaw(RedisDataBrowser),
           permissions: ['plugin:redis-connector:view'],
         },
+        {
+          id: 'redis-diagnostics',
+          label: '性能诊断',
+          component: markRaw(RedisDiagnostics),
+          permissions: ['plugin:redis-connector:view'],
+        },
       ]
     },
   },